@@ -0,0 +1,227 @@
+package bench;
+
+import util.DosyaIslemleri;
+import util.DosyaIslemleri.EmbeddedDersKaydi;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// aldigiDersler ayrıştırıcısı (DosyaIslemleri.aldigiDerslerCoz / embeddedDersKaydiParse) ile önceki regex'li
+// zincirin (aldigiDerslerTokenizeGuvenli + embeddedKayitlariTokenIcindanCikar) eşdeğerlik ve hız kıyası.
+// Çalıştırma: java -cp out bench.AyristiriciKiyaslama [ogrenciDosyasi] [rastgeleAlanSayisi] [tohum]
+// Girdiler: dosyadaki aldigiDersler alanları + bozuk veri parçalarından rastgele birleştirilmiş alanlar
+// (karışık harf, Türkçe harfler, işaret, taşma, başıboş ayırıcı, CR). Fark varsa ilk birkaçı yazılır ve
+// IllegalStateException atılır.
+public class AyristiriciKiyaslama {
+
+    // Önceki ayrıştırıcı (karşılaştırma için birebir; kayıt yine EmbeddedDersKaydi'nin metin ctor'u ile kurulur).
+    static class EskiAyristirici {
+        private static final Pattern DERS_BASLANGICI = Pattern.compile("[A-Z]{2,5}\\d{3}:[0-9]+",
+                Pattern.CASE_INSENSITIVE);
+
+        static List<EmbeddedDersKaydi> coz(String aldigi) {
+            List<EmbeddedDersKaydi> out = new ArrayList<>();
+            if (aldigi == null || aldigi.isBlank()) return out;
+            for (String item : tokenize(aldigi)) out.addAll(tokenIcindanCikar(item));
+            return out;
+        }
+
+        static List<String> tokenize(String aldigi) {
+            List<String> items = new ArrayList<>();
+            String s = aldigi.replace("\r", "").replace("\n", "").trim();
+            if (s.isEmpty()) return items;
+
+            String[] quick = s.split("\\|", -1);
+            boolean supheli = false;
+            for (String q : quick) {
+                String t = q.trim();
+                if (t.isEmpty()) continue;
+                int count = 0;
+                Matcher mm = DERS_BASLANGICI.matcher(t);
+                while (mm.find()) count++;
+                if (count > 1) {
+                    supheli = true;
+                    break;
+                }
+            }
+            if (!supheli) {
+                for (String q : quick) {
+                    String t = q.trim();
+                    if (!t.isEmpty()) items.add(t);
+                }
+                return items;
+            }
+
+            Matcher m = DERS_BASLANGICI.matcher(s);
+            List<Integer> starts = new ArrayList<>();
+            while (m.find()) starts.add(m.start());
+            if (starts.isEmpty()) {
+                items.add(s);
+                return items;
+            }
+            for (int i = 0; i < starts.size(); i++) {
+                int en = (i + 1 < starts.size()) ? starts.get(i + 1) : s.length();
+                String chunk = s.substring(starts.get(i), en).trim();
+                while (chunk.startsWith("|") || chunk.startsWith(";")) chunk = chunk.substring(1).trim();
+                if (!chunk.isEmpty()) items.add(chunk);
+            }
+            return items;
+        }
+
+        static List<EmbeddedDersKaydi> tokenIcindanCikar(String token) {
+            List<EmbeddedDersKaydi> out = new ArrayList<>();
+            String s = token.replace("\r", "").replace("\n", "").trim();
+            if (s.isEmpty()) return out;
+            Matcher m = DERS_BASLANGICI.matcher(s);
+            List<Integer> starts = new ArrayList<>();
+            while (m.find()) starts.add(m.start());
+            if (starts.size() <= 1) {
+                EmbeddedDersKaydi dk = parse(s);
+                if (dk != null) out.add(dk);
+                return out;
+            }
+            for (int i = 0; i < starts.size(); i++) {
+                int en = (i + 1 < starts.size()) ? starts.get(i + 1) : s.length();
+                String chunk = s.substring(starts.get(i), en).trim();
+                while (chunk.startsWith("|") || chunk.startsWith(";")) chunk = chunk.substring(1).trim();
+                if (chunk.isEmpty()) continue;
+                EmbeddedDersKaydi dk = parse(chunk);
+                if (dk != null) out.add(dk);
+            }
+            return out;
+        }
+
+        static EmbeddedDersKaydi parse(String item) {
+            if (item == null) return null;
+            item = item.trim();
+            if (item.isEmpty()) return null;
+            item = item.replace("\r", "").replace("\n", "").trim();
+
+            int firstColon = item.indexOf(':');
+            if (firstColon < 0) return null;
+            String dersKodu = item.substring(0, firstColon).trim();
+            String afterFirst = item.substring(firstColon + 1);
+            int secondColon = afterFirst.indexOf(':');
+            String teacherPart;
+            String rest = null;
+            if (secondColon < 0) {
+                teacherPart = afterFirst;
+            } else {
+                teacherPart = afterFirst.substring(0, secondColon);
+                rest = afterFirst.substring(secondColon + 1);
+            }
+            int ogretmenId;
+            try {
+                ogretmenId = Integer.parseInt(teacherPart.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+
+            String vize = "-";
+            String fin = "-";
+            String not = "-";
+            String dev = "-";
+            String prog = "";
+            if (rest != null) {
+                for (String kv : rest.trim().split(";", -1)) {
+                    String t = kv.trim();
+                    if (t.isEmpty()) continue;
+                    String[] pair = t.split("=", 2);
+                    if (pair.length != 2) continue;
+                    String k = pair[0].trim();
+                    String v = pair[1].trim();
+                    if (k.equalsIgnoreCase("vize")) vize = v.isEmpty() ? "-" : v;
+                    else if (k.equalsIgnoreCase("final")) fin = v.isEmpty() ? "-" : v;
+                    else if (k.equalsIgnoreCase("not")) not = v.isEmpty() ? "-" : v;
+                    else if (k.equalsIgnoreCase("dev")) dev = v.isEmpty() ? "-" : v;
+                    else if (k.equalsIgnoreCase("prog")) prog = v.trim();
+                }
+            }
+            return new EmbeddedDersKaydi(dersKodu, ogretmenId, vize, fin, not, dev, prog);
+        }
+    }
+
+    // Rastgele alanların yapı taşları: geçerli kayıtlar ve bozuk veride görülen/sınır durumlu parçalar.
+    private static final String[] PARCALAR = {
+            "MAT101", ":", "1", "2", ":vize=", "final=", "not=", "dev=", "prog=", ";", "|", " ", "55", "-",
+            "MON-09,TUE-10", "ABCDEFG", "XY", "ab", "cmp203", "\r", "ı", "İ", "K", "ſ", "+3", "-4",
+            "99999999999", "=", "Vize", "DEV", "٣", "\t", "x", "0", "1234", ":7",
+            ":vize=1;final=2;not=-;dev=3;prog=", "TUR101:1:vize=10;final=20;not=-;dev=-;prog=MON-09"
+    };
+    private static final int HIZ_TURU = 5;
+    private static final int GOSTERILEN_FARK = 5;
+    private static final long HIZ_KARAKTERI = 20_000_000;
+
+    public static void main(String[] args) throws IOException {
+        String dosya = (args.length > 0) ? args[0] : "ogrenciler_yeni.txt";
+        int rastgele = (args.length > 1) ? Integer.parseInt(args[1]) : 400_000;
+        long tohum = (args.length > 2) ? Long.parseLong(args[2]) : 1;
+
+        List<String> dosyaAlanlari = new ArrayList<>();
+        for (String satir : Files.readAllLines(Paths.get(dosya), StandardCharsets.UTF_8)) {
+            if (satir.trim().startsWith("#")) continue;
+            String[] p = satir.split(";", 7);
+            if (p.length == 7) dosyaAlanlari.add(p[6]);
+        }
+        List<String> girdiler = new ArrayList<>(dosyaAlanlari);
+        Random rnd = new Random(tohum);
+        for (int i = 0; i < rastgele; i++) {
+            StringBuilder sb = new StringBuilder();
+            int k = rnd.nextInt(14);
+            for (int j = 0; j < k; j++) sb.append(PARCALAR[rnd.nextInt(PARCALAR.length)]);
+            girdiler.add(sb.toString());
+        }
+
+        long fark = 0;
+        for (String g : girdiler) {
+            String eski = metin(EskiAyristirici.coz(g));
+            String yeni = metin(DosyaIslemleri.aldigiDerslerCoz(g));
+            if (!eski.equals(yeni) && fark++ < GOSTERILEN_FARK) {
+                System.out.println("aldigiDerslerCoz farkı [" + g + "]\n  eski=" + eski + "\n  yeni=" + yeni);
+            }
+            String eskiKayit = metin(EskiAyristirici.parse(g));
+            String yeniKayit = metin(DosyaIslemleri.embeddedDersKaydiParse(g));
+            if (!eskiKayit.equals(yeniKayit) && fark++ < GOSTERILEN_FARK) {
+                System.out.println("embeddedDersKaydiParse farkı [" + g + "]\n  eski=" + eskiKayit + "\n  yeni=" + yeniKayit);
+            }
+        }
+        System.out.println("girdi=" + girdiler.size() + " (dosyadan " + dosyaAlanlari.size() + "), fark=" + fark);
+
+        // Hız: sadece dosyadaki alanlar (gerçek veri), tur başına ~HIZ_KARAKTERI karakter; ısınma turlarından
+        // sonra son tur yazılır.
+        long karakter = 0;
+        for (String g : dosyaAlanlari) karakter += g.length();
+        int tekrar = (int) Math.max(1, HIZ_KARAKTERI / Math.max(1, karakter));
+        for (int tur = 1; tur <= HIZ_TURU; tur++) {
+            long t0 = System.nanoTime();
+            int eskiAdet = 0;
+            for (int i = 0; i < tekrar; i++) for (String g : dosyaAlanlari) eskiAdet += EskiAyristirici.coz(g).size();
+            long t1 = System.nanoTime();
+            int yeniAdet = 0;
+            for (int i = 0; i < tekrar; i++) for (String g : dosyaAlanlari) yeniAdet += DosyaIslemleri.aldigiDerslerCoz(g).size();
+            long t2 = System.nanoTime();
+            if (tur == HIZ_TURU) {
+                System.out.printf("%d alan x %d: eski=%d ms  yeni=%d ms  (kayit=%d/%d)%n", dosyaAlanlari.size(), tekrar,
+                        (t1 - t0) / 1_000_000, (t2 - t1) / 1_000_000, eskiAdet, yeniAdet);
+            }
+        }
+        if (fark > 0) throw new IllegalStateException(fark + " girdide sonuç farklı");
+    }
+
+    private static String metin(List<EmbeddedDersKaydi> kayitlar) {
+        StringBuilder sb = new StringBuilder();
+        for (EmbeddedDersKaydi dk : kayitlar) sb.append(metin(dk)).append(" | ");
+        return sb.toString();
+    }
+
+    private static String metin(EmbeddedDersKaydi dk) {
+        return (dk == null) ? "null" : dk.toItemString();
+    }
+}
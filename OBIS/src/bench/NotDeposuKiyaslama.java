@@ -0,0 +1,86 @@
+package bench;
+
+import model.Ogrenci;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+
+// Ogrenci'nin bitmap'li not dizisi ile TreeMap<Integer, Integer> (ders id -> not) referansının rastgele kıyası.
+// Çalıştırma: java -cp out bench.NotDeposuKiyaslama [turSayisi] [tohum]
+// Her turda rastgele ders id'lerine (dar ve geniş aralık, bitmap kelime sınırları) notlar eklenir/güncellenir;
+// notAl, notlariGez sırası, notSayisi, notToplami, aralikDisiNotSayisi ve kopya() bağımsızlığı referansla
+// karşılaştırılır. Fark varsa IllegalStateException atılır.
+public class NotDeposuKiyaslama {
+
+    private static final int[] ARALIKLAR = {70, 130, 3000, 100_000};
+
+    public static void main(String[] args) {
+        int turSayisi = (args.length > 0) ? Integer.parseInt(args[0]) : 5_000;
+        long tohum = (args.length > 1) ? Long.parseLong(args[1]) : 5;
+        Random rnd = new Random(tohum);
+        long islem = 0;
+
+        for (int tur = 0; tur < turSayisi; tur++) {
+            int aralik = ARALIKLAR[rnd.nextInt(ARALIKLAR.length)];
+            int taban = rnd.nextBoolean() ? 0 : rnd.nextInt(1 << 20);
+            Ogrenci o = new Ogrenci(1, "a", "b", "c", null);
+            TreeMap<Integer, Integer> ref = new TreeMap<>();
+            int adim = rnd.nextInt(60);
+            for (int k = 0; k < adim; k++) {
+                int dersId = taban + rnd.nextInt(aralik);
+                // Çoğunlukla 0-100; bazen dosyadan bozuk gelebilecek aralık dışı değerler.
+                int not = (rnd.nextInt(10) == 0) ? rnd.nextInt(2 * Short.MAX_VALUE) - Short.MAX_VALUE : rnd.nextInt(101);
+                o.notEkle(dersId, not);
+                ref.put(dersId, not);
+                islem++;
+            }
+            kontrol(tur, o, ref, taban, aralik);
+
+            // Kopya bağımsız olmalı: kopyadaki değişiklik asıl nesneyi etkilemez.
+            Ogrenci kopya = o.kopya();
+            TreeMap<Integer, Integer> kopyaRef = new TreeMap<>(ref);
+            for (int k = 0; k < 5; k++) {
+                int dersId = taban + rnd.nextInt(aralik);
+                int not = rnd.nextInt(101);
+                kopya.notEkle(dersId, not);
+                kopyaRef.put(dersId, not);
+            }
+            kontrol(tur, kopya, kopyaRef, taban, aralik);
+            kontrol(tur, o, ref, taban, aralik);
+        }
+        System.out.println("tur=" + turSayisi + ", notEkle=" + islem + ", fark=0");
+    }
+
+    private static void kontrol(int tur, Ogrenci o, TreeMap<Integer, Integer> ref, int taban, int aralik) {
+        for (int dersId = Math.max(0, taban - 64); dersId < taban + aralik + 64; dersId++) {
+            if (!Objects.equals(o.notAl(dersId), ref.get(dersId))) hata(tur, "notAl(" + dersId + ")");
+        }
+        List<Integer> idler = new ArrayList<>();
+        List<Integer> notlar = new ArrayList<>();
+        o.notlariGez((dersId, not) -> {
+            idler.add(dersId);
+            notlar.add(not);
+        });
+        if (!idler.equals(new ArrayList<>(ref.keySet())) || !notlar.equals(new ArrayList<>(ref.values()))) {
+            hata(tur, "notlariGez");
+        }
+        if (!o.dersIdleri().equals(idler)) hata(tur, "dersIdleri");
+        if (o.notSayisi() != ref.size()) hata(tur, "notSayisi");
+        long toplam = 0;
+        int aralikDisi = 0;
+        for (Map.Entry<Integer, Integer> e : ref.entrySet()) {
+            toplam += e.getValue();
+            if (e.getValue() < 0 || e.getValue() > 100) aralikDisi++;
+        }
+        if (o.notToplami() != toplam) hata(tur, "notToplami");
+        if (o.aralikDisiNotSayisi() != aralikDisi) hata(tur, "aralikDisiNotSayisi");
+    }
+
+    private static void hata(int tur, String ne) {
+        throw new IllegalStateException("tur " + tur + ": " + ne + " referanstan farklı");
+    }
+}
@@ -0,0 +1,106 @@
+package bench;
+
+import service.NotPolitikalari;
+import service.NotPolitikasi;
+import service.StandartNotHesaplamaService;
+
+import java.io.IOException;
+
+// Tablo tabanlı NotPolitikasi (varsayılan kurallar) ile önceki if merdivenlerinin tam kıyası.
+// Çalıştırma: java -cp out bench.NotPolitikasiKiyaslama [notPolitikasiDosyasi]
+// Kıyaslananlar:
+//   - harf notu: StandartNotHesaplamaService'in eski merdiveni, 1..40 notun tüm toplam/adet ortalamalarında
+//   - 4'lük katsayı ve geçme (katsayı >= 2.0): konsolun eski yuzluktenDortluge merdiveni, aynı ortalamalarda
+//   - ders ortalaması/notu: tüm vize/final (0-100) çiftlerinde vize*0.40 + final*0.60 (yazdırılan tek ondalık,
+//     yuvarlanmış not ve geçme sonucu)
+// Dosya verilirse genel bölümünün varsayılanlarla aynı olduğu da kontrol edilir.
+// Fark varsa ilk birkaçı yazılır ve IllegalStateException atılır.
+public class NotPolitikasiKiyaslama {
+
+    // Önceki kurallar (karşılaştırma için birebir).
+    static class EskiKurallar {
+        static final double VIZE_AGIRLIK = 0.40;
+        static final double FINAL_AGIRLIK = 0.60;
+
+        // StandartNotHesaplamaService.harfNotuHesapla
+        static String harf(double ortalama) {
+            if (ortalama >= 90) return "AA";
+            if (ortalama >= 85) return "BA";
+            if (ortalama >= 80) return "BB";
+            if (ortalama >= 75) return "CB";
+            if (ortalama >= 70) return "CC";
+            if (ortalama >= 65) return "DC";
+            if (ortalama >= 60) return "DD";
+            if (ortalama >= 50) return "FD";
+            return "FF";
+        }
+
+        // Main.yuzluktenDortluge
+        static double dortluk(double ort100) {
+            if (ort100 >= 90) return 4.0;
+            if (ort100 >= 85) return 3.5;
+            if (ort100 >= 80) return 3.0;
+            if (ort100 >= 75) return 2.5;
+            if (ort100 >= 70) return 2.0;
+            if (ort100 >= 65) return 1.5;
+            if (ort100 >= 60) return 1.0;
+            if (ort100 >= 50) return 0.5;
+            return 0.0;
+        }
+
+        // Main: 4'lük < 2.0 ise FF (kalır).
+        static boolean gecer(double ort100) {
+            return dortluk(ort100) >= 2.0;
+        }
+
+        static double dersOrtalamasi(int vize, int fin) {
+            return (vize * VIZE_AGIRLIK) + (fin * FINAL_AGIRLIK);
+        }
+    }
+
+    private static final int EN_FAZLA_NOT = 40;
+    private static final int GOSTERILEN_FARK = 5;
+
+    private static long fark;
+
+    public static void main(String[] args) throws IOException {
+        NotPolitikasi politika = NotPolitikasi.varsayilan();
+        StandartNotHesaplamaService servis = new StandartNotHesaplamaService();
+        long ortalamalar = 0;
+
+        // Ortalama = not toplamı / not sayısı; 0-100 notlarla oluşabilecek tüm değerler.
+        for (int adet = 1; adet <= EN_FAZLA_NOT; adet++) {
+            for (long toplam = 0; toplam <= 100L * adet; toplam++) {
+                double o = (double) toplam / adet;
+                ortalamalar++;
+                esit("harf(" + o + ")", EskiKurallar.harf(o), servis.harfNotuHesapla(o));
+                esit("katsayi(" + o + ")", EskiKurallar.dortluk(o), politika.katsayi(o));
+                esit("gecer(" + o + ")", EskiKurallar.gecer(o), politika.gecer(o));
+            }
+        }
+
+        for (int vize = 0; vize <= 100; vize++) {
+            for (int fin = 0; fin <= 100; fin++) {
+                double eski = EskiKurallar.dersOrtalamasi(vize, fin);
+                double yeni = politika.dersOrtalamasi(vize, fin);
+                String ad = "ders(" + vize + "," + fin + ")";
+                esit(ad + " ortalama", String.format("%.1f", eski), String.format("%.1f", yeni));
+                esit(ad + " not", (int) Math.round(eski), politika.dersNotu(vize, fin));
+                esit(ad + " gecer", EskiKurallar.gecer(eski), politika.gecer(yeni));
+            }
+        }
+
+        if (args.length > 0) {
+            NotPolitikalari dosyadan = NotPolitikalari.yukle(args[0]);
+            esit(args[0] + " genel", politika.toString(), dosyadan.genel().toString());
+        }
+
+        System.out.println("ortalama=" + ortalamalar + ", vize/final=" + (101 * 101) + ", fark=" + fark);
+        if (fark > 0) throw new IllegalStateException(fark + " durumda sonuç farklı");
+    }
+
+    private static void esit(String ne, Object eski, Object yeni) {
+        if (eski.equals(yeni)) return;
+        if (fark++ < GOSTERILEN_FARK) System.out.println(ne + ": eski=" + eski + " yeni=" + yeni);
+    }
+}
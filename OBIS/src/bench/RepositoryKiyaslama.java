@@ -0,0 +1,93 @@
+package bench;
+
+import generic.Repository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+// Repository (IntHashMap) ile önceki HashMap<Integer, T> deposunun kıyası.
+// Çalıştırma: java -Xmx2g -cp out bench.RepositoryKiyaslama [kayitSayisi]
+// Ölçülenler: doldurma (save), rastgele findById/existsById süresi ve yüklü haldeki heap kullanımı.
+public class RepositoryKiyaslama {
+
+    // Önceki Repository deposu (karşılaştırma için birebir).
+    static class HashMapRepository<T> {
+        private final Map<Integer, T> store = new HashMap<>();
+
+        void save(int id, T entity) {
+            store.put(id, entity);
+        }
+
+        T findById(int id) {
+            return store.get(id);
+        }
+
+        boolean existsById(int id) {
+            return store.containsKey(id);
+        }
+    }
+
+    private static final int TUR = 5;
+
+    public static void main(String[] args) {
+        int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+        // Aynı değer nesneleri iki depoda da kullanılır; heap farkı sadece depo yapısından gelir.
+        Object[] degerler = new Object[n];
+        for (int i = 0; i < n; i++) degerler[i] = new Object();
+        int[] sorgular = new int[n];
+        Random rnd = new Random(42);
+        for (int i = 0; i < n; i++) sorgular[i] = 1 + rnd.nextInt(2 * n); // yarısı yok
+
+        System.out.println("kayit=" + n + ", tur=" + TUR);
+        for (int tur = 1; tur <= TUR; tur++) {
+            boolean son = tur == TUR;
+            hashMapOlc(n, degerler, sorgular, son);
+            repositoryOlc(n, degerler, sorgular, son);
+        }
+    }
+
+    private static void hashMapOlc(int n, Object[] degerler, int[] sorgular, boolean yazdir) {
+        long heapOnce = kullanilanHeap();
+        long t0 = System.nanoTime();
+        HashMapRepository<Object> repo = new HashMapRepository<>();
+        for (int i = 0; i < n; i++) repo.save(i + 1, degerler[i]);
+        long t1 = System.nanoTime();
+        int bulunan = 0;
+        for (int id : sorgular) if (repo.findById(id) != null) bulunan++;
+        long t2 = System.nanoTime();
+        for (int id : sorgular) if (repo.existsById(id)) bulunan++;
+        long t3 = System.nanoTime();
+        long heap = kullanilanHeap() - heapOnce;
+        if (yazdir) yaz("HashMap<Integer,T>", t0, t1, t2, t3, heap, bulunan);
+        if (repo.findById(1) == null) throw new IllegalStateException();
+    }
+
+    private static void repositoryOlc(int n, Object[] degerler, int[] sorgular, boolean yazdir) {
+        long heapOnce = kullanilanHeap();
+        long t0 = System.nanoTime();
+        Repository<Object> repo = new Repository<>();
+        for (int i = 0; i < n; i++) repo.save(i + 1, degerler[i]);
+        long t1 = System.nanoTime();
+        int bulunan = 0;
+        for (int id : sorgular) if (repo.findById(id) != null) bulunan++;
+        long t2 = System.nanoTime();
+        for (int id : sorgular) if (repo.existsById(id)) bulunan++;
+        long t3 = System.nanoTime();
+        long heap = kullanilanHeap() - heapOnce;
+        if (yazdir) yaz("Repository (IntHashMap)", t0, t1, t2, t3, heap, bulunan);
+        if (repo.findById(1) == null) throw new IllegalStateException();
+    }
+
+    private static void yaz(String ad, long t0, long t1, long t2, long t3, long heap, int bulunan) {
+        System.out.printf("%-24s save=%5d ms  findById=%5d ms  existsById=%5d ms  heap=%6.1f MB  (bulunan=%d)%n",
+                ad, (t1 - t0) / 1_000_000, (t2 - t1) / 1_000_000, (t3 - t2) / 1_000_000,
+                heap / (1024.0 * 1024.0), bulunan);
+    }
+
+    private static long kullanilanHeap() {
+        Runtime r = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return r.totalMemory() - r.freeMemory();
+    }
+}
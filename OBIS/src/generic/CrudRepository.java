@@ -0,0 +1,58 @@
+package generic;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+// id -> T repository sözleşmesi. Bellekteki depo Repository'dir; şeritli (EszamanliRepository), dosya ve
+// slab tabanlı repository'ler de bu arayüzü kendi depolarıyla uygular (Repository'nin deposunu miras almaz).
+public interface CrudRepository<T> {
+
+    // Tek anahtarlı indeks (ör. username, email). Çıkarıcı null dönerse entity indekslenmez.
+    void addIndex(String name, Function<? super T, ?> extractor);
+
+    // Çok anahtarlı indeks (ör. öğrencinin aldığı ders kodları): entity her anahtar altında bulunur.
+    void addMultiIndex(String name, Function<? super T, ? extends Collection<?>> extractor);
+
+    // İndeksteki anahtara sahip entity'ler (sırasız). İndeks yoksa IllegalArgumentException.
+    List<T> findBy(String index, Object key);
+
+    void save(int id, T entity);
+
+    // Toplu kayıt; aynı id birden fazla geçerse sonuncusu kalır.
+    void saveAll(Collection<? extends T> entities, ToIntFunction<? super T> idOf);
+
+    // Iterator'daki tüm entity'leri toplu kaydeder (önce listeye alınır; boyut bilindiği için tek boyutlandırma).
+    default void loadFrom(Iterator<? extends T> entities, ToIntFunction<? super T> idOf) {
+        List<T> liste = new ArrayList<>();
+        entities.forEachRemaining(liste::add);
+        saveAll(liste, idOf);
+    }
+
+    T findById(int id);
+
+    boolean existsById(int id);
+
+    List<T> findAll();
+
+    void deleteById(int id);
+
+    // Tüm entity'leri kopya liste oluşturmadan gezer.
+    void forEach(Consumer<? super T> action);
+
+    // Sırasız, tembel stream.
+    Stream<T> stream();
+
+    // Keyset sayfalama: id'si afterId'den büyük ilk limit entity, id sırasıyla.
+    List<T> findPage(int afterId, int limit);
+
+    // Alındığı andaki kayıtların değişmez görünümü.
+    RepositoryGoruntusu<T> snapshot();
+
+    int size();
+}
@@ -0,0 +1,216 @@
+package generic;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// int -> T kalıcı (persistent) harita: put/remove yeni bir sürüm döndürür, eski sürüm hiç değişmez.
+// Değişmeyen dallar sürümler arasında paylaşılır (yol kopyalama): put/remove en fazla 7 düğüm kopyalar,
+// bir sürümü saklamak O(1)'dir. Anahtarın işaret biti çevrilerek 32 dallı trie'ye yerleştirilir; bu yüzden
+// gezinti anahtar sırasıyladır. Düğümler sadece dolu dalları tutar (bitmap ile sıkıştırılmış dizi).
+// Değişmez olduğu için thread-safe'tir. null değer saklanabilir.
+public final class KaliciIntMap<T> {
+    private static final int DAL_BITI = 5;
+    private static final int DAL_MASKESI = (1 << DAL_BITI) - 1;
+    // 30, 25, ..., 0: 7 seviye; kök sadece üst 2 biti kullanır.
+    private static final int KOK_KAYMA = 30;
+    private static final int SEVIYE = KOK_KAYMA / DAL_BITI + 1;
+
+    private static final KaliciIntMap<?> BOS = new KaliciIntMap<>(null, 0);
+
+    // Son seviyede dallar değerdir, diğer seviyelerde Dugum.
+    private static final class Dugum {
+        final int bitmap;
+        final Object[] dallar;
+
+        Dugum(int bitmap, Object[] dallar) {
+            this.bitmap = bitmap;
+            this.dallar = dallar;
+        }
+    }
+
+    private final Dugum kok;
+    private final int boyut;
+
+    private KaliciIntMap(Dugum kok, int boyut) {
+        this.kok = kok;
+        this.boyut = boyut;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> KaliciIntMap<T> bos() {
+        return (KaliciIntMap<T>) BOS;
+    }
+
+    // Mevcut haritanın kalıcı kopyası (O(n), bir kez).
+    public static <T> KaliciIntMap<T> kopyala(IntHashMap<T> kaynak) {
+        KaliciIntMap<T>[] sonuc = dizi(1);
+        sonuc[0] = bos();
+        kaynak.forEach((anahtar, deger) -> sonuc[0] = sonuc[0].put(anahtar, deger));
+        return sonuc[0];
+    }
+
+    // Tipli dizi (generic dizi oluşturulamadığı için tek denetimsiz dönüşüm burada).
+    @SuppressWarnings("unchecked")
+    static <T> KaliciIntMap<T>[] dizi(int n) {
+        return (KaliciIntMap<T>[]) new KaliciIntMap<?>[n];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int anahtar) {
+        int k = anahtar ^ Integer.MIN_VALUE;
+        Dugum d = kok;
+        if (d == null) return null;
+        for (int kayma = KOK_KAYMA; ; kayma -= DAL_BITI) {
+            int bit = 1 << ((k >>> kayma) & DAL_MASKESI);
+            if ((d.bitmap & bit) == 0) return null;
+            Object dal = d.dallar[Integer.bitCount(d.bitmap & (bit - 1))];
+            if (kayma == 0) return (T) dal;
+            d = (Dugum) dal;
+        }
+    }
+
+    public boolean containsKey(int anahtar) {
+        int k = anahtar ^ Integer.MIN_VALUE;
+        Dugum d = kok;
+        if (d == null) return false;
+        for (int kayma = KOK_KAYMA; ; kayma -= DAL_BITI) {
+            int bit = 1 << ((k >>> kayma) & DAL_MASKESI);
+            if ((d.bitmap & bit) == 0) return false;
+            if (kayma == 0) return true;
+            d = (Dugum) d.dallar[Integer.bitCount(d.bitmap & (bit - 1))];
+        }
+    }
+
+    // anahtar -> deger eklenmiş/güncellenmiş yeni sürüm.
+    public KaliciIntMap<T> put(int anahtar, T deger) {
+        boolean[] yeni = new boolean[1];
+        Dugum yeniKok = ekle(kok, anahtar ^ Integer.MIN_VALUE, KOK_KAYMA, deger, yeni);
+        return new KaliciIntMap<>(yeniKok, yeni[0] ? boyut + 1 : boyut);
+    }
+
+    // anahtar çıkarılmış yeni sürüm (anahtar yoksa bu sürüm).
+    public KaliciIntMap<T> remove(int anahtar) {
+        if (!containsKey(anahtar)) return this;
+        Dugum yeniKok = cikar(kok, anahtar ^ Integer.MIN_VALUE, KOK_KAYMA);
+        return new KaliciIntMap<>(yeniKok, boyut - 1);
+    }
+
+    public int size() {
+        return boyut;
+    }
+
+    public boolean isEmpty() {
+        return boyut == 0;
+    }
+
+    // Tüm kayıtları anahtar sırasıyla gezer.
+    public void forEach(IntHashMap.Ziyaretci<? super T> ziyaretci) {
+        if (kok != null) gez(kok, KOK_KAYMA, 0, 0, Integer.MAX_VALUE, ziyaretci);
+    }
+
+    // Anahtarı afterId'den büyük en fazla limit kaydı anahtar sırasıyla gezer; alt sınırın altındaki dallara inilmez.
+    public void gez(int afterId, int limit, IntHashMap.Ziyaretci<? super T> ziyaretci) {
+        if (kok == null || limit <= 0 || afterId == Integer.MAX_VALUE) return;
+        gez(kok, KOK_KAYMA, 0, (afterId ^ Integer.MIN_VALUE) + 1, limit, ziyaretci);
+    }
+
+    // Değerler üzerinde anahtar sırasıyla iterator (remove desteklenmez).
+    public Iterator<T> degerIteratoru() {
+        return new Iterator<T>() {
+            private final Dugum[] yigin = new Dugum[SEVIYE];
+            private final int[] konum = new int[SEVIYE];
+            private int derinlik = -1;
+
+            {
+                if (kok != null) {
+                    derinlik = 0;
+                    yigin[0] = kok;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return derinlik >= 0;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                // İlk yaprağa in.
+                while (derinlik < SEVIYE - 1) {
+                    Dugum alt = (Dugum) yigin[derinlik].dallar[konum[derinlik]];
+                    yigin[++derinlik] = alt;
+                    konum[derinlik] = 0;
+                }
+                T deger = (T) yigin[derinlik].dallar[konum[derinlik]];
+                // Sonraki konuma ilerle; biten düğümlerden yukarı çık.
+                while (derinlik >= 0 && ++konum[derinlik] == yigin[derinlik].dallar.length) derinlik--;
+                return deger;
+            }
+        };
+    }
+
+    private static Dugum ekle(Dugum d, int k, int kayma, Object deger, boolean[] yeni) {
+        int bit = 1 << ((k >>> kayma) & DAL_MASKESI);
+        int bitmap = (d == null) ? 0 : d.bitmap;
+        int i = Integer.bitCount(bitmap & (bit - 1));
+        if ((bitmap & bit) != 0) {
+            Object[] dallar = d.dallar.clone();
+            dallar[i] = (kayma == 0) ? deger : ekle((Dugum) d.dallar[i], k, kayma - DAL_BITI, deger, yeni);
+            return new Dugum(bitmap, dallar);
+        }
+        yeni[0] = true;
+        int n = Integer.bitCount(bitmap);
+        Object[] dallar = new Object[n + 1];
+        if (d != null) {
+            System.arraycopy(d.dallar, 0, dallar, 0, i);
+            System.arraycopy(d.dallar, i, dallar, i + 1, n - i);
+        }
+        dallar[i] = (kayma == 0) ? deger : ekle(null, k, kayma - DAL_BITI, deger, yeni);
+        return new Dugum(bitmap | bit, dallar);
+    }
+
+    // Anahtarın var olduğu biliniyor. Boşalan düğüm null döner (üst düğümden dal silinir).
+    private static Dugum cikar(Dugum d, int k, int kayma) {
+        int bit = 1 << ((k >>> kayma) & DAL_MASKESI);
+        int i = Integer.bitCount(d.bitmap & (bit - 1));
+        if (kayma > 0) {
+            Dugum alt = cikar((Dugum) d.dallar[i], k, kayma - DAL_BITI);
+            if (alt != null) {
+                Object[] dallar = d.dallar.clone();
+                dallar[i] = alt;
+                return new Dugum(d.bitmap, dallar);
+            }
+        }
+        int n = d.dallar.length;
+        if (n == 1) return null;
+        Object[] dallar = new Object[n - 1];
+        System.arraycopy(d.dallar, 0, dallar, 0, i);
+        System.arraycopy(d.dallar, i + 1, dallar, i, n - i - 1);
+        return new Dugum(d.bitmap & ~bit, dallar);
+    }
+
+    // onek: bu düğüme kadar belirlenen (işaret biti çevrilmiş) anahtar bitleri; altSinir işaretsiz karşılaştırılır.
+    // Kalan limiti döndürür.
+    @SuppressWarnings("unchecked")
+    private static <T> int gez(Dugum d, int kayma, int onek, int altSinir, int kalan, IntHashMap.Ziyaretci<? super T> ziyaretci) {
+        int bitmap = d.bitmap;
+        int i = 0;
+        while (bitmap != 0 && kalan > 0) {
+            int dal = Integer.numberOfTrailingZeros(bitmap);
+            bitmap &= bitmap - 1;
+            int altOnek = onek | (dal << kayma);
+            int enBuyuk = altOnek | (int) ((1L << kayma) - 1);
+            Object alt = d.dallar[i++];
+            if (Integer.compareUnsigned(enBuyuk, altSinir) < 0) continue;
+            if (kayma == 0) {
+                ziyaretci.ziyaret(altOnek ^ Integer.MIN_VALUE, (T) alt);
+                kalan--;
+            } else {
+                kalan = gez((Dugum) alt, kayma - DAL_BITI, altOnek, altSinir, kalan, ziyaretci);
+            }
+        }
+        return kalan;
+    }
+}
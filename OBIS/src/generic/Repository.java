@@ -1,34 +1,326 @@
 package generic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 // Basit generic repository: id -> T saklar.
-public class Repository<T> {
-    private final Map<Integer, T> store = new HashMap<>();
+// Depo IntHashMap: id kutulanmaz, kayıt başına Entry nesnesi yok (milyonlarca kayıtta heap/GC farkı büyük).
+// İsimli ikincil indeksler (addIndex) save/deleteById ile güncel tutulur; findBy tam tarama yapmaz.
+// Liste oluşturmadan gezmek için stream()/forEach(); sayfalama için id sırasıyla findPage(afterId, limit).
+// snapshot(): kilitsiz gezilebilen değişmez anlık görüntü (rapor/dışa aktarım yazmalarla yarışmadan okur).
+public class Repository<T> implements CrudRepository<T> {
+    private final IntHashMap<T> store = new IntHashMap<>();
 
+    // Sayfalama için id'ler: sıralı, sıkı int dizisi (id başına 4 bayt; bellek en büyük id'den bağımsız).
+    // Artan sırayla gelen yeni id sona eklenir. Sırasız gelen id de sona eklenir ve dizi sirasiz işaretlenir;
+    // silinen id dizide kalır (bayat) ve gezerken atlanır. Sıralama/temizlik bir kez, ilk sayfalamada ya da
+    // dizi büyümeden önce yapılır. Okuma tarafındaki düzenleme (EszamanliRepository şeritleri okuma kilidiyle
+    // paralel gezer) idKilidi ile tek okuyucuya bırakılır.
+    private int[] siraliIdler = new int[0];
+    private int idSayisi;
+    private int bayatIdSayisi;
+    private volatile boolean idlerSirasiz;
+    private final Object idKilidi = new Object();
+
+    // Kalıcı (persistent) kopya: ilk snapshot()'ta oluşturulur, sonra save/deleteById ile yol kopyalayarak
+    // güncellenir. snapshot() kullanılmayan repository'de null kalır (ek bellek yok).
+    private KaliciIntMap<T> kalici;
+
+    // indeks adı -> indeks
+    private final Map<String, Indeks<T>> indeksler = new HashMap<>();
+
+    // İkincil indeks: anahtar -> (id -> entity). Her id için save anındaki anahtarlar da tutulur;
+    // entity sonradan değişse bile eski anahtarlardan doğru şekilde silinir.
+    // Kayıt başına ek nesneyi azaltmak için: tek entity'li anahtar Tekil ile, tek anahtarlı id anahtarın
+    // kendisiyle tutulur; ikinci entity gelince IntHashMap'e, birden fazla anahtarda Object[]'e geçilir
+    // (anahtar olarak dizi kullanılamaz; diziler HashMap'te zaten kimlikle karşılaştırılır).
+    private static class Indeks<T> {
+        // Biri dolu: addIndex -> tekCikarici, addMultiIndex -> cokCikarici.
+        final Function<? super T, ?> tekCikarici;
+        final Function<? super T, ? extends Collection<?>> cokCikarici;
+        // anahtar -> Tekil<T> | IntHashMap<T>
+        final Map<Object, Object> anahtardan = new HashMap<>();
+        // id -> anahtar | Object[]
+        final IntHashMap<Object> idAnahtarlari = new IntHashMap<>();
+
+        Indeks(Function<? super T, ?> tekCikarici, Function<? super T, ? extends Collection<?>> cokCikarici) {
+            this.tekCikarici = tekCikarici;
+            this.cokCikarici = cokCikarici;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> Indeks<T>[] dizi(int n) {
+            return (Indeks<T>[]) new Indeks<?>[n];
+        }
+
+        void ekle(int id, T entity) {
+            if (tekCikarici != null) {
+                Object anahtar = tekCikarici.apply(entity);
+                if (anahtar == null) return;
+                anahtaraEkle(anahtar, id, entity);
+                idAnahtarlari.put(id, anahtar);
+                return;
+            }
+            Collection<?> cikan = cokCikarici.apply(entity);
+            if (cikan == null || cikan.isEmpty()) return;
+            // Kopya: çıkarıcı canlı bir görünüm (ör. notlar.keySet()) dönebilir.
+            Object[] anahtarlar = new Object[cikan.size()];
+            int n = 0;
+            for (Object anahtar : cikan) {
+                if (anahtar == null) continue;
+                anahtarlar[n++] = anahtar;
+                anahtaraEkle(anahtar, id, entity);
+            }
+            if (n == 0) return;
+            idAnahtarlari.put(id, (n == 1) ? anahtarlar[0] : (n == anahtarlar.length) ? anahtarlar : Arrays.copyOf(anahtarlar, n));
+        }
+
+        void cikar(int id) {
+            Object kayitli = idAnahtarlari.remove(id);
+            if (kayitli == null) return;
+            if (kayitli instanceof Object[]) {
+                for (Object anahtar : (Object[]) kayitli) anahtardanCikar(anahtar, id);
+            } else {
+                anahtardanCikar(kayitli, id);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> bul(Object anahtar) {
+            Object kayitli = anahtardan.get(anahtar);
+            if (kayitli == null) return Collections.emptyList();
+            if (kayitli instanceof Tekil) return Collections.singletonList(((Tekil<T>) kayitli).entity);
+            return ((IntHashMap<T>) kayitli).values();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void anahtaraEkle(Object anahtar, int id, T entity) {
+            Object mevcut = anahtardan.get(anahtar);
+            if (mevcut == null || (mevcut instanceof Tekil && ((Tekil<T>) mevcut).id == id)) {
+                anahtardan.put(anahtar, new Tekil<>(id, entity));
+                return;
+            }
+            if (mevcut instanceof Tekil) {
+                Tekil<T> tekil = (Tekil<T>) mevcut;
+                IntHashMap<T> idler = new IntHashMap<>(4);
+                idler.put(tekil.id, tekil.entity);
+                anahtardan.put(anahtar, idler);
+                mevcut = idler;
+            }
+            ((IntHashMap<T>) mevcut).put(id, entity);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void anahtardanCikar(Object anahtar, int id) {
+            Object kayitli = anahtardan.get(anahtar);
+            if (kayitli instanceof Tekil) {
+                if (((Tekil<T>) kayitli).id == id) anahtardan.remove(anahtar);
+                return;
+            }
+            if (kayitli == null) return;
+            IntHashMap<T> idler = (IntHashMap<T>) kayitli;
+            idler.remove(id);
+            if (idler.isEmpty()) anahtardan.remove(anahtar);
+        }
+    }
+
+    private static final class Tekil<T> {
+        final int id;
+        final T entity;
+
+        Tekil(int id, T entity) {
+            this.id = id;
+            this.entity = entity;
+        }
+    }
+
+    // Tek anahtarlı indeks (ör. username, email). Çıkarıcı null dönerse entity indekslenmez.
+    // Aynı isimde indeks varsa yerine geçer; mevcut kayıtlar hemen indekslenir.
+    @Override
+    public void addIndex(String name, Function<? super T, ?> extractor) {
+        indeksEkle(name, new Indeks<>(extractor, null));
+    }
+
+    // Çok anahtarlı indeks (ör. öğrencinin aldığı ders kodları): entity her anahtar altında bulunur.
+    @Override
+    public void addMultiIndex(String name, Function<? super T, ? extends Collection<?>> extractor) {
+        indeksEkle(name, new Indeks<>(null, extractor));
+    }
+
+    private void indeksEkle(String name, Indeks<T> indeks) {
+        store.forEach(indeks::ekle);
+        indeksler.put(name, indeks);
+    }
+
+    // İndeksteki anahtara sahip entity'ler (sırasız). İndeks yoksa IllegalArgumentException.
+    // Not: indeks save anındaki değerleri tutar; entity değiştiyse tekrar save edilmeli.
+    @Override
+    public List<T> findBy(String index, Object key) {
+        Indeks<T> indeks = indeksler.get(index);
+        if (indeks == null) throw new IllegalArgumentException("İndeks bulunamadı: " + index);
+        return indeks.bul(key);
+    }
+
+    @Override
     public void save(int id, T entity) {
-        store.put(id, entity);
+        if (store.put(id, entity) == null) idEkle(id);
+        if (kalici != null) kalici = kalici.put(id, entity);
+        for (Indeks<T> indeks : indeksler.values()) {
+            indeks.cikar(id);
+            indeks.ekle(id, entity);
+        }
+    }
+
+    // Toplu kayıt (ör. açılışta dosyadan yükleme): depo ve id kümesi bir kez boyutlandırılır, kalıcı kopya
+    // (snapshot) kayıt başına güncellenmek yerine bırakılır ve bir sonraki snapshot()'ta yeniden kurulur.
+    // Aynı id birden fazla geçerse sonuncusu kalır.
+    @Override
+    public void saveAll(Collection<? extends T> entities, ToIntFunction<? super T> idOf) {
+        if (entities.isEmpty()) return;
+        int[] idDizisi = new int[entities.size()];
+        int i = 0;
+        for (T entity : entities) idDizisi[i++] = idOf.applyAsInt(entity);
+        store.kapasiteAyir(store.size() + idDizisi.length);
+        if (idSayisi + idDizisi.length > siraliIdler.length) {
+            siraliIdler = Arrays.copyOf(siraliIdler, idSayisi + idDizisi.length);
+        }
+        Indeks<T>[] indeksDizisi = indeksler.values().toArray(Indeks.dizi(indeksler.size()));
+        for (Indeks<T> indeks : indeksDizisi) indeks.idAnahtarlari.kapasiteAyir(indeks.idAnahtarlari.size() + idDizisi.length);
+        kalici = null;
+
+        i = 0;
+        for (T entity : entities) {
+            int id = idDizisi[i++];
+            // Yeni id'de (açılış yüklemesinin tamamı) indekslerden çıkarma adımı atlanır.
+            boolean vardi = store.put(id, entity) != null;
+            if (!vardi) idEkle(id);
+            for (Indeks<T> indeks : indeksDizisi) {
+                if (vardi) indeks.cikar(id);
+                indeks.ekle(id, entity);
+            }
+        }
+        // Sırasız yüklemede sıralama ilk sayfalamayı beklemesin.
+        if (idlerSirasiz) idleriDuzenle();
     }
 
+    @Override
     public T findById(int id) {
         return store.get(id);
     }
 
+    @Override
     public boolean existsById(int id) {
         return store.containsKey(id);
     }
 
+    @Override
     public List<T> findAll() {
-        return new ArrayList<>(store.values());
+        return store.values();
     }
 
+    @Override
     public void deleteById(int id) {
-        store.remove(id);
+        if (store.remove(id) != null && ++bayatIdSayisi > idSayisi / 2) idleriDuzenle();
+        if (kalici != null) kalici = kalici.remove(id);
+        for (Indeks<T> indeks : indeksler.values()) indeks.cikar(id);
+    }
+
+    // Tüm entity'leri kopya liste oluşturmadan gezer. Gezinti sırasında repository değiştirilmemeli.
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        store.forEach((id, entity) -> action.accept(entity));
+    }
+
+    // Kopyasız, sırasız stream (tembel). Akış tüketilirken repository değiştirilmemeli.
+    @Override
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliterator(store.degerIteratoru(), store.size(),
+                Spliterator.SIZED), false);
+    }
+
+    // Keyset sayfalama: id'si afterId'den büyük ilk limit entity, id sırasıyla. İlk sayfa için
+    // afterId = Integer.MIN_VALUE; sonraki sayfa için önceki sayfanın son id'si verilir.
+    // Sadece sayfa kadar nesne oluşur; ofset sayfalamasının aksine önceki sayfalar tekrar taranmaz.
+    @Override
+    public List<T> findPage(int afterId, int limit) {
+        List<T> sayfa = new ArrayList<>(Math.max(0, Math.min(limit, 1024)));
+        idSirasiylaGez(afterId, limit, (id, entity) -> sayfa.add(entity));
+        return sayfa;
+    }
+
+    // Alındığı andaki kayıtların değişmez görünümü. İlk çağrı mevcut kayıtları kalıcı haritaya kopyalar (O(n));
+    // sonraki çağrılar O(1)'dir: sadece o anki kök tutulur, repository'ye yazmalar görüntüyü değiştirmez.
+    @Override
+    public RepositoryGoruntusu<T> snapshot() {
+        return new RepositoryGoruntusu<>(kaliciHarita());
+    }
+
+    // Kalıcı haritanın güncel sürümü (yoksa oluşturulur; çağıran yazma erişimine sahip olmalı).
+    KaliciIntMap<T> kaliciHarita() {
+        if (kalici == null) kalici = KaliciIntMap.kopyala(store);
+        return kalici;
+    }
+
+    // id'si afterId'den büyük en fazla limit kaydı id sırasıyla ziyaret eder.
+    void idSirasiylaGez(int afterId, int limit, IntHashMap.Ziyaretci<? super T> ziyaretci) {
+        if (limit <= 0 || afterId == Integer.MAX_VALUE) return;
+        if (idlerSirasiz) {
+            synchronized (idKilidi) {
+                if (idlerSirasiz) idleriDuzenle();
+            }
+        }
+        int[] idler = siraliIdler;
+        int n = idSayisi;
+        int i = Arrays.binarySearch(idler, 0, n, afterId);
+        i = (i >= 0) ? i + 1 : -i - 1;
+        for (int kalan = limit; i < n && kalan > 0; i++) {
+            int id = idler[i];
+            T entity = store.get(id);
+            if (entity == null && !store.containsKey(id)) continue; // bayat
+            ziyaretci.ziyaret(id, entity);
+            kalan--;
+        }
+    }
+
+    // Yeni id'yi sona ekler; dizi doluysa önce bayat id'ler temizlenir, yetmezse büyütülür.
+    private void idEkle(int id) {
+        if (idSayisi == siraliIdler.length) {
+            if (idlerSirasiz || bayatIdSayisi > 0) idleriDuzenle();
+            if (idSayisi == siraliIdler.length) {
+                siraliIdler = Arrays.copyOf(siraliIdler, Math.max(16, idSayisi + (idSayisi >> 1)));
+            }
+        }
+        if (idSayisi > 0 && id <= siraliIdler[idSayisi - 1]) idlerSirasiz = true;
+        siraliIdler[idSayisi++] = id;
+    }
+
+    // Diziyi sıralar; tekrar eden ve depoda olmayan (silinmiş) id'leri atar.
+    private void idleriDuzenle() {
+        int[] idler = siraliIdler;
+        if (idlerSirasiz) Arrays.sort(idler, 0, idSayisi);
+        int n = 0;
+        for (int i = 0; i < idSayisi; i++) {
+            int id = idler[i];
+            if ((n == 0 || idler[n - 1] != id) && store.containsKey(id)) idler[n++] = id;
+        }
+        idSayisi = n;
+        bayatIdSayisi = 0;
+        idlerSirasiz = false;
     }
 
+    @Override
     public int size() {
         return store.size();
     }
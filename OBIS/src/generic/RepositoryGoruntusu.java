@@ -0,0 +1,88 @@
+package generic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Repository.snapshot() sonucu: alındığı andaki kayıtların değişmez görünümü. Kalıcı haritaların
+// (KaliciIntMap) o anki sürümlerini tutar; repository'ye sonradan yazılanlar görünmez, kilit gerekmez.
+// Şeritli repository'ler için her şeridin sürümü ayrı tutulur; id'nin şeridi parca ile bulunur.
+// Entity nesneleri kopyalanmaz: görüntü kayıtlı nesneleri sabitler. Kayıtlı nesneyi yerinde değiştirmek
+// yerine kopyasını kaydeden yazarlar (ör. OgrenciService not yazımı) görüntüye yansımaz.
+public final class RepositoryGoruntusu<T> {
+    private final KaliciIntMap<T>[] haritalar;
+    private final IntUnaryOperator parca;
+
+    RepositoryGoruntusu(KaliciIntMap<T> harita) {
+        this(tekHarita(harita), id -> 0);
+    }
+
+    RepositoryGoruntusu(KaliciIntMap<T>[] haritalar, IntUnaryOperator parca) {
+        this.haritalar = haritalar;
+        this.parca = parca;
+    }
+
+    private static <T> KaliciIntMap<T>[] tekHarita(KaliciIntMap<T> harita) {
+        KaliciIntMap<T>[] haritalar = KaliciIntMap.dizi(1);
+        haritalar[0] = harita;
+        return haritalar;
+    }
+
+    public T findById(int id) {
+        return haritalar[parca.applyAsInt(id)].get(id);
+    }
+
+    public boolean existsById(int id) {
+        return haritalar[parca.applyAsInt(id)].containsKey(id);
+    }
+
+    public List<T> findAll() {
+        List<T> sonuc = new ArrayList<>(size());
+        forEach(sonuc::add);
+        return sonuc;
+    }
+
+    public void forEach(Consumer<? super T> action) {
+        for (KaliciIntMap<T> harita : haritalar) harita.forEach((id, entity) -> action.accept(entity));
+    }
+
+    public Stream<T> stream() {
+        if (haritalar.length == 1) return tekStream(haritalar[0]);
+        return Arrays.stream(haritalar).flatMap(RepositoryGoruntusu::tekStream);
+    }
+
+    // Repository.findPage ile aynı anlam: id'si afterId'den büyük ilk limit entity, id sırasıyla.
+    public List<T> findPage(int afterId, int limit) {
+        if (haritalar.length == 1) {
+            List<T> sayfa = new ArrayList<>(Math.max(0, Math.min(limit, 1024)));
+            haritalar[0].gez(afterId, limit, (id, entity) -> sayfa.add(entity));
+            return sayfa;
+        }
+        TreeMap<Integer, T> adaylar = new TreeMap<>();
+        for (KaliciIntMap<T> harita : haritalar) {
+            harita.gez(afterId, limit, (id, entity) -> {
+                adaylar.put(id, entity);
+                if (adaylar.size() > limit) adaylar.pollLastEntry();
+            });
+        }
+        return new ArrayList<>(adaylar.values());
+    }
+
+    public int size() {
+        int toplam = 0;
+        for (KaliciIntMap<T> harita : haritalar) toplam += harita.size();
+        return toplam;
+    }
+
+    private static <T> Stream<T> tekStream(KaliciIntMap<T> harita) {
+        return StreamSupport.stream(Spliterators.spliterator(harita.degerIteratoru(), harita.size(),
+                Spliterator.SIZED | Spliterator.IMMUTABLE | Spliterator.ORDERED), false);
+    }
+}
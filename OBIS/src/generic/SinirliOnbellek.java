@@ -0,0 +1,187 @@
+package generic;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+// int anahtarlı, boyutu sınırlı önbellek; isabet/ıska/tahliye sayaçları tutar. Thread-safe (synchronized).
+// Politikalar:
+// - LRU: dolunca en uzun süredir kullanılmayan kayıt atılır.
+// - TINY_LFU (W-TinyLFU benzeri): yeni kayıt önce küçük bir LRU penceresine (kapasitenin ~%1'i) girer.
+//   Pencereden taşan aday ana bölgeye ancak erişim sıklığı ana bölgenin LRU kurbanınınkinden yüksekse alınır;
+//   değilse aday atılır. Sıklıklar count-min taslağında tutulur ve periyodik olarak yarılanır (eski
+//   popülerlik söner). Böylece tek seferlik geçişler (ör. tüm listeyi bir kez gezmek) sıcak kümeyi silmez.
+// null değer saklanmaz.
+public class SinirliOnbellek<V> {
+    public enum Politika {
+        LRU, TINY_LFU
+    }
+
+    private final Politika politika;
+    private final int pencereKapasitesi;
+    private final int anaKapasitesi;
+    // Erişim sırasıyla (en eski başta).
+    private final LinkedHashMap<Integer, V> pencere = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Integer, V> ana = new LinkedHashMap<>(16, 0.75f, true);
+    private final SiklikTaslagi taslak;
+
+    private long isabet;
+    private long iska;
+    private long tahliye;
+
+    public SinirliOnbellek(int kapasite, Politika politika) {
+        if (kapasite < 1) throw new IllegalArgumentException("Kapasite en az 1 olmalı: " + kapasite);
+        this.politika = politika;
+        if (politika == Politika.TINY_LFU) {
+            pencereKapasitesi = Math.max(1, kapasite / 100);
+            anaKapasitesi = kapasite - pencereKapasitesi;
+            taslak = new SiklikTaslagi(kapasite);
+        } else {
+            pencereKapasitesi = 0;
+            anaKapasitesi = kapasite;
+            taslak = null;
+        }
+    }
+
+    // Erişim sayılır (isabet/ıska); yoksa null.
+    public synchronized V get(int anahtar) {
+        return get(anahtar, null);
+    }
+
+    // gecerli verilirse ve kayıt geçersizse (ör. kaynağı değişmiş) kayıt atılır ve ıska sayılır.
+    public synchronized V get(int anahtar, Predicate<? super V> gecerli) {
+        if (taslak != null) taslak.artir(anahtar);
+        V deger = ana.get(anahtar);
+        if (deger == null) deger = pencere.get(anahtar);
+        if (deger != null && gecerli != null && !gecerli.test(deger)) {
+            remove(anahtar);
+            deger = null;
+        }
+        if (deger == null) iska++;
+        else isabet++;
+        return deger;
+    }
+
+    public synchronized void put(int anahtar, V deger) {
+        if (deger == null) throw new IllegalArgumentException("null değer saklanmaz");
+        if (ana.containsKey(anahtar)) {
+            ana.put(anahtar, deger);
+            return;
+        }
+        if (politika == Politika.LRU) {
+            ana.put(anahtar, deger);
+            if (ana.size() > anaKapasitesi) enEskiyiAt(ana);
+            return;
+        }
+        pencere.put(anahtar, deger);
+        if (pencere.size() <= pencereKapasitesi) return;
+
+        // Pencereden taşan aday ana bölgeye girmeye çalışır.
+        Map.Entry<Integer, V> aday = enEskiyiCikar(pencere);
+        if (ana.size() < anaKapasitesi) {
+            ana.put(aday.getKey(), aday.getValue());
+            return;
+        }
+        if (anaKapasitesi > 0) {
+            int kurban = ana.keySet().iterator().next();
+            if (taslak.tahmin(aday.getKey()) > taslak.tahmin(kurban)) {
+                ana.remove(kurban);
+                ana.put(aday.getKey(), aday.getValue());
+            }
+        }
+        tahliye++;
+    }
+
+    public synchronized void remove(int anahtar) {
+        if (ana.remove(anahtar) == null) pencere.remove(anahtar);
+    }
+
+    // Kayıtları bırakır; sayaçlar ve sıklık geçmişi korunur.
+    public synchronized void clear() {
+        ana.clear();
+        pencere.clear();
+    }
+
+    public synchronized int size() {
+        return ana.size() + pencere.size();
+    }
+
+    public synchronized long isabetSayisi() {
+        return isabet;
+    }
+
+    public synchronized long iskaSayisi() {
+        return iska;
+    }
+
+    public synchronized long tahliyeSayisi() {
+        return tahliye;
+    }
+
+    @Override
+    public synchronized String toString() {
+        long toplam = isabet + iska;
+        double oran = (toplam == 0) ? 0 : 100.0 * isabet / toplam;
+        return String.format("%s kapasite=%d boyut=%d isabet=%d ıska=%d (isabet oranı %%%.1f) tahliye=%d",
+                politika, pencereKapasitesi + anaKapasitesi, size(), isabet, iska, oran, tahliye);
+    }
+
+    private void enEskiyiAt(LinkedHashMap<Integer, V> bolge) {
+        enEskiyiCikar(bolge);
+        tahliye++;
+    }
+
+    private static <V> Map.Entry<Integer, V> enEskiyiCikar(LinkedHashMap<Integer, V> bolge) {
+        Iterator<Map.Entry<Integer, V>> it = bolge.entrySet().iterator();
+        Map.Entry<Integer, V> ilk = it.next();
+        Map.Entry<Integer, V> eski = Map.entry(ilk.getKey(), ilk.getValue());
+        it.remove();
+        return eski;
+    }
+
+    // Count-min taslağı: 4 satır, sayaçlar 15'te doyar. Kapasitenin 10 katı erişimde tüm sayaçlar yarılanır.
+    private static final class SiklikTaslagi {
+        private static final int SATIR = 4;
+        private static final int DOYMA = 15;
+        private static final int[] TOHUMLAR = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        private final byte[][] sayaclar;
+        private final int maske;
+        private final int ornekEsigi;
+        private int ornek;
+
+        SiklikTaslagi(int kapasite) {
+            int genislik = Integer.highestOneBit(Math.max(16, kapasite * 2 - 1) << 1);
+            sayaclar = new byte[SATIR][genislik];
+            maske = genislik - 1;
+            ornekEsigi = (int) Math.min(Integer.MAX_VALUE, 10L * kapasite);
+        }
+
+        void artir(int anahtar) {
+            for (int s = 0; s < SATIR; s++) {
+                int i = sira(anahtar, s);
+                if (sayaclar[s][i] < DOYMA) sayaclar[s][i]++;
+            }
+            if (++ornek >= ornekEsigi) yarila();
+        }
+
+        int tahmin(int anahtar) {
+            int enAz = DOYMA;
+            for (int s = 0; s < SATIR; s++) enAz = Math.min(enAz, sayaclar[s][sira(anahtar, s)]);
+            return enAz;
+        }
+
+        private void yarila() {
+            for (byte[] satir : sayaclar) {
+                for (int i = 0; i < satir.length; i++) satir[i] >>= 1;
+            }
+            ornek /= 2;
+        }
+
+        private int sira(int anahtar, int s) {
+            int h = anahtar * TOHUMLAR[s];
+            return (h ^ (h >>> 15)) & maske;
+        }
+    }
+}
@@ -3,15 +3,40 @@ package model;
 import interfaces.Goruntulenebilir;
 
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 // Tüm öğrenci tiplerinin ortak sınıfı.
-public class Ogrenci extends Kisi implements Goruntulenebilir {
+public class Ogrenci extends Kisi implements Goruntulenebilir, Cloneable {
+    // notlariGez ziyaretçisi (kutulamadan).
+    public interface NotZiyaretcisi {
+        void ziyaret(int dersId, int not);
+    }
+
+    private static final long[] BOS_VARLIK = new long[0];
+    private static final short[] BOS_NOTLAR = new short[0];
+
     private final LocalDate dogumTarihi;
 
-    // DersKodu -> Not (0-100)
-    private final Map<String, Integer> notlar = new HashMap<>();
+    // Notlar: ders id (DersKatalogu) -> not, bitmap ile sıkıştırılmış dizi (KaliciIntMap düğümleri gibi).
+    // varlik[k]'nin b biti (ilkKelime + k) * 64 + b id'li dersin notu olduğunu gösterir; notlar[0, adet)
+    // ders id sırasıyla tutulur, bir notun yeri kendinden önceki bitlerin sayısıdır. Bitmap sadece öğrencinin
+    // en küçük ve en büyük ders id'si arasını kapsar. Gezinti ve ortalama nesne üretmez.
+    private long[] varlik = BOS_VARLIK;
+    private int ilkKelime;
+    private short[] notlar = BOS_NOTLAR;
+    private int adet;
+    // notEkle'de artımlı tutulur: ortalama için notları gezmek gerekmez.
+    private long toplam;
+    private int aralikDisi; // 0-100 dışındaki not sayısı
+    private NotlarGorunumu gorunum;
 
     public Ogrenci(int id, String ad, String soyad, String email, LocalDate dogumTarihi) {
         super(id, ad, soyad, email);
@@ -22,22 +47,197 @@ public class Ogrenci extends Kisi implements Goruntulenebilir {
         return dogumTarihi;
     }
 
+    // Ders kodu -> not, salt okunur canlı görünüm (notlar değiştikçe görünüm de değişir).
+    // Notlar notEkle/notGuncelle ile değiştirilir.
     public Map<String, Integer> getNotlar() {
-        return notlar;
+        if (gorunum == null) gorunum = new NotlarGorunumu();
+        return gorunum;
+    }
+
+    // Not girilmemişse null.
+    public Integer notAl(int dersId) {
+        int k = kelimeSirasi(dersId);
+        if (k < 0) return null;
+        long bit = 1L << dersId;
+        if ((varlik[k] & bit) == 0) return null;
+        return (int) notlar[sira(k, bit)];
+    }
+
+    public int notSayisi() {
+        return adet;
+    }
+
+    public long notToplami() {
+        return toplam;
+    }
+
+    // 0-100 aralığı dışındaki not sayısı (ör. dosyadan bozuk gelmiş).
+    public int aralikDisiNotSayisi() {
+        return aralikDisi;
+    }
+
+    // Notu olan derslerin id'leri, id sırasıyla.
+    public List<Integer> dersIdleri() {
+        List<Integer> sonuc = new ArrayList<>(adet);
+        notlariGez((dersId, not) -> sonuc.add(dersId));
+        return sonuc;
+    }
+
+    // Notları ders id sırasıyla gezer.
+    public void notlariGez(NotZiyaretcisi ziyaretci) {
+        int i = 0;
+        for (int k = 0; k < varlik.length; k++) {
+            long kelime = varlik[k];
+            int taban = (ilkKelime + k) << 6;
+            while (kelime != 0) {
+                int b = Long.numberOfTrailingZeros(kelime);
+                kelime &= kelime - 1;
+                ziyaretci.ziyaret(taban | b, notlar[i++]);
+            }
+        }
+    }
+
+    // Not dizileri ayrı olan bağımsız kopya (alt sınıf alanları dahil). Repository'de kayıtlı öğrencinin notu
+    // kopya üzerinde değiştirilip kopya kaydedilir (OgrenciService.notEkle): kayıtlı nesne hiç değişmez.
+    public Ogrenci kopya() {
+        try {
+            Ogrenci k = (Ogrenci) super.clone();
+            k.varlik = varlik.clone();
+            k.notlar = notlar.clone();
+            k.gorunum = null;
+            return k;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public void notEkle(int dersId, int not) {
+        if (dersId < 0) throw new IllegalArgumentException("Geçersiz ders id: " + dersId);
+        if (not < Short.MIN_VALUE || not > Short.MAX_VALUE) throw new IllegalArgumentException("Geçersiz not: " + not);
+        int k = kelimeAyir(dersId >>> 6);
+        long bit = 1L << dersId;
+        int i = sira(k, bit);
+        if ((varlik[k] & bit) != 0) {
+            int eski = notlar[i];
+            toplam += not - eski;
+            aralikDisi += (aralikDisinda(not) ? 1 : 0) - (aralikDisinda(eski) ? 1 : 0);
+            notlar[i] = (short) not;
+            return;
+        }
+        if (adet == notlar.length) notlar = Arrays.copyOf(notlar, adet + Math.max(2, adet >> 1));
+        System.arraycopy(notlar, i, notlar, i + 1, adet - i);
+        notlar[i] = (short) not;
+        adet++;
+        varlik[k] |= bit;
+        toplam += not;
+        if (aralikDisinda(not)) aralikDisi++;
     }
 
     // Overload örneği: not ekleme (ders kodu)
     public void notEkle(String dersKodu, int not) {
-        notlar.put(dersKodu, not);
+        notEkle(DersKatalogu.id(dersKodu), not);
     }
 
     // Overload örneği: not ekleme (Ders nesnesi)
     public void notEkle(Ders ders, int not) {
-        notEkle(ders.getKod(), not);
+        notEkle(ders.getKodId(), not);
+    }
+
+    public void notGuncelle(int dersId, int yeniNot) {
+        notEkle(dersId, yeniNot);
     }
 
     public void notGuncelle(String dersKodu, int yeniNot) {
-        notlar.put(dersKodu, yeniNot);
+        notGuncelle(DersKatalogu.id(dersKodu), yeniNot);
+    }
+
+    private static boolean aralikDisinda(int not) {
+        return not < 0 || not > 100;
+    }
+
+    // Ders id'sinin bitmap'teki kelime sırası; kapsam dışındaysa -1.
+    private int kelimeSirasi(int dersId) {
+        if (dersId < 0) return -1;
+        int k = (dersId >>> 6) - ilkKelime;
+        return (k >= 0 && k < varlik.length) ? k : -1;
+    }
+
+    // Bitmap'i mutlak kelimeyi kapsayacak şekilde genişletir, kelimenin sırasını döndürür.
+    private int kelimeAyir(int kelime) {
+        if (varlik.length == 0) {
+            varlik = new long[1];
+            ilkKelime = kelime;
+            return 0;
+        }
+        if (kelime < ilkKelime) {
+            long[] yeni = new long[ilkKelime + varlik.length - kelime];
+            System.arraycopy(varlik, 0, yeni, ilkKelime - kelime, varlik.length);
+            varlik = yeni;
+            ilkKelime = kelime;
+        } else if (kelime - ilkKelime >= varlik.length) {
+            varlik = Arrays.copyOf(varlik, kelime - ilkKelime + 1);
+        }
+        return kelime - ilkKelime;
+    }
+
+    // bit'in notlar içindeki yeri: kendinden önceki bitlerin sayısı.
+    private int sira(int k, long bit) {
+        int i = Long.bitCount(varlik[k] & (bit - 1));
+        for (int j = 0; j < k; j++) i += Long.bitCount(varlik[j]);
+        return i;
+    }
+
+    private final class NotlarGorunumu extends AbstractMap<String, Integer> {
+        @Override
+        public Integer get(Object anahtar) {
+            if (!(anahtar instanceof String)) return null;
+            int dersId = DersKatalogu.bul((String) anahtar);
+            return (dersId == DersKatalogu.YOK) ? null : notAl(dersId);
+        }
+
+        @Override
+        public boolean containsKey(Object anahtar) {
+            return get(anahtar) != null;
+        }
+
+        @Override
+        public int size() {
+            return adet;
+        }
+
+        @Override
+        public Set<Map.Entry<String, Integer>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return adet;
+                }
+
+                @Override
+                public Iterator<Map.Entry<String, Integer>> iterator() {
+                    return new Iterator<>() {
+                        private int k = -1;
+                        private long kelime;
+                        private int i;
+
+                        @Override
+                        public boolean hasNext() {
+                            while (kelime == 0 && k + 1 < varlik.length) kelime = varlik[++k];
+                            return kelime != 0;
+                        }
+
+                        @Override
+                        public Map.Entry<String, Integer> next() {
+                            if (!hasNext()) throw new NoSuchElementException();
+                            int b = Long.numberOfTrailingZeros(kelime);
+                            kelime &= kelime - 1;
+                            int dersId = ((ilkKelime + k) << 6) | b;
+                            return Map.entry(DersKatalogu.kod(dersId), (int) notlar[i++]);
+                        }
+                    };
+                }
+            };
+        }
     }
 
     @Override
@@ -0,0 +1,248 @@
+package service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Bir dersin (ya da varsayılanın) not kuralları: harf eşikleri, 4'lük katsayılar, geçme katsayısı,
+// vize/final ağırlıkları ve devamsızlık limiti. Eşikler oluşturulurken 0-100 aralığı için 0,01 puan
+// çözünürlüklü bir tabloya derlenir: harf/katsayı/geçme sorgusu if merdiveni yerine tek dizi erişimidir.
+// Değişmez, thread-safe. Dosyadan yükleme: NotPolitikalari.
+public final class NotPolitikasi {
+    // Puan birimi: 1 not puanı = COZUNURLUK tablo adımı.
+    public static final int COZUNURLUK = 100;
+    public static final int EN_BUYUK_PUAN = 100 * COZUNURLUK;
+
+    // Varsayılan kurallar (yaygın 100'lük -> harf/4'lük dönüşüm, 4'lük < 2.0 kalır,
+    // vize %40 + final %60, devamsızlık > 3 kalır).
+    static final String VARSAYILAN_HARFLER = "AA:90,BA:85,BB:80,CB:75,CC:70,DC:65,DD:60,FD:50,FF:0";
+    static final String VARSAYILAN_KATSAYILAR = "AA:4.0,BA:3.5,BB:3.0,CB:2.5,CC:2.0,DC:1.5,DD:1.0,FD:0.5,FF:0.0";
+    static final String VARSAYILAN_GECME_KATSAYISI = "2.0";
+    static final String VARSAYILAN_VIZE_AGIRLIGI = "40";
+    static final String VARSAYILAN_FINAL_AGIRLIGI = "60";
+    static final String VARSAYILAN_DEVAMSIZLIK_LIMITI = "3";
+
+    // Dosyada geçerli anahtarlar.
+    static final Set<String> ANAHTARLAR = Set.of(
+            "harfler", "katsayilar", "gecmeKatsayisi", "vizeAgirligi", "finalAgirligi", "devamsizlikLimiti");
+
+    private static final NotPolitikasi VARSAYILAN = new NotPolitikasi(Map.of());
+
+    // Harf sırası (harfler dizisinde) tablosu: sira[puan], puan = 0..EN_BUYUK_PUAN.
+    private final byte[] sira;
+    private final String[] harfler;
+    private final int[] esikler; // 0,01 puan birimi
+    private final double[] katsayilar;
+    private final boolean[] gecer;
+    private final double gecmeKatsayisi;
+    // Yüzde; toplamları 100. Ders puanı = vize * vizeAgirligi + fin * finalAgirligi (0,01 puan birimi).
+    private final int vizeAgirligi;
+    private final int finalAgirligi;
+    private final int devamsizlikLimiti;
+
+    // ayarlar: anahtar -> değer (bkz. NotPolitikalari dosya biçimi). Eksik anahtarlar varsayılandan gelir.
+    NotPolitikasi(Map<String, String> ayarlar) {
+        String[] harfSatiri = ciftler(ayar(ayarlar, "harfler", VARSAYILAN_HARFLER), "harfler");
+        String[] katsayiSatiri = ciftler(ayar(ayarlar, "katsayilar", VARSAYILAN_KATSAYILAR), "katsayilar");
+
+        int n = harfSatiri.length / 2;
+        if (n == 0 || n > Byte.MAX_VALUE) throw new IllegalArgumentException("harfler: 1-127 harf olmalı");
+        harfler = new String[n];
+        esikler = new int[n];
+        for (int i = 0; i < n; i++) {
+            harfler[i] = harfSatiri[2 * i];
+            esikler[i] = puanCoz(harfSatiri[2 * i + 1], "harfler." + harfler[i]);
+            for (int j = 0; j < i; j++) {
+                if (harfler[j].equals(harfler[i])) throw new IllegalArgumentException("harfler: tekrar eden harf " + harfler[i]);
+            }
+            if (i > 0 && esikler[i] >= esikler[i - 1]) {
+                throw new IllegalArgumentException("harfler: eşikler büyükten küçüğe sıralı olmalı (" + harfler[i] + ")");
+            }
+        }
+        if (esikler[n - 1] != 0) throw new IllegalArgumentException("harfler: son harfin eşiği 0 olmalı");
+
+        katsayilar = new double[n];
+        Arrays.fill(katsayilar, Double.NaN);
+        for (int i = 0; i < katsayiSatiri.length; i += 2) {
+            int h = harfSirasi(katsayiSatiri[i]);
+            if (h < 0) throw new IllegalArgumentException("katsayilar: tanımsız harf " + katsayiSatiri[i]);
+            katsayilar[h] = sayiCoz(katsayiSatiri[i + 1], "katsayilar." + katsayiSatiri[i]).doubleValue();
+        }
+        for (int i = 0; i < n; i++) {
+            if (Double.isNaN(katsayilar[i])) throw new IllegalArgumentException("katsayilar: eksik harf " + harfler[i]);
+        }
+
+        gecmeKatsayisi = sayiCoz(ayar(ayarlar, "gecmeKatsayisi", VARSAYILAN_GECME_KATSAYISI), "gecmeKatsayisi").doubleValue();
+        gecer = new boolean[n];
+        for (int i = 0; i < n; i++) gecer[i] = katsayilar[i] >= gecmeKatsayisi;
+
+        vizeAgirligi = tamSayiCoz(ayar(ayarlar, "vizeAgirligi", VARSAYILAN_VIZE_AGIRLIGI), "vizeAgirligi");
+        finalAgirligi = tamSayiCoz(ayar(ayarlar, "finalAgirligi", VARSAYILAN_FINAL_AGIRLIGI), "finalAgirligi");
+        if (vizeAgirligi + finalAgirligi != 100) {
+            throw new IllegalArgumentException("vizeAgirligi + finalAgirligi 100 olmalı: " + vizeAgirligi + " + " + finalAgirligi);
+        }
+        devamsizlikLimiti = tamSayiCoz(ayar(ayarlar, "devamsizlikLimiti", VARSAYILAN_DEVAMSIZLIK_LIMITI), "devamsizlikLimiti");
+
+        // Eşikler büyükten küçüğe: her harf kendi eşiğinden bir üst harfin eşiğine kadar olan aralığı doldurur.
+        sira = new byte[EN_BUYUK_PUAN + 1];
+        int ust = EN_BUYUK_PUAN + 1;
+        for (int i = 0; i < n; i++) {
+            Arrays.fill(sira, esikler[i], ust, (byte) i);
+            ust = esikler[i];
+        }
+    }
+
+    public static NotPolitikasi varsayilan() {
+        return VARSAYILAN;
+    }
+
+    // 100'lük ortalamanın tablo puanı: 0,01 birimine aşağı yuvarlanır, 0-100 dışı kırpılır (NaN -> 0).
+    // Küçük pay, 84.99999999 gibi kayan nokta hatalarının bir alt adıma düşmesini önler.
+    public static int puan(double ortalama) {
+        if (!(ortalama > 0)) return 0;
+        if (ortalama >= 100) return EN_BUYUK_PUAN;
+        return Math.min((int) (ortalama * COZUNURLUK + 1e-7), EN_BUYUK_PUAN);
+    }
+
+    public String harf(double ortalama) {
+        return harfler[sira[puan(ortalama)]];
+    }
+
+    public String harfPuandan(int puan) {
+        return harfler[sira[kirp(puan)]];
+    }
+
+    // 4'lük sistem karşılığı.
+    public double katsayi(double ortalama) {
+        return katsayilar[sira[puan(ortalama)]];
+    }
+
+    public double katsayiPuandan(int puan) {
+        return katsayilar[sira[kirp(puan)]];
+    }
+
+    // Notla geçme: harfin katsayısı gecmeKatsayisi'nden küçük değilse.
+    public boolean gecer(double ortalama) {
+        return gecer[sira[puan(ortalama)]];
+    }
+
+    public boolean gecerPuandan(int puan) {
+        return gecer[sira[kirp(puan)]];
+    }
+
+    // Vize ve finalden ders puanı (0,01 puan birimi, tam sayı aritmetiğiyle; kayan nokta hatası yok).
+    public int dersPuani(int vize, int fin) {
+        return vize * vizeAgirligi + fin * finalAgirligi;
+    }
+
+    // Vize ve finalden tam sayı ders notu (ders puanı en yakın tam nota yuvarlanır, .5 yukarı).
+    public int dersNotu(int vize, int fin) {
+        return Math.floorDiv(dersPuani(vize, fin) + COZUNURLUK / 2, COZUNURLUK);
+    }
+
+    // Vize ve finalden 100'lük ders ortalaması.
+    public double dersOrtalamasi(int vize, int fin) {
+        return (double) dersPuani(vize, fin) / COZUNURLUK;
+    }
+
+    public boolean devamsizliktenKalir(int devamsizlik) {
+        return devamsizlik > devamsizlikLimiti;
+    }
+
+    public int getDevamsizlikLimiti() {
+        return devamsizlikLimiti;
+    }
+
+    public int getVizeAgirligi() {
+        return vizeAgirligi;
+    }
+
+    public int getFinalAgirligi() {
+        return finalAgirligi;
+    }
+
+    public double getGecmeKatsayisi() {
+        return gecmeKatsayisi;
+    }
+
+    // Harfler eşik sırasıyla (en yüksekten).
+    public List<String> harfler() {
+        return List.of(harfler);
+    }
+
+    @Override
+    public String toString() {
+        List<String> parcalar = new ArrayList<>(harfler.length);
+        for (int i = 0; i < harfler.length; i++) {
+            parcalar.add(harfler[i] + ">=" + BigDecimal.valueOf(esikler[i], 2).stripTrailingZeros().toPlainString());
+        }
+        return "NotPolitikasi{" + String.join(",", parcalar)
+                + ", gecme=" + gecmeKatsayisi
+                + ", vize=%" + vizeAgirligi + ", final=%" + finalAgirligi
+                + ", devamsizlik<=" + devamsizlikLimiti + "}";
+    }
+
+    private int harfSirasi(String harf) {
+        for (int i = 0; i < harfler.length; i++) {
+            if (harfler[i].equals(harf)) return i;
+        }
+        return -1;
+    }
+
+    private static int kirp(int puan) {
+        return (puan < 0) ? 0 : Math.min(puan, EN_BUYUK_PUAN);
+    }
+
+    private static String ayar(Map<String, String> ayarlar, String anahtar, String varsayilan) {
+        String d = ayarlar.get(anahtar);
+        return (d == null) ? varsayilan : d;
+    }
+
+    // "AA:90,BA:85" -> {"AA", "90", "BA", "85"}
+    private static String[] ciftler(String deger, String anahtar) {
+        String[] parcalar = deger.split(",");
+        String[] sonuc = new String[parcalar.length * 2];
+        int k = 0;
+        for (String p : parcalar) {
+            if (p.isBlank()) continue;
+            int iki = p.indexOf(':');
+            if (iki < 0) throw new IllegalArgumentException(anahtar + ": HARF:DEĞER bekleniyordu: " + p.trim());
+            String harf = p.substring(0, iki).trim().toUpperCase(Locale.ROOT);
+            if (harf.isEmpty()) throw new IllegalArgumentException(anahtar + ": boş harf");
+            sonuc[k++] = harf;
+            sonuc[k++] = p.substring(iki + 1).trim();
+        }
+        return Arrays.copyOf(sonuc, k);
+    }
+
+    // 0-100 arası, en fazla 2 ondalık; 0,01 birimine çevrilir.
+    private static int puanCoz(String deger, String anahtar) {
+        BigDecimal d = sayiCoz(deger, anahtar);
+        if (d.signum() < 0 || d.compareTo(BigDecimal.valueOf(100)) > 0 || d.stripTrailingZeros().scale() > 2) {
+            throw new IllegalArgumentException(anahtar + ": 0-100 arası, en fazla 2 ondalık olmalı: " + deger);
+        }
+        return d.movePointRight(2).intValueExact();
+    }
+
+    private static BigDecimal sayiCoz(String deger, String anahtar) {
+        try {
+            return new BigDecimal(deger.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(anahtar + ": sayı bekleniyordu: " + deger);
+        }
+    }
+
+    private static int tamSayiCoz(String deger, String anahtar) {
+        try {
+            int d = Integer.parseInt(deger.trim());
+            if (d < 0) throw new IllegalArgumentException(anahtar + ": negatif olamaz: " + deger);
+            return d;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(anahtar + ": tam sayı bekleniyordu: " + deger);
+        }
+    }
+}
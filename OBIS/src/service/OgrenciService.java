@@ -2,71 +2,156 @@ package service;
 
 import exception.GecersizNotException;
 import exception.YetkisizIslemException;
-import generic.Repository;
+import generic.CrudRepository;
 import model.Ders;
+import model.DersKatalogu;
 import model.Ogrenci;
 import util.TarihUtil;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 // Öğrenci işlemlerini yöneten servis sınıfı.
+// Oturumlar arasında paylaşılabilir. Kayıtlı Ogrenci nesneleri değiştirilmez: not yazımı öğrencinin kopyasını
+// değiştirip kaydeder (copy-on-write). Böylece okuyanlar kilit almadan tutarlı nesne görür, snapshot() alındığı
+// andaki notları korur. Aynı öğrenciye yazmalar id'ye göre şeritli kilitle sıralanır (global kilit yok; farklı
+// öğrencilerin notları paralel yazılır). Çok thread'li kullanımda EszamanliRepository verilmeli.
 public class OgrenciService {
-    private final Repository<Ogrenci> ogrenciRepo;
+    // Repository ikincil indeks adları
+    public static final String EMAIL_INDEKSI = "email";
+    // Anahtar: ders id (DersKatalogu)
+    public static final String DERS_INDEKSI = "ders";
+
+    private final CrudRepository<Ogrenci> ogrenciRepo;
     private final NotHesaplamaService notService;
+    // Öğrenci yazma kilitleri (id -> şerit).
+    private final Object[] yazmaKilitleri = new Object[64];
 
     // Örnek: en son kaydetme zamanı
-    private LocalDateTime sonKaydetmeZamani;
+    private volatile LocalDateTime sonKaydetmeZamani;
 
-    public OgrenciService(Repository<Ogrenci> ogrenciRepo, NotHesaplamaService notService) {
+    public OgrenciService(CrudRepository<Ogrenci> ogrenciRepo, NotHesaplamaService notService) {
         this.ogrenciRepo = ogrenciRepo;
         this.notService = notService;
+        ogrenciRepo.addIndex(EMAIL_INDEKSI, o -> emailAnahtari(o.getEmail()));
+        ogrenciRepo.addMultiIndex(DERS_INDEKSI, Ogrenci::dersIdleri);
+        for (int i = 0; i < yazmaKilitleri.length; i++) yazmaKilitleri[i] = new Object();
     }
 
+    // Kaydedilen nesne artık değiştirilmemeli (not eklemek için notEkle kullanılmalı).
     public void ogrenciEkle(Ogrenci ogrenci) {
-        ogrenciRepo.save(ogrenci.getId(), ogrenci);
+        synchronized (yazmaKilidi(ogrenci.getId())) {
+            ogrenciRepo.save(ogrenci.getId(), ogrenci);
+        }
+    }
+
+    // Toplu yükleme (ör. açılışta öğrenci dosyasından): tek saveAll, depo bir kez boyutlandırılır.
+    // Öğrenci başına kilit alınmaz: nesneler henüz başka bir oturumla paylaşılmamış olmalı.
+    public void ogrencileriYukle(Iterator<? extends Ogrenci> ogrenciler) {
+        ogrenciRepo.loadFrom(ogrenciler, Ogrenci::getId);
+    }
+
+    public void ogrencileriYukle(Collection<? extends Ogrenci> ogrenciler) {
+        ogrenciRepo.saveAll(ogrenciler, Ogrenci::getId);
     }
 
+    // findAll zaten yeni bir liste döndürür; tekrar kopyalanmaz.
     public List<Ogrenci> ogrenciListele() {
-        return new ArrayList<>(ogrenciRepo.findAll());
+        return ogrenciRepo.findAll();
+    }
+
+    // Tüm öğrencileri liste oluşturmadan gezer.
+    public void ogrenciGez(Consumer<? super Ogrenci> ziyaretci) {
+        ogrenciRepo.forEach(ziyaretci);
+    }
+
+    public Stream<Ogrenci> ogrenciStream() {
+        return ogrenciRepo.stream();
+    }
+
+    // Id sırasıyla sayfa: id'si oncekiSonId'den büyük ilk adet öğrenci (ilk sayfa için Integer.MIN_VALUE).
+    public List<Ogrenci> ogrenciSayfasi(int oncekiSonId, int adet) {
+        return ogrenciRepo.findPage(oncekiSonId, adet);
     }
 
     public Ogrenci ogrenciBul(int id) {
         return ogrenciRepo.findById(id);
     }
 
+    // E-posta ile (büyük/küçük harf duyarsız). Yoksa null.
+    public Ogrenci ogrenciBulEmail(String email) {
+        String anahtar = emailAnahtari(email);
+        if (anahtar == null) return null;
+        List<Ogrenci> bulunan = ogrenciRepo.findBy(EMAIL_INDEKSI, anahtar);
+        return bulunan.isEmpty() ? null : bulunan.get(0);
+    }
+
+    // Dersten notu olan öğrenciler (ders kodu büyük/küçük harf duyarsız).
+    public List<Ogrenci> dersiAlanOgrenciler(String dersKodu) {
+        int dersId = DersKatalogu.bul(dersKodu);
+        return (dersId == DersKatalogu.YOK) ? new ArrayList<>() : dersiAlanOgrenciler(dersId);
+    }
+
+    public List<Ogrenci> dersiAlanOgrenciler(int dersId) {
+        return ogrenciRepo.findBy(DERS_INDEKSI, dersId);
+    }
+
     // Sadece Ogretmen rolü not girsin (custom exception kullanımı).
+    // Katalogda olmayan ders kodu reddedilir (kullanıcı girdisi kataloğu büyütmez).
     public void notEkle(String rol, int ogrenciId, String dersKodu, int not) throws YetkisizIslemException, GecersizNotException {
+        notEkle(rol, ogrenciId, DersKatalogu.bul(dersKodu), not);
+    }
+
+    public void notEkle(String rol, int ogrenciId, Ders ders, int not) throws YetkisizIslemException, GecersizNotException {
+        notEkle(rol, ogrenciId, ders.getKodId(), not);
+    }
+
+    // dersId: DersKatalogu id'si.
+    public void notEkle(String rol, int ogrenciId, int dersId, int not) throws YetkisizIslemException, GecersizNotException {
         if (!"Ogretmen".equalsIgnoreCase(rol)) {
             throw new YetkisizIslemException("Bu işlem için 'Ogretmen' rolü gerekli.");
         }
         if (!notService.notGecerliMi(not)) {
             throw new GecersizNotException("Not 0-100 aralığında olmalı: " + not);
         }
-
-        Ogrenci ogrenci = ogrenciRepo.findById(ogrenciId);
-        if (ogrenci == null) {
-            throw new IllegalArgumentException("Öğrenci bulunamadı. id=" + ogrenciId);
+        if (dersId == DersKatalogu.YOK) {
+            throw new IllegalArgumentException("Ders bulunamadı.");
         }
 
-        ogrenci.notEkle(dersKodu, not);
-    }
-
-    public void notEkle(String rol, int ogrenciId, Ders ders, int not) throws YetkisizIslemException, GecersizNotException {
-        notEkle(rol, ogrenciId, ders.getKod(), not);
+        synchronized (yazmaKilidi(ogrenciId)) {
+            Ogrenci ogrenci = ogrenciRepo.findById(ogrenciId);
+            if (ogrenci == null) {
+                throw new IllegalArgumentException("Öğrenci bulunamadı. id=" + ogrenciId);
+            }
+            Ogrenci yeni = ogrenci.kopya();
+            yeni.notEkle(dersId, not);
+            // Kopya kaydedilir: ders indeksi save anındaki dersleri tutar, dosya tabanlı repository ise
+            // not ancak save ile kalıcı olur.
+            ogrenciRepo.save(ogrenciId, yeni);
+        }
     }
 
     public void notGuncelle(String rol, int ogrenciId, String dersKodu, int yeniNot) throws YetkisizIslemException, GecersizNotException {
         notEkle(rol, ogrenciId, dersKodu, yeniNot);
     }
 
+    // O(1): öğrencinin artımlı tuttuğu not toplamı ve sayısı kullanılır, notlar tek tek gezilmez.
     public double ortalamaHesapla(int ogrenciId) throws GecersizNotException {
         Ogrenci ogrenci = ogrenciRepo.findById(ogrenciId);
         if (ogrenci == null) {
             throw new IllegalArgumentException("Öğrenci bulunamadı. id=" + ogrenciId);
         }
-        return notService.ortalamaHesapla(ogrenci.getNotlar().values());
+        if (ogrenci.aralikDisiNotSayisi() > 0) {
+            throw new GecersizNotException("Geçersiz not görüldü: " + ilkAralikDisiNot(ogrenci));
+        }
+        return notService.ortalamaHesapla(ogrenci.notToplami(), ogrenci.notSayisi());
     }
 
     public String harfNotu(int ogrenciId) throws GecersizNotException {
@@ -74,6 +159,43 @@ public class OgrenciService {
         return notService.harfNotuHesapla(ort);
     }
 
+    // Sadece hata mesajı için (nadir).
+    private static int ilkAralikDisiNot(Ogrenci ogrenci) {
+        int[] ilk = {Integer.MIN_VALUE};
+        ogrenci.notlariGez((dersId, not) -> {
+            if (ilk[0] == Integer.MIN_VALUE && (not < 0 || not > 100)) ilk[0] = not;
+        });
+        return ilk[0];
+    }
+
+    // Dönem sonu: verilen öğrencilerin ortalama ve harf notları tek seferde (NotHesaplamaService.topluHesapla).
+    // Notlar kutulanmadan tek bir short[]'a toplanır; ortalamalar[i]/harfler[i] ogrenciler.get(i) içindir.
+    // Notu olmayan öğrenci NaN ve "-" alır.
+    public void topluOrtalamaHesapla(List<? extends Ogrenci> ogrenciler, double[] ortalamalar, String[] harfler)
+            throws GecersizNotException {
+        int n = ogrenciler.size();
+        int[] baslangic = new int[n + 1];
+        short[] notlar = new short[Math.max(16, n * 4)];
+        int[] adet = {0};
+        for (int i = 0; i < n; i++) {
+            Ogrenci ogrenci = ogrenciler.get(i);
+            int gerekli = adet[0] + ogrenci.notSayisi();
+            if (gerekli > notlar.length) notlar = Arrays.copyOf(notlar, Math.max(gerekli, notlar.length * 2));
+            short[] hedef = notlar;
+            ogrenci.notlariGez((dersId, not) -> hedef[adet[0]++] = (short) not);
+            baslangic[i + 1] = adet[0];
+        }
+        notService.topluHesapla(baslangic, notlar, ortalamalar, harfler);
+    }
+
+    private Object yazmaKilidi(int ogrenciId) {
+        return yazmaKilitleri[(ogrenciId * 0x9E3779B9 >>> 26)];
+    }
+
+    private static String emailAnahtari(String email) {
+        return (email == null) ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
     public void sonKaydetmeZamaniGuncelle(LocalDateTime time) {
         this.sonKaydetmeZamani = time;
     }
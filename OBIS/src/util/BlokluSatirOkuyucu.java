@@ -0,0 +1,208 @@
+package util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+// ';' ayrılmış veri dosyaları (öğrenci/öğretmen/idare) için ortak okuyucu.
+// Dosya sabit boyutlu bir bayt bloğuna parça parça okunur; blok sonunda yarım kalan satır bloğun başına taşınıp
+// okumaya devam edilir (bellek dosya boyundan bağımsız, en uzun satır kadar büyüyebilir). Satır ve alan sınırları
+// bayt offseti olarak bulunur ve sadece çağıranın istediği alanlar UTF-8 olarak decode edilir (split/substring
+// çöpü oluşmaz). FileChannel.map kullanılmaz: eşleme GC'ye kadar yaşar ve Windows'ta eşlenmiş dosya
+// taşınamaz/silinemez (checkpoint, sıkıştırma, parçalama aynı dosyayı taşır veya siler).
+// Boş satırlar ve '#' ile başlayan yorum satırları atlanır. Satırlar ve alanlar String.trim() gibi kırpılır.
+public final class BlokluSatirOkuyucu {
+
+    // Her veri satırı için çağrılır. Satir nesnesi tekrar kullanılır; ziyaret dışında saklanmamalı.
+    public interface SatirZiyaretcisi {
+        void ziyaret(Satir satir) throws IOException;
+    }
+
+    private static final int BLOK_BOYU = 64 * 1024;
+
+    private BlokluSatirOkuyucu() {
+    }
+
+    // alanLimiti: String.split(";", alanLimiti) ile aynı anlamda; son alan satırın kalanını alır.
+    // 0 veya negatif => sınırsız.
+    public static void gez(String dosyaYolu, int alanLimiti, SatirZiyaretcisi ziyaretci) throws IOException {
+        gez(dosyaYolu, alanLimiti, Collections.emptyMap(), ziyaretci);
+    }
+
+    // ustSatirlar: id (ilk alan) -> satır. Dosyadaki satırın id'si haritada varsa dosyadaki yerine bu satır
+    // ziyaret edilir (ör. öğrenci dosyası için delta segmentlerindeki daha yeni satırlar).
+    public static void gez(String dosyaYolu, int alanLimiti, Map<Integer, String> ustSatirlar,
+                           SatirZiyaretcisi ziyaretci) throws IOException {
+        int limit = alanLimiti <= 0 ? Integer.MAX_VALUE : alanLimiti;
+        Satir satir = new Satir(limit);
+        byte[] blok = new byte[BLOK_BOYU];
+        int dolu = 0;
+        try (InputStream in = Files.newInputStream(Paths.get(dosyaYolu))) {
+            boolean bitti = false;
+            while (!bitti) {
+                int n = in.read(blok, dolu, blok.length - dolu);
+                if (n < 0) bitti = true;
+                else dolu += n;
+
+                // Tamamlanmış satırlar; dosya bittiyse sondaki '\n'siz satır da.
+                int bas = 0;
+                while (true) {
+                    int nl = bas;
+                    while (nl < dolu && blok[nl] != '\n') nl++;
+                    if (nl == dolu && !bitti) break;
+                    satirIsle(blok, bas, nl, satir, limit, ustSatirlar, ziyaretci);
+                    bas = nl + 1;
+                    if (bas >= dolu) break;
+                }
+                if (bitti) break;
+
+                // Yarım satır bloğun başına; blok tek satırla doluysa büyütülür.
+                int kalan = Math.max(dolu - bas, 0);
+                if (bas > 0) System.arraycopy(blok, bas, blok, 0, kalan);
+                else if (kalan == blok.length) blok = Arrays.copyOf(blok, blok.length * 2);
+                dolu = kalan;
+            }
+        }
+    }
+
+    private static void satirIsle(byte[] blok, int bas, int son, Satir satir, int limit,
+                                  Map<Integer, String> ustSatirlar, SatirZiyaretcisi ziyaretci) throws IOException {
+        int s = bas;
+        int e = son;
+        while (s < e && bosluk(blok[s])) s++;
+        while (e > s && bosluk(blok[e - 1])) e--;
+        if (s == e || blok[s] == '#') return;
+        satir.hazirla(blok, s, e);
+        String ust = ustSatirlar.isEmpty() ? null : ustSatirlar.get(idOku(satir));
+        if (ust == null) {
+            ziyaretci.ziyaret(satir);
+        } else {
+            byte[] b = ust.trim().getBytes(StandardCharsets.UTF_8);
+            Satir ustSatir = new Satir(limit);
+            ustSatir.hazirla(b, 0, b.length);
+            ziyaretci.ziyaret(ustSatir);
+        }
+    }
+
+    private static Integer idOku(Satir satir) {
+        try {
+            return satir.alanInt(0);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean bosluk(byte b) {
+        return (b & 0xFF) <= ' ';
+    }
+
+    // Okuma bloğu (veya üst satırın baytları) üzerinde tek bir satırın görünümü.
+    public static final class Satir {
+        private final int alanLimiti;
+        private byte[] buf;
+        private int satirBas;
+        private int satirSon;
+        private int alanSayisi;
+        private int[] alanBas = new int[8];
+        private int[] alanSon = new int[8];
+
+        private Satir(int alanLimiti) {
+            this.alanLimiti = alanLimiti;
+        }
+
+        private void hazirla(byte[] b, int s, int e) {
+            buf = b;
+            satirBas = s;
+            satirSon = e;
+            alanSayisi = 0;
+            int alanBaslangici = s;
+            for (int i = s; i < e && alanSayisi < alanLimiti - 1; i++) {
+                if (b[i] == ';') {
+                    alanEkle(alanBaslangici, i);
+                    alanBaslangici = i + 1;
+                }
+            }
+            alanEkle(alanBaslangici, e);
+        }
+
+        private void alanEkle(int s, int e) {
+            if (alanSayisi == alanBas.length) {
+                alanBas = Arrays.copyOf(alanBas, alanSayisi * 2);
+                alanSon = Arrays.copyOf(alanSon, alanSayisi * 2);
+            }
+            alanBas[alanSayisi] = s;
+            alanSon[alanSayisi] = e;
+            alanSayisi++;
+        }
+
+        public int alanSayisi() {
+            return alanSayisi;
+        }
+
+        // Kırpılmış satırın tamamı.
+        public String satir() {
+            return decode(satirBas, satirSon);
+        }
+
+        // i. alan, kırpılmış.
+        public String alan(int i) {
+            int s = alanBas[i];
+            int e = alanSon[i];
+            while (s < e && bosluk(buf[s])) s++;
+            while (e > s && bosluk(buf[e - 1])) e--;
+            return decode(s, e);
+        }
+
+        // i. alan, kırpılmadan (ör. şifre alanı olduğu gibi okunur).
+        public String alanHam(int i) {
+            return decode(alanBas[i], alanSon[i]);
+        }
+
+        public boolean alanBosMu(int i) {
+            for (int k = alanBas[i]; k < alanSon[i]; k++) {
+                if (!bosluk(buf[k])) return false;
+            }
+            return true;
+        }
+
+        // i. alanı String üretmeden int olarak okur (Integer.parseInt(alan(i)) ile aynı sonuç/hata).
+        public int alanInt(int i) {
+            int s = alanBas[i];
+            int e = alanSon[i];
+            while (s < e && bosluk(buf[s])) s++;
+            while (e > s && bosluk(buf[e - 1])) e--;
+            if (s == e) throw new NumberFormatException("For input string: \"\"");
+            boolean negatif = false;
+            int k = s;
+            byte ilk = buf[k];
+            if (ilk == '-' || ilk == '+') {
+                negatif = ilk == '-';
+                k++;
+                if (k == e) throw new NumberFormatException("For input string: \"" + decode(s, e) + "\"");
+            }
+            long deger = 0;
+            for (; k < e; k++) {
+                byte b = buf[k];
+                if (b < '0' || b > '9') throw new NumberFormatException("For input string: \"" + decode(s, e) + "\"");
+                deger = deger * 10 + (b - '0');
+                if (deger > (long) Integer.MAX_VALUE + 1) {
+                    throw new NumberFormatException("For input string: \"" + decode(s, e) + "\"");
+                }
+            }
+            if (negatif) deger = -deger;
+            if (deger > Integer.MAX_VALUE || deger < Integer.MIN_VALUE) {
+                throw new NumberFormatException("For input string: \"" + decode(s, e) + "\"");
+            }
+            return (int) deger;
+        }
+
+        private String decode(int s, int e) {
+            return (e <= s) ? "" : new String(buf, s, e - s, StandardCharsets.UTF_8);
+        }
+    }
+}
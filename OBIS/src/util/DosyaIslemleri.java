@@ -1,5 +1,7 @@
 package util;
 
+import generic.IntHashMap;
+import model.DersKatalogu;
 import model.Rol;
 import model.SistemKullanicisi;
 
@@ -9,7 +11,9 @@ import java.io.IOException;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,24 +32,32 @@ public class DosyaIslemleri {
         return EMAIL_PATTERN.matcher(e).matches();
     }
 
+    // Dosya id'ye göre parçalıysa (OgrenciParcalari) parça yolları, değilse null.
+    private static List<String> parcalar(String dosyaYolu) throws IOException {
+        return OgrenciParcalari.parcaSayisi(dosyaYolu) > 0 ? OgrenciParcalari.parcaYollari(dosyaYolu) : null;
+    }
+
     // ogrenciler_yeni.txt içindeki maxId + 1 (boşsa 1 döner)
     public static int ogrenciNextIdV2(String dosyaYolu) throws IOException {
-        int max = 0;
-        try (BufferedReader br = new BufferedReader(new FileReader(dosyaYolu))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                String t = line.trim();
-                if (t.isEmpty() || t.startsWith("#")) continue;
-                String[] p = t.split(";", 2);
-                if (p.length < 1) continue;
-                try {
-                    int id = Integer.parseInt(p[0].trim());
-                    if (id > max) max = id;
-                } catch (NumberFormatException ignored) {
-                }
-            }
+        List<String> parcalar = parcalar(dosyaYolu);
+        if (parcalar != null) {
+            int sonraki = 1;
+            for (int id : OgrenciParcalari.paralel(parcalar, DosyaIslemleri::ogrenciNextIdV2)) sonraki = Math.max(sonraki, id);
+            return sonraki;
         }
-        return max + 1;
+        return VeriOnbellegi.al(dosyaYolu, "ogrenciNextId", () -> ogrenciNextIdV2Diskten(dosyaYolu));
+    }
+
+    private static int ogrenciNextIdV2Diskten(String dosyaYolu) throws IOException {
+        int[] max = {0};
+        BlokluSatirOkuyucu.gez(dosyaYolu, 2, DeltaSegmentleri.al(dosyaYolu).birlesik(), satir -> {
+            try {
+                int id = satir.alanInt(0);
+                if (id > max[0]) max[0] = id;
+            } catch (NumberFormatException ignored) {
+            }
+        });
+        return max[0] + 1;
     }
 
     // ogrenciler_yeni.txt satırı ekle (append). Dersler boşsa "" yazılır.
@@ -61,31 +73,134 @@ public class DosyaIslemleri {
         String safeAldigi = (aldigiDersler == null) ? "" : aldigiDersler;
         String line = id + ";" + username + ";" + password + ";" + ad + ";" + soyad + ";" + email + ";" + safeAldigi;
         line = line.replace("\r", "").replace("\n", "");
+        dosyaYolu = OgrenciParcalari.ogrenciDosyasi(dosyaYolu, id);
         File f = new File(dosyaYolu);
-        boolean needsNewline = f.exists() && f.length() > 0;
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(dosyaYolu, true))) {
-            if (needsNewline) bw.newLine();
-            bw.write(line);
+        int genislik = SabitGenislikDuzeni.genislik(dosyaYolu);
+        if (genislik > 0) line = SabitGenislikDuzeni.satiriSabitle(line, genislik);
+        // Arka plandaki sıkıştırıcı dosyayı yeniden yazarken ekleme kaybolmasın: aynı kilit.
+        synchronized (DegisiklikGunlugu.al(dosyaYolu)) {
+            OgrenciIndeksi indeks = f.exists() ? OgrenciIndeksi.al(dosyaYolu) : null;
+            long eskiBoy = f.exists() ? f.length() : 0;
+            boolean needsNewline = f.exists() && f.length() > 0;
+            try (BufferedWriter bw = new BufferedWriter(new FileWriter(dosyaYolu, StandardCharsets.UTF_8, true))) {
+                if (needsNewline) bw.newLine();
+                bw.write(line);
+            }
+            // İndeksi güncel tut: yeni satır dosyanın sonunda.
+            long offset = eskiBoy + (needsNewline ? System.lineSeparator().length() : 0);
+            if (indeks == null) indeks = OgrenciIndeksi.al(dosyaYolu);
+            else indeks.satirEklendi(id, offset, (int) (f.length() - offset));
+            VeriOnbellegi.degisti(dosyaYolu);
+            OgrenciOnbellegi.yazildi(dosyaYolu, id);
+        }
+    }
+
+    // Tek öğrencinin satırını döndürür. Yoksa null. Satır kümesi önbellekte güncelse oradan verilir; değilse
+    // (ör. not girişinden hemen sonra) tüm dosyayı yeniden yüklemek yerine indeks üzerinden tek satır okunur.
+    // Değişiklik günlüğünde bekleyen güncellemeler satıra uygulanmış olarak döner.
+    public static String ogrenciSatiriOku(String dosyaYolu, int ogrenciId) throws IOException {
+        dosyaYolu = OgrenciParcalari.ogrenciDosyasi(dosyaYolu, ogrenciId);
+        OgrenciSatirlari onbellek = VeriOnbellegi.varsa(dosyaYolu, "ogrenciSatirlari");
+        if (onbellek != null) return onbellek.idye.get(ogrenciId);
+
+        String line = DeltaSegmentleri.al(dosyaYolu).satir(ogrenciId);
+        if (line == null) line = OgrenciIndeksi.al(dosyaYolu).satirOku(ogrenciId);
+        if (line == null) return null;
+        List<DersKaydiDegisikligi> bekleyen = DegisiklikGunlugu.al(dosyaYolu).ogrenciIcin(ogrenciId);
+        return bekleyen.isEmpty() ? line : satiraDegisiklikleriUygula(line, bekleyen);
+    }
+
+    // ogrenciler_yeni.txt'deki tüm öğrenci satırlarını (trim edilmiş, yorumlar hariç) dosya sırasıyla gezer.
+    // Değişiklik günlüğü uygulanmış hali verilir; konsol listeleri bunu kullanır.
+    // Parçalı dosyada parçalar paralel yüklenir, satırlar parça sırasıyla verilir.
+    public static void ogrenciSatirlariniGez(String dosyaYolu, java.util.function.Consumer<String> ziyaretci) throws IOException {
+        List<String> parcalar = parcalar(dosyaYolu);
+        List<OgrenciSatirlari> kumeler = (parcalar == null)
+                ? List.of(ogrenciSatirlari(dosyaYolu))
+                : OgrenciParcalari.paralel(parcalar, DosyaIslemleri::ogrenciSatirlari);
+        for (OgrenciSatirlari kume : kumeler) {
+            for (String t : kume.satirlar) ziyaretci.accept(t);
+        }
+    }
+
+    // Öğrenci satırlarının (günlük uygulanmış, dosya sırasıyla) salt okunur listesi. Tek dosyada önbellekteki
+    // liste kopyalanmadan verilir; liste yüklendikten sonra değişmez (sonraki yazmalar yeni bir liste üretir).
+    public static List<String> ogrenciSatirListesi(String dosyaYolu) throws IOException {
+        List<String> parcalar = parcalar(dosyaYolu);
+        if (parcalar == null) return java.util.Collections.unmodifiableList(ogrenciSatirlari(dosyaYolu).satirlar);
+        List<String> sonuc = new ArrayList<>();
+        for (OgrenciSatirlari kume : OgrenciParcalari.paralel(parcalar, DosyaIslemleri::ogrenciSatirlari)) {
+            sonuc.addAll(kume.satirlar);
         }
+        return java.util.Collections.unmodifiableList(sonuc);
+    }
+
+    // Dosyanın günlük kilidini tutan yazarlar için öğrenci satırları (günlük uygulanmış, dosya sırasıyla).
+    // Tek dosyada önbellek atlanıp diskten okunur: önbellek kilidi altında günlük okunduğundan, günlük kilidi
+    // tutulurken önbelleğe girmek kilitlenmeye yol açabilir. Parçalı dosyada parçaların kilitleri ana dosyanınkinden
+    // ayrı olduğu için parça satırları önbellekten gelir.
+    static List<String> ogrenciSatirlariGunlukKilidiyle(String dosyaYolu) throws IOException {
+        if (parcalar(dosyaYolu) != null) return ogrenciSatirListesi(dosyaYolu);
+        return ogrenciSatirlariDiskten(dosyaYolu).satirlar;
+    }
+
+    private static OgrenciSatirlari ogrenciSatirlari(String dosyaYolu) throws IOException {
+        return VeriOnbellegi.al(dosyaYolu, "ogrenciSatirlari", () -> ogrenciSatirlariDiskten(dosyaYolu));
+    }
+
+    // Günlük uygulanmış öğrenci satırları (dosya sırasıyla) ve id -> satır (aynı id'de ilk satır, indeks gibi).
+    private static final class OgrenciSatirlari {
+        final List<String> satirlar = new ArrayList<>();
+        final Map<Integer, String> idye = new HashMap<>();
+    }
+
+    private static OgrenciSatirlari ogrenciSatirlariDiskten(String dosyaYolu) throws IOException {
+        OgrenciSatirlari sonuc = new OgrenciSatirlari();
+        Map<Integer, List<DersKaydiDegisikligi>> bekleyen = DegisiklikGunlugu.al(dosyaYolu).tumu();
+        BlokluSatirOkuyucu.gez(dosyaYolu, 2, DeltaSegmentleri.al(dosyaYolu).birlesik(), satir -> {
+            String t = satir.satir();
+            Integer id = satirIdsi(t);
+            List<DersKaydiDegisikligi> list = (id == null) ? null : bekleyen.get(id);
+            if (list != null) t = satiraDegisiklikleriUygula(t, list);
+            sonuc.satirlar.add(t);
+            if (id != null) sonuc.idye.putIfAbsent(id, t);
+        });
+        return sonuc;
+    }
+
+    private static Map<Integer, IntHashMap<Integer>> ikiSeviyeKopya(Map<Integer, IntHashMap<Integer>> kaynak) {
+        Map<Integer, IntHashMap<Integer>> sonuc = new HashMap<>();
+        for (Map.Entry<Integer, IntHashMap<Integer>> e : kaynak.entrySet()) {
+            IntHashMap<Integer> kopya = new IntHashMap<>(e.getValue().size());
+            e.getValue().forEach(kopya::put);
+            sonuc.put(e.getKey(), kopya);
+        }
+        return sonuc;
+    }
+
+    // Öğrenci satırını alanlarına ayırır. aldigiDersler ';' içerebildiği için en fazla 7 parça:
+    // id;username;password;ad;soyad;email;aldigiDersler
+    private static String[] ogrenciSatiriBol(String satir) {
+        return satir.split(";", 7);
     }
 
     // Öğretmen seçim ekranı için: id -> "Ad Soyad <email>"
     public static Map<Integer, String> ogrenciBasitBilgiMapOkuV2(String dosyaYolu) throws IOException {
+        List<String> parcalar = parcalar(dosyaYolu);
+        if (parcalar != null) return birlestir(OgrenciParcalari.paralel(parcalar, DosyaIslemleri::ogrenciBasitBilgiMapOkuV2));
+        return new HashMap<>(VeriOnbellegi.al(dosyaYolu, "ogrenciBasitBilgi", () -> ogrenciBasitBilgiMapOkuV2Diskten(dosyaYolu)));
+    }
+
+    private static Map<Integer, String> ogrenciBasitBilgiMapOkuV2Diskten(String dosyaYolu) throws IOException {
         Map<Integer, String> sonuc = new HashMap<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(dosyaYolu))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                String t = line.trim();
-                if (t.isEmpty() || t.startsWith("#")) continue;
-                String[] p = t.split(";", 7);
-                if (p.length < 6) continue;
-                int id = Integer.parseInt(p[0].trim());
-                String ad = p.length > 3 ? p[3].trim() : "";
-                String soyad = p.length > 4 ? p[4].trim() : "";
-                String email = p.length > 5 ? p[5].trim() : "";
-                sonuc.put(id, (ad + " " + soyad).trim() + " <" + email + ">");
-            }
-        }
+        BlokluSatirOkuyucu.gez(dosyaYolu, 7, DeltaSegmentleri.al(dosyaYolu).birlesik(), satir -> {
+            if (satir.alanSayisi() < 6) return;
+            int id = satir.alanInt(0);
+            String ad = satir.alan(3);
+            String soyad = satir.alan(4);
+            String email = satir.alan(5);
+            sonuc.put(id, (ad + " " + soyad).trim() + " <" + email + ">");
+        });
         return sonuc;
     }
 
@@ -99,14 +214,25 @@ public class DosyaIslemleri {
     // - Eski: DERSKODU:OGRETMEN_ID
     // - v2:  DERSKODU:OGRETMEN_ID:not=...;dev=...
     public static class EmbeddedDersKaydi {
-        public String dersKodu;
+        // Girilmemiş değer (dosyada "-").
+        public static final int YOK = Integer.MIN_VALUE;
+        private static final String[] GUNLER = {"MON", "TUE", "WED", "THU", "FRI", "SAT", "SUN"};
+        // Paketli programa sığan en fazla slot sayısı (slot başına bir bayt).
+        private static final int PAKET_SLOT = 8;
+
+        // DersKatalogu id'si; kod metni kayıtta tutulmaz (bkz. dersKodu()).
+        public final int dersId;
         public int ogretmenId;
-        // "-" veya sayı (string tutuyoruz, yazmayı kolaylaştırır)
-        public String vizeDegeri;
-        public String finalDegeri;
-        public String notDegeri; // legacy/toplam not (istersen ileride kaldırılabilir)
-        public String devDegeri; // "-" veya sayı
-        public String programDegeri; // ör: MON-09,MON-10
+        // YOK veya sayı; metne sadece yazarken çevrilir (bkz. toItemString).
+        public int vize;
+        public int fin;
+        public int not; // legacy/toplam not
+        public int dev;
+        // Haftalık program, yazım sırasıyla: her bayt bir slot (gün * 24 + saat + 1), 0 = slot yok.
+        // "MON-09,WED-14" gibi kanonik programlar buraya sığar; sığmayan/kanonik olmayan metin programMetni'nde
+        // aynen tutulur (o durumda program 0'dır).
+        private long program;
+        private String programMetni;
 
         public EmbeddedDersKaydi(String dersKodu,
                                  int ogretmenId,
@@ -115,13 +241,9 @@ public class DosyaIslemleri {
                                  String notDegeri,
                                  String devDegeri,
                                  String programDegeri) {
-            this.dersKodu = dersKodu;
-            this.ogretmenId = ogretmenId;
-            this.vizeDegeri = (vizeDegeri == null || vizeDegeri.isBlank()) ? "-" : vizeDegeri;
-            this.finalDegeri = (finalDegeri == null || finalDegeri.isBlank()) ? "-" : finalDegeri;
-            this.notDegeri = (notDegeri == null || notDegeri.isBlank()) ? "-" : notDegeri;
-            this.devDegeri = (devDegeri == null || devDegeri.isBlank()) ? "-" : devDegeri;
-            this.programDegeri = (programDegeri == null) ? "" : programDegeri.trim();
+            this(dersKodu, ogretmenId, degerCoz(vizeDegeri), degerCoz(finalDegeri), degerCoz(notDegeri),
+                    degerCoz(devDegeri), 0L, null);
+            programAyarla(programDegeri);
         }
 
         // v2 uyumluluk ctor
@@ -129,387 +251,767 @@ public class DosyaIslemleri {
             this(dersKodu, ogretmenId, "-", "-", notDegeri, devDegeri, "");
         }
 
-        public String toItemString() {
-            // Kanonik yazım: her key tek kez.
-            // not: legacy alan; vize/final varken tekrar hesaplanabilir ama geriye uyum için saklanıyor.
+        private EmbeddedDersKaydi(String dersKodu, int ogretmenId, int vize, int fin, int not, int dev,
+                                  long program, String programMetni) {
+            this(DersKatalogu.id(dersKodu), ogretmenId, vize, fin, not, dev, program, programMetni);
+        }
+
+        private EmbeddedDersKaydi(int dersId, int ogretmenId, int vize, int fin, int not, int dev,
+                                  long program, String programMetni) {
+            this.dersId = dersId;
+            this.ogretmenId = ogretmenId;
+            this.vize = vize;
+            this.fin = fin;
+            this.not = not;
+            this.dev = dev;
+            this.program = program;
+            this.programMetni = programMetni;
+        }
+
+        public EmbeddedDersKaydi kopya() {
+            return new EmbeddedDersKaydi(dersId, ogretmenId, vize, fin, not, dev, program, programMetni);
+        }
+
+        // Normal (büyük harf) ders kodu.
+        public String dersKodu() {
+            return DersKatalogu.kod(dersId);
+        }
+
+        // "-"/boş/sayı olmayan değer => YOK.
+        public static int degerCoz(String deger) {
+            if (deger == null) return YOK;
+            Integer v = degerOku(deger, 0, deger.length());
+            return (v == null) ? YOK : v;
+        }
+
+        public static String degerMetni(int deger) {
+            return (deger == YOK) ? "-" : String.valueOf(deger);
+        }
+
+        public boolean programVarMi() {
+            return program != 0 || programMetni != null;
+        }
+
+        // "MON-09,MON-10" gibi; program yoksa "".
+        public String programMetni() {
+            if (programMetni != null) return programMetni;
+            if (program == 0) return "";
+            StringBuilder sb = new StringBuilder(PAKET_SLOT * 7);
+            for (long p = program; p != 0; p >>>= 8) {
+                int slot = (int) (p & 0xFF) - 1;
+                int saat = slot % 24;
+                if (sb.length() > 0) sb.append(',');
+                sb.append(GUNLER[slot / 24]).append('-').append((char) ('0' + saat / 10)).append((char) ('0' + saat % 10));
+            }
+            return sb.toString();
+        }
+
+        public void programAyarla(String programDegeri) {
             String p = (programDegeri == null) ? "" : programDegeri.trim();
+            program = programPaketle(p, 0, p.length());
+            programMetni = (program == 0 && !p.isEmpty()) ? p : null;
+        }
+
+        public String toItemString() {
+            return toItemString(0);
+        }
+
+        // Kanonik yazım: her key tek kez. genislik > 0 ise değerler sağdan boşlukla genişliğe tamamlanır
+        // (sabit genişlikli düzen, bkz. SabitGenislikDuzeni).
+        // not: legacy alan; vize/final varken tekrar hesaplanabilir ama geriye uyum için saklanıyor.
+        public String toItemString(int genislik) {
             // program değeri ; veya | içeremez (dosya formatını bozar). Güvenlik için temizle.
-            p = p.replace(";", ",").replace("|", ",");
-            return dersKodu + ":" + ogretmenId
-                    + ":vize=" + vizeDegeri
-                    + ";final=" + finalDegeri
-                    + ";not=" + notDegeri
-                    + ";dev=" + devDegeri
-                    + ";prog=" + p;
-        }
-    }
-
-    // aldigiDersler alanı bozulmuşsa (item içinde '|' yerine ';' sızmışsa) yeniden tokenize eder.
-    // Kural: yeni item başlangıcı -> ^[A-Z]{2,5}\d{3}:\d+  (örn MAT101:1)
-    private static List<String> aldigiDerslerTokenizeGuvenli(String aldigi) {
-        List<String> items = new ArrayList<>();
-        if (aldigi == null) return items;
-        String s = aldigi.replace("\r", "").replace("\n", "").trim();
-        if (s.isEmpty()) return items;
-
-        // Normal durum: '|' ile ayrılır.
-        String[] quick = s.split("\\|", -1);
-        boolean supheli = false;
-        java.util.regex.Pattern startPat = java.util.regex.Pattern.compile("[A-Z]{2,5}\\d{3}:[0-9]+",
-                java.util.regex.Pattern.CASE_INSENSITIVE);
-        for (String q : quick) {
-            // Eğer tek token içinde birden fazla dersKodu:ogretmenId örüntüsü görülüyorsa bozulmuş olabilir.
-            if (q == null) continue;
-            String t = q.trim();
-            if (t.isEmpty()) continue;
-            int count = 0;
-            java.util.regex.Matcher mm = startPat.matcher(t);
-            while (mm.find()) count++;
-            if (count > 1) {
-                supheli = true;
-                break;
+            String p = programMetni().replace(";", ",").replace("|", ",");
+            String dersKodu = dersKodu();
+            StringBuilder sb = new StringBuilder(dersKodu.length() + 48 + p.length());
+            sb.append(dersKodu).append(':').append(ogretmenId);
+            degerYaz(sb.append(":vize="), vize, genislik);
+            degerYaz(sb.append(";final="), fin, genislik);
+            degerYaz(sb.append(";not="), not, genislik);
+            degerYaz(sb.append(";dev="), dev, genislik);
+            return sb.append(";prog=").append(p).toString();
+        }
+
+        private static void degerYaz(StringBuilder sb, int deger, int genislik) {
+            int bas = sb.length();
+            if (deger == YOK) sb.append('-');
+            else sb.append(deger);
+            while (sb.length() - bas < genislik) sb.append(' ');
+        }
+
+        // s[bas, son) kanonik program metniyse (GUN-SS slotları, virgülle, en fazla PAKET_SLOT) paketi, değilse 0.
+        static long programPaketle(String s, int bas, int son) {
+            long paket = 0;
+            int adet = 0;
+            int i = bas;
+            while (i < son) {
+                if (adet == PAKET_SLOT || i + 6 > son || s.charAt(i + 3) != '-') return 0;
+                int gun = gunSirasi(s, i);
+                char o = s.charAt(i + 4);
+                char b = s.charAt(i + 5);
+                if (gun < 0 || !asciiRakamMi(o) || !asciiRakamMi(b)) return 0;
+                int saat = (o - '0') * 10 + (b - '0');
+                if (saat >= 24) return 0;
+                paket |= (long) (gun * 24 + saat + 1) << (8 * adet++);
+                i += 6;
+                if (i < son) {
+                    if (s.charAt(i) != ',') return 0;
+                    i++;
+                    if (i == son) return 0;
+                }
+            }
+            return paket;
+        }
+
+        private static int gunSirasi(String s, int i) {
+            for (int g = 0; g < GUNLER.length; g++) {
+                if (s.startsWith(GUNLER[g], i)) return g;
+            }
+            return -1;
+        }
+    }
+
+    // Tek bir ders kaydı alanının değişikliği: (ogrenciId, dersKodu, ogretmenId) kaydının alan'ı = deger.
+    // alan: vize, final, not, dev. deger: "-" veya sayı.
+    public static class DersKaydiDegisikligi {
+        public final int ogrenciId;
+        public final int dersId;
+        public final String dersKodu; // normal yazım
+        public final int ogretmenId;
+        public final String alan;
+        public final String deger;
+
+        // Ders kodu katalogda olmalı (bilinmeyen kod "ders bulunamadı"; kullanıcı girdisi kataloğu büyütmez).
+        public DersKaydiDegisikligi(int ogrenciId, String dersKodu, int ogretmenId, String alan, String deger) {
+            this(ogrenciId, bilinenDersId(dersKodu), ogretmenId, alan, deger);
+        }
+
+        private DersKaydiDegisikligi(int ogrenciId, int dersId, int ogretmenId, String alan, String deger) {
+            String a = (alan == null) ? "" : alan.trim().toLowerCase();
+            if (!a.equals("vize") && !a.equals("final") && !a.equals("not") && !a.equals("dev")) {
+                throw new IllegalArgumentException("Geçersiz alan: " + alan);
+            }
+            this.ogrenciId = ogrenciId;
+            this.dersId = dersId;
+            this.dersKodu = DersKatalogu.kod(dersId);
+            this.ogretmenId = ogretmenId;
+            this.alan = a;
+            this.deger = (deger == null || deger.isBlank()) ? "-" : deger.trim();
+        }
+
+        public DersKaydiDegisikligi(int ogrenciId, String dersKodu, int ogretmenId, String alan, Integer deger) {
+            this(ogrenciId, dersKodu, ogretmenId, alan, deger == null ? "-" : String.valueOf(deger));
+        }
+
+        public boolean eslesir(EmbeddedDersKaydi dk) {
+            return dk.dersId == dersId && dk.ogretmenId == ogretmenId;
+        }
+
+        public void uygula(EmbeddedDersKaydi dk) {
+            switch (alan) {
+                case "vize": dk.vize = EmbeddedDersKaydi.degerCoz(deger); break;
+                case "final": dk.fin = EmbeddedDersKaydi.degerCoz(deger); break;
+                case "not": dk.not = EmbeddedDersKaydi.degerCoz(deger); break;
+                default: dk.dev = EmbeddedDersKaydi.degerCoz(deger); break;
+            }
+        }
+
+        // Günlük satırı: ogrenciId;dersKodu;ogretmenId;alan;deger (değerler ';' ve newline içeremez)
+        String toGunlukSatiri() {
+            return ogrenciId + ";" + temiz(dersKodu) + ";" + ogretmenId + ";" + alan + ";" + temiz(deger);
+        }
+
+        // Günlükteki kod dosyaya yazılmış bir derstir; bu süreçte henüz görülmemiş olabilir, kataloğa eklenir.
+        static DersKaydiDegisikligi gunlukSatirindan(String satir) {
+            String[] p = satir.trim().split(";", -1);
+            if (p.length != 5 || p[1].isBlank()) return null;
+            try {
+                return new DersKaydiDegisikligi(Integer.parseInt(p[0].trim()), DersKatalogu.id(p[1]),
+                        Integer.parseInt(p[2].trim()), p[3], p[4]);
+            } catch (IllegalArgumentException e) {
+                return null;
             }
         }
-        if (!supheli) {
-            for (String q : quick) {
-                if (q == null) continue;
-                String t = q.trim();
-                if (!t.isEmpty()) items.add(t);
+
+        private static int bilinenDersId(String dersKodu) {
+            if (dersKodu == null || dersKodu.isBlank()) {
+                throw new IllegalArgumentException("Ders kodu boş olamaz.");
+            }
+            int dersId = DersKatalogu.bul(dersKodu);
+            if (dersId == DersKatalogu.YOK) throw new IllegalArgumentException("Ders bulunamadı: " + dersKodu.trim());
+            return dersId;
+        }
+
+        private static String temiz(String s) {
+            return s.replace(";", "").replace("|", "").replace("\r", "").replace("\n", "");
+        }
+    }
+
+    // aldigiDersler alanını tek geçişte ders kayıtlarına çözer (regex ve split yok).
+    // Normal durum: kayıtlar '|' ile ayrılır, her parça tek kayıttır.
+    // Bozuk durum: bir parçada birden fazla ders başlangıcı (DERSKODU:OGRT, DERSKODU = 2-5 harf + 3 rakam)
+    // varsa ('|' yerine ';' sızmış / tekrar eden zincir) alan ders başlangıçlarından bölünür;
+    // ilk başlangıçtan önceki artık atılır. Aynı key birden fazla geçerse sonuncusu kazanır.
+    public static List<EmbeddedDersKaydi> aldigiDerslerCoz(String aldigi) {
+        List<EmbeddedDersKaydi> out = new ArrayList<>();
+        aldigiDerslerCoz(aldigi, out);
+        return out;
+    }
+
+    // Kayıtları out'a ekler; çözülemeyen (atlanan) kayıt sayısını döndürür. Alan tamamen boşsa 0.
+    static int aldigiDerslerCoz(String aldigi, List<EmbeddedDersKaydi> out) {
+        if (aldigi == null || aldigi.isBlank()) return 0;
+        String s = satirSonlariniSil(aldigi);
+        int atlanan = 0;
+        int ilkKayit = out.size();
+        int n = s.length();
+
+        // Ders başlangıçları sadece bozuk durumda kullanılır; yine de aynı taramada toplanır.
+        int[] baslangiclar = new int[8];
+        int adet = 0;
+        boolean bozuk = false;
+        int parcaBas = 0;
+        int parcadakiBaslangic = 0;
+        int i = 0;
+        while (true) {
+            if (i >= n || s.charAt(i) == '|') {
+                if (!bozuk && !kayitEkle(out, s, parcaBas, i)) atlanan++;
+                if (i >= n) break;
+                i++;
+                parcaBas = i;
+                parcadakiBaslangic = 0;
+                continue;
             }
-            return items;
-        }
-
-        // Fallback: regex ile item başlangıçlarını bul.
-    java.util.regex.Matcher m = startPat.matcher(s);
-        List<Integer> starts = new ArrayList<>();
-        while (m.find()) {
-            starts.add(m.start());
-        }
-        if (starts.isEmpty()) {
-            items.add(s);
-            return items;
-        }
-        for (int i = 0; i < starts.size(); i++) {
-            int st = starts.get(i);
-            int en = (i + 1 < starts.size()) ? starts.get(i + 1) : s.length();
-            String chunk = s.substring(st, en).trim();
-            if (!chunk.isEmpty()) {
-                // chunk içinde bir önceki item'dan kalan '|' veya ';' artifact olabilir.
-                while (chunk.startsWith("|") || chunk.startsWith(";")) chunk = chunk.substring(1).trim();
-                if (!chunk.isEmpty()) items.add(chunk);
+            if (!asciiHarfMi(s.charAt(i))) {
+                i++;
+                continue;
+            }
+            // Harf dizisinin sonu; başlangıç dizinin en fazla son 5 harfidir (en soldaki eşleşme).
+            int harfSonu = i;
+            while (harfSonu < n && asciiHarfMi(s.charAt(harfSonu))) harfSonu++;
+            int harfSayisi = harfSonu - i;
+            int son = (harfSayisi >= 2) ? dersBaslangiciSonu(s, harfSonu) : -1;
+            if (son < 0) {
+                i = harfSonu;
+                continue;
+            }
+            if (adet == baslangiclar.length) baslangiclar = Arrays.copyOf(baslangiclar, adet * 2);
+            baslangiclar[adet++] = harfSonu - Math.min(harfSayisi, 5);
+            if (++parcadakiBaslangic > 1) bozuk = true;
+            i = son;
+        }
+
+        if (bozuk) {
+            out.subList(ilkKayit, out.size()).clear();
+            atlanan = 0;
+            for (int k = 0; k < adet; k++) {
+                if (!kayitEkle(out, s, baslangiclar[k], (k + 1 < adet) ? baslangiclar[k + 1] : n)) atlanan++;
             }
         }
-        return items;
+        return atlanan;
     }
 
     // Tek bir item'ı parse eder. Eski formatı da destekler.
     public static EmbeddedDersKaydi embeddedDersKaydiParse(String item) {
         if (item == null) return null;
-        item = item.trim();
-        if (item.isEmpty()) return null;
-
         // Güvenlik: dosyada istemeden satır kırılması/boşluk eklenmesi olursa parse bozulmasın.
-        item = item.replace("\r", "").replace("\n", "").trim();
+        String s = satirSonlariniSil(item);
+        return kayitCoz(s, 0, s.length());
+    }
+
+    private static String satirSonlariniSil(String s) {
+        if (s.indexOf('\r') < 0 && s.indexOf('\n') < 0) return s;
+        return s.replace("\r", "").replace("\n", "");
+    }
+
+    private static boolean asciiHarfMi(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean asciiRakamMi(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // Harf dizisinden sonra "ddd:d+" geliyorsa ders başlangıcının bittiği indeks, gelmiyorsa -1.
+    private static int dersBaslangiciSonu(String s, int k) {
+        int n = s.length();
+        if (k + 4 >= n) return -1;
+        if (!asciiRakamMi(s.charAt(k)) || !asciiRakamMi(s.charAt(k + 1)) || !asciiRakamMi(s.charAt(k + 2))) return -1;
+        if (s.charAt(k + 3) != ':' || !asciiRakamMi(s.charAt(k + 4))) return -1;
+        int son = k + 5;
+        while (son < n && asciiRakamMi(s.charAt(son))) son++;
+        return son;
+    }
 
-        // Rehber format: DERSKODU:OGRETMEN_ID[:not=...;dev=...]
-        // ':' sadece iki kez beklenir; fazlaları bir hata/artifact olabilir (line-wrap vb). Biz ';' tarafını esas alırız.
-        String dersKodu;
-        int ogretmenId;
-        String rest = null;
+    private static boolean kayitEkle(List<EmbeddedDersKaydi> out, String s, int bas, int son) {
+        EmbeddedDersKaydi dk = kayitCoz(s, bas, son);
+        if (dk == null) return false;
+        out.add(dk);
+        return true;
+    }
 
-        int firstColon = item.indexOf(':');
-        if (firstColon < 0) return null;
-        dersKodu = item.substring(0, firstColon).trim();
+    // s[bas, son) aralığındaki tek item: DERSKODU:OGRETMEN_ID[:key=deger;key=deger...]
+    // ':' sadece iki kez beklenir; fazlaları bir hata/artifact olabilir (line-wrap vb). Biz ';' tarafını esas alırız.
+    private static EmbeddedDersKaydi kayitCoz(String s, int bas, int son) {
+        while (bas < son && s.charAt(bas) <= ' ') bas++;
+        while (son > bas && s.charAt(son - 1) <= ' ') son--;
+        if (bas == son) return null;
+
+        int ilkIkiNokta = s.indexOf(':', bas);
+        if (ilkIkiNokta < 0 || ilkIkiNokta >= son) return null;
+        int ikinciIkiNokta = s.indexOf(':', ilkIkiNokta + 1);
+        if (ikinciIkiNokta >= son) ikinciIkiNokta = -1;
+
+        Integer ogretmenId = tamSayiOku(s, ilkIkiNokta + 1, ikinciIkiNokta < 0 ? son : ikinciIkiNokta);
+        if (ogretmenId == null) return null;
+
+        // Her key için son görülen '=' konumu (bozuk veride dev=3;dev=2 gibi tekrarlar olabilir).
+        int vize = -1, fin = -1, not = -1, dev = -1, prog = -1;
+        if (ikinciIkiNokta >= 0) {
+            int k = ikinciIkiNokta + 1;
+            while (k <= son) {
+                int kvSonu = s.indexOf(';', k);
+                if (kvSonu < 0 || kvSonu > son) kvSonu = son;
+                int esittir = s.indexOf('=', k);
+                if (esittir >= 0 && esittir < kvSonu) {
+                    int ab = k;
+                    int as = esittir;
+                    while (ab < as && s.charAt(ab) <= ' ') ab++;
+                    while (as > ab && s.charAt(as - 1) <= ' ') as--;
+                    if (anahtarMi(s, ab, as, "vize")) vize = esittir;
+                    else if (anahtarMi(s, ab, as, "final")) fin = esittir;
+                    else if (anahtarMi(s, ab, as, "not")) not = esittir;
+                    else if (anahtarMi(s, ab, as, "dev")) dev = esittir;
+                    else if (anahtarMi(s, ab, as, "prog")) prog = esittir;
+                }
+                k = kvSonu + 1;
+            }
+        }
 
-        String afterFirst = item.substring(firstColon + 1);
-        int secondColon = afterFirst.indexOf(':');
-        String teacherPart;
-        if (secondColon < 0) {
-            teacherPart = afterFirst;
-        } else {
-            teacherPart = afterFirst.substring(0, secondColon);
-            rest = afterFirst.substring(secondColon + 1);
+        // Değerler alt dizi üretmeden doğrudan satırdan okunur; program metni sadece paketlenemezse tutulur.
+        long program = 0;
+        String programMetni = null;
+        if (prog >= 0) {
+            int pb = prog + 1;
+            int ps = degerSonu(s, prog, son);
+            while (pb < ps && s.charAt(pb) <= ' ') pb++;
+            while (ps > pb && s.charAt(ps - 1) <= ' ') ps--;
+            program = EmbeddedDersKaydi.programPaketle(s, pb, ps);
+            if (program == 0 && pb < ps) programMetni = s.substring(pb, ps);
         }
+        return new EmbeddedDersKaydi(kirp(s, bas, ilkIkiNokta), ogretmenId,
+                anahtarSayisi(s, vize, son),
+                anahtarSayisi(s, fin, son),
+                anahtarSayisi(s, not, son),
+                anahtarSayisi(s, dev, son),
+                program, programMetni);
+    }
+
+    private static boolean anahtarMi(String s, int bas, int son, String anahtar) {
+        return son - bas == anahtar.length() && s.regionMatches(true, bas, anahtar, 0, anahtar.length());
+    }
 
-        teacherPart = teacherPart.trim();
+    // '=' sonrasından ';' veya item sonuna kadar olan sayısal değer. Key yoksa, değer boş/"-" ise veya sayı
+    // değilse EmbeddedDersKaydi.YOK.
+    private static int anahtarSayisi(String s, int esittir, int son) {
+        if (esittir < 0) return EmbeddedDersKaydi.YOK;
+        Integer v = degerOku(s, esittir + 1, degerSonu(s, esittir, son));
+        return (v == null) ? EmbeddedDersKaydi.YOK : v;
+    }
+
+    private static int degerSonu(String s, int esittir, int son) {
+        int degerSonu = s.indexOf(';', esittir + 1);
+        return (degerSonu < 0 || degerSonu > son) ? son : degerSonu;
+    }
+
+    // Kırpılmış aralık boş veya "-" ise (girilmemiş) ya da sayı değilse null.
+    private static Integer degerOku(String s, int bas, int son) {
+        while (bas < son && s.charAt(bas) <= ' ') bas++;
+        while (son > bas && s.charAt(son - 1) <= ' ') son--;
+        if (bas == son || (son - bas == 1 && s.charAt(bas) == '-')) return null;
+        return tamSayiOku(s, bas, son);
+    }
+
+    private static String kirp(String s, int bas, int son) {
+        while (bas < son && s.charAt(bas) <= ' ') bas++;
+        while (son > bas && s.charAt(son - 1) <= ' ') son--;
+        return s.substring(bas, son);
+    }
+
+    // Integer.parseInt(kırpılmış aralık) ile aynı sonuç; geçersizse null.
+    private static Integer tamSayiOku(String s, int bas, int son) {
+        while (bas < son && s.charAt(bas) <= ' ') bas++;
+        while (son > bas && s.charAt(son - 1) <= ' ') son--;
+        int uzunluk = son - bas;
+        if (uzunluk > 0 && uzunluk <= 9) {
+            int deger = 0;
+            int k = bas;
+            for (; k < son && asciiRakamMi(s.charAt(k)); k++) deger = deger * 10 + (s.charAt(k) - '0');
+            if (k == son) return deger;
+        }
+        // Nadir durumlar (işaret, uzun sayı, ASCII dışı rakam) için JDK'ya bırak.
         try {
-            ogretmenId = Integer.parseInt(teacherPart);
+            return Integer.parseInt(s.substring(bas, son));
         } catch (NumberFormatException e) {
             return null;
         }
+    }
 
-        String vizeDegeri = "-";
-        String finalDegeri = "-";
-        String notDegeri = "-";
-        String devDegeri = "-";
-        String progDegeri = "";
-        if (rest != null) {
-            // rest: not=...;dev=... (veya bozuk veri: dev=3;dev=2 gibi)
-            rest = rest.trim();
-            // Bozuk veri düzeltme: birden fazla dev varsa en sondakini baz al.
-            String[] kvs = rest.split(";", -1);
-            for (String kv : kvs) {
-                String t = kv.trim();
-                if (t.isEmpty()) continue;
-                String[] pair = t.split("=", 2);
-                if (pair.length != 2) continue;
-                String k = pair[0].trim();
-                String v = pair[1].trim();
-                if (k.equalsIgnoreCase("vize")) {
-                    vizeDegeri = v.isEmpty() ? "-" : v;
-                } else if (k.equalsIgnoreCase("final")) {
-                    finalDegeri = v.isEmpty() ? "-" : v;
-                } else if (k.equalsIgnoreCase("not")) {
-                    notDegeri = v.isEmpty() ? "-" : v;
-                } else if (k.equalsIgnoreCase("dev")) {
-                    // Eğer veri bozuksa ve birden fazla dev varsa, son dev değerini al.
-                    devDegeri = v.isEmpty() ? "-" : v;
-                } else if (k.equalsIgnoreCase("prog")) {
-                    progDegeri = v == null ? "" : v.trim();
-                }
-            }
+    // ogrenciId -> (ders id -> EmbeddedDersKaydi)
+    public static Map<Integer, IntHashMap<EmbeddedDersKaydi>> ogrenciDersKayitlariOkuV2(String dosyaYolu) throws IOException {
+        List<String> parcalar = parcalar(dosyaYolu);
+        if (parcalar != null) return birlestir(OgrenciParcalari.paralel(parcalar, DosyaIslemleri::ogrenciDersKayitlariOkuV2));
+        Map<Integer, IntHashMap<EmbeddedDersKaydi>> onbellek =
+                VeriOnbellegi.al(dosyaYolu, "ogrenciDersKayitlari", () -> ogrenciDersKayitlariOkuV2Diskten(dosyaYolu));
+        // EmbeddedDersKaydi alanları değiştirilebilir: önbellekteki nesneler dışarı verilmez.
+        Map<Integer, IntHashMap<EmbeddedDersKaydi>> sonuc = new HashMap<>();
+        for (Map.Entry<Integer, IntHashMap<EmbeddedDersKaydi>> e : onbellek.entrySet()) {
+            IntHashMap<EmbeddedDersKaydi> kopya = new IntHashMap<>(e.getValue().size());
+            e.getValue().forEach((dersId, dk) -> kopya.put(dersId, dk.kopya()));
+            sonuc.put(e.getKey(), kopya);
         }
+        return sonuc;
+    }
 
-        // Kanonikleştir: dışarıya her zaman tek not/dev taşı.
-        return new EmbeddedDersKaydi(dersKodu, ogretmenId, vizeDegeri, finalDegeri, notDegeri, devDegeri, progDegeri);
+    private static Map<Integer, IntHashMap<EmbeddedDersKaydi>> ogrenciDersKayitlariOkuV2Diskten(String dosyaYolu) throws IOException {
+        Map<Integer, IntHashMap<EmbeddedDersKaydi>> sonuc = new HashMap<>();
+        Map<Integer, List<DersKaydiDegisikligi>> bekleyen = DegisiklikGunlugu.al(dosyaYolu).tumu();
+        BlokluSatirOkuyucu.gez(dosyaYolu, 7, DeltaSegmentleri.al(dosyaYolu).birlesik(), satir -> {
+            if (satir.alanSayisi() < 7) return;
+
+            int ogrId = satir.alanInt(0);
+            List<DersKaydiDegisikligi> list = bekleyen.get(ogrId);
+            String aldigi = (list == null)
+                    ? satir.alan(6)
+                    : ogrenciSatiriBol(satiraDegisiklikleriUygula(satir.satir(), list))[6].trim();
+            IntHashMap<EmbeddedDersKaydi> dersKayitlari = new IntHashMap<>(8);
+            for (EmbeddedDersKaydi dk : aldigiDerslerCoz(aldigi)) {
+                dersKayitlari.put(dk.dersId, dk);
+            }
+            sonuc.put(ogrId, dersKayitlari);
+        });
+        return sonuc;
     }
 
-    // Tek bir embedded item stringini (MAT101:1:...) kesin olarak kanonikleştirir:
-    // - aynı key birden fazla geçiyorsa SONUNCUSU geçerli olur
-    // - sonuç v3 formatında döner (vize/final/not/dev/prog)
-    //
-    // Not: Bazı bozuk dosyalarda tek bir token içinde birden fazla ders başlangıcı (DERS:OGRT)
-    // ve tekrar eden key zincirleri bulunabiliyor. Bu helper, token içindeki TÜM ders başlangıçlarını
-    // çıkarır ve her birini embeddedDersKaydiParse() ile (son key kazanır) parse edip döndürür.
-    private static List<EmbeddedDersKaydi> embeddedKayitlariTokenIcindanCikar(String token) {
-        List<EmbeddedDersKaydi> out = new ArrayList<>();
-        if (token == null) return out;
-        String s = token.replace("\r", "").replace("\n", "").trim();
-        if (s.isEmpty()) return out;
-
-        java.util.regex.Pattern startPat = java.util.regex.Pattern.compile("[A-Z]{2,5}\\d{3}:[0-9]+",
-                java.util.regex.Pattern.CASE_INSENSITIVE);
-        java.util.regex.Matcher m = startPat.matcher(s);
-        List<Integer> starts = new ArrayList<>();
-        while (m.find()) starts.add(m.start());
-
-        // Normal/sağlıklı token: tek başlangıç.
-        if (starts.size() <= 1) {
-            EmbeddedDersKaydi dk = embeddedDersKaydiParse(s);
-            if (dk != null) out.add(dk);
-            return out;
-        }
-
-        for (int i = 0; i < starts.size(); i++) {
-            int st = starts.get(i);
-            int en = (i + 1 < starts.size()) ? starts.get(i + 1) : s.length();
-            String chunk = s.substring(st, en).trim();
-            while (chunk.startsWith("|") || chunk.startsWith(";")) chunk = chunk.substring(1).trim();
-            if (chunk.isEmpty()) continue;
-            EmbeddedDersKaydi dk = embeddedDersKaydiParse(chunk);
-            if (dk != null) out.add(dk);
+    // Tek öğrenci için: ders id -> EmbeddedDersKaydi (kopyalar). Öğrenci yoksa veya ders alanı yoksa null.
+    public static IntHashMap<EmbeddedDersKaydi> ogrenciDersKayitlariOkuV2(String dosyaYolu, int ogrenciId) throws IOException {
+        OgrenciKaydi kayit = ogrenciKaydiOku(dosyaYolu, ogrenciId);
+        if (kayit == null || !kayit.dersAlaniVar) return null;
+
+        IntHashMap<EmbeddedDersKaydi> dersKayitlari = new IntHashMap<>(kayit.dersler.size());
+        for (EmbeddedDersKaydi dk : kayit.dersler) {
+            dersKayitlari.put(dk.dersId, dk.kopya());
         }
-        return out;
+        return dersKayitlari;
     }
 
-    // ogrenciId -> (dersKodu -> EmbeddedDersKaydi)
-    public static Map<Integer, Map<String, EmbeddedDersKaydi>> ogrenciDersKayitlariOkuV2(String dosyaYolu) throws IOException {
-        Map<Integer, Map<String, EmbeddedDersKaydi>> sonuc = new HashMap<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(dosyaYolu))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty() || line.startsWith("#")) continue;
-                String[] p = line.split(";", -1);
-                if (p.length < 7) continue;
-
-                int ogrId = Integer.parseInt(p[0].trim());
-                String aldigi = p[6].trim();
-                Map<String, EmbeddedDersKaydi> dersKayitlari = new HashMap<>();
-                if (!aldigi.isBlank()) {
-                    List<String> items = aldigiDerslerTokenizeGuvenli(aldigi);
-                    for (String it : items) {
-                        for (EmbeddedDersKaydi dk : embeddedKayitlariTokenIcindanCikar(it)) {
-                            if (dk == null) continue;
-                            dersKayitlari.put(dk.dersKodu, dk);
-                        }
-                    }
-                }
-                sonuc.put(ogrId, dersKayitlari);
+    // Tek öğrencinin ayrıştırılmış kaydı; yoksa null. Sık erişilen öğrenciler OgrenciOnbellegi'nden verilir,
+    // diğerleri indeks üzerinden tek satır okunup ayrıştırılır.
+    public static OgrenciKaydi ogrenciKaydiOku(String dosyaYolu, int ogrenciId) throws IOException {
+        String parca = OgrenciParcalari.ogrenciDosyasi(dosyaYolu, ogrenciId);
+        return OgrenciOnbellegi.al(parca, ogrenciId, () -> {
+            String line = ogrenciSatiriOku(parca, ogrenciId);
+            return (line == null) ? null : new OgrenciKaydi(ogrenciId, ogrenciSatiriBol(line));
+        });
+    }
+
+    // Öğrenci satırının ayrıştırılmış hali (günlük uygulanmış). Önbellekte paylaşılır: dersler listesi
+    // salt okunurdur, içindeki kayıtlar da değiştirilmemeli (gerekirse kopya() alınmalı).
+    public static final class OgrenciKaydi {
+        public final int id;
+        public final String ad;
+        public final String soyad;
+        public final String email;
+        // Satırda aldigiDersler alanı var mı (boş olsa bile).
+        public final boolean dersAlaniVar;
+        // Dosyadaki sırasıyla.
+        public final List<EmbeddedDersKaydi> dersler;
+        // Çözülemediği için derslerde olmayan (hatalı) kayıt sayısı.
+        public final int atlananDersSayisi;
+
+        OgrenciKaydi(int id, String[] p) {
+            this.id = id;
+            this.ad = (p.length > 3) ? p[3].trim() : "";
+            this.soyad = (p.length > 4) ? p[4].trim() : "";
+            this.email = (p.length > 5) ? p[5].trim() : "";
+            this.dersAlaniVar = p.length >= 7;
+            if (dersAlaniVar) {
+                List<EmbeddedDersKaydi> liste = new ArrayList<>();
+                this.atlananDersSayisi = aldigiDerslerCoz(p[6].trim(), liste);
+                this.dersler = java.util.Collections.unmodifiableList(liste);
+            } else {
+                this.atlananDersSayisi = 0;
+                this.dersler = List.of();
             }
         }
-        return sonuc;
     }
 
     // Tek bir öğrencinin tek bir ders kaydını günceller ve ogrenciler_yeni.txt dosyasını yeniden yazar.
     // not/dev null => değişiklik yok; Integer => ilgili değere set.
-    // Eğer item eski formatta ise yeni formatta yazılır.
+    // Eğer item eski formatta ise yeni formatta yazılır. Öğrencinin bu dersten kaydı yoksa hiçbir şey yazılmaz.
     public static void ogrenciDersKaydiGuncelleV2(String dosyaYolu,
                                                   int ogrenciId,
                                                   String dersKodu,
                                                   int ogretmenId,
                                                   Integer not,
                                                   Integer devamsizlik) throws IOException {
-        List<String> lines = new ArrayList<>();
-        boolean bulundu = false;
-
-        try (BufferedReader br = new BufferedReader(new FileReader(dosyaYolu))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                String rawLine = line;
-                String trimmed = line.trim();
-                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
-                    lines.add(rawLine);
-                    continue;
-                }
+        if (!dersKoduCozulur(dosyaYolu, ogrenciId, dersKodu)) return;
+        List<DersKaydiDegisikligi> degisiklikler = new ArrayList<>();
+        if (not != null) degisiklikler.add(new DersKaydiDegisikligi(ogrenciId, dersKodu, ogretmenId, "not", not));
+        if (devamsizlik != null) degisiklikler.add(new DersKaydiDegisikligi(ogrenciId, dersKodu, ogretmenId, "dev", devamsizlik));
+        gunlugeYaz(dosyaYolu, degisiklikler);
+    }
 
-                String[] p = trimmed.split(";", -1);
-                if (p.length < 7) {
-                    lines.add(rawLine);
-                    continue;
-                }
+    // v3: vize/final güncellemesi (prog dahil diğer alanları korur).
+    // vize/final null => değişiklik yok.
+    public static void ogrenciDersKaydiGuncelleV3_VizeFinal(String dosyaYolu,
+                                                           int ogrenciId,
+                                                           String dersKodu,
+                                                           int ogretmenId,
+                                                           Integer vize,
+                                                           Integer fin) throws IOException {
+        if (!dersKoduCozulur(dosyaYolu, ogrenciId, dersKodu)) return;
+        List<DersKaydiDegisikligi> degisiklikler = new ArrayList<>();
+        if (vize != null) degisiklikler.add(new DersKaydiDegisikligi(ogrenciId, dersKodu, ogretmenId, "vize", vize));
+        if (fin != null) degisiklikler.add(new DersKaydiDegisikligi(ogrenciId, dersKodu, ogretmenId, "final", fin));
+        gunlugeYaz(dosyaYolu, degisiklikler);
+    }
 
-                int id = Integer.parseInt(p[0].trim());
-                if (id != ogrenciId) {
-                    lines.add(rawLine);
-                    continue;
-                }
+    // Ders kodu katalogda yoksa öğrencinin satırı okunur (satırdaki kodlar kataloğa girer); yine yoksa öğrencinin
+    // bu dersten kaydı yoktur. Böylece katalog sadece dosyada geçen kodlarla büyür. Boş kod DersKaydiDegisikligi'nde reddedilir.
+    private static boolean dersKoduCozulur(String dosyaYolu, int ogrenciId, String dersKodu) throws IOException {
+        if (dersKodu == null || dersKodu.isBlank() || DersKatalogu.bul(dersKodu) != DersKatalogu.YOK) return true;
+        ogrenciDersKayitlariOkuV2(dosyaYolu, ogrenciId);
+        return DersKatalogu.bul(dersKodu) != DersKatalogu.YOK;
+    }
 
-                // Bu satırı güncelle
-                String aldigi = p[6].trim();
-                List<String> itemsRaw = aldigi.isBlank() ? new ArrayList<>() : aldigiDerslerTokenizeGuvenli(aldigi);
-
-                boolean dersBulundu = false;
-                StringBuilder aldigiYeni = new StringBuilder();
-
-                for (String it : itemsRaw) {
-                    if (it == null || it.trim().isEmpty()) continue;
-                    // Bazı bozuk dosyalarda tek token içinde birden fazla kayıt olabilir.
-                    for (EmbeddedDersKaydi dk : embeddedKayitlariTokenIcindanCikar(it)) {
-                        if (dk == null) continue;
-                        if (dk.dersKodu.equalsIgnoreCase(dersKodu) && dk.ogretmenId == ogretmenId) {
-                            if (not != null) dk.notDegeri = String.valueOf(not);
-                            if (devamsizlik != null) dk.devDegeri = String.valueOf(devamsizlik);
-                            dersBulundu = true;
-                        }
-                        if (aldigiYeni.length() > 0) aldigiYeni.append("|");
-                        aldigiYeni.append(dk.toItemString());
-                    }
+    // Güncellemeler ana dosyayı yeniden yazmaz; değişiklik günlüğüne (<dosya>.wal) eklenir.
+    // Dosya sabit genişlikli düzendeyse ve öğrencinin bekleyen günlük/segment kaydı yoksa değerler
+    // doğrudan satırdaki yerlerine yazılır (günlüğe gerek kalmaz).
+    // Öğrenci dosyada yoksa hiçbir şey yazılmaz. Günlük eşiği aşarsa checkpoint yapılır.
+    private static void gunlugeYaz(String dosyaYolu, List<DersKaydiDegisikligi> degisiklikler) throws IOException {
+        if (degisiklikler.isEmpty()) return;
+        int ogrenciId = degisiklikler.get(0).ogrenciId;
+        dosyaYolu = OgrenciParcalari.ogrenciDosyasi(dosyaYolu, ogrenciId);
+        if (!OgrenciIndeksi.al(dosyaYolu).iceriyor(ogrenciId)) return;
+
+        DegisiklikGunlugu gunluk = DegisiklikGunlugu.al(dosyaYolu);
+        int genislik = SabitGenislikDuzeni.genislik(dosyaYolu);
+        if (genislik > 0) {
+            synchronized (gunluk) {
+                if (gunluk.ogrenciIcin(ogrenciId).isEmpty()
+                        && DeltaSegmentleri.al(dosyaYolu).satir(ogrenciId) == null
+                        && SabitGenislikDuzeni.yerindeYaz(dosyaYolu, genislik, degisiklikler)) {
+                    VeriOnbellegi.degisti(dosyaYolu);
+                    OgrenciOnbellegi.yazildi(dosyaYolu, ogrenciId);
+                    return;
                 }
+            }
+        }
+        gunluk.ekle(degisiklikler);
+        VeriOnbellegi.degisti(dosyaYolu);
+        OgrenciOnbellegi.yazildi(dosyaYolu, ogrenciId);
+        if (gunluk.kayitSayisi() >= DegisiklikGunlugu.CHECKPOINT_ESIGI) {
+            gunlukCheckpoint(dosyaYolu);
+        }
+    }
 
-                if (!dersBulundu) {
-                    // Bu öğrenci o dersi/öğretmeni yoksa veri tutarlılığı bozulmasın diye eklemiyoruz.
-                    // Sadece var olan kaydı güncelleriz.
-                }
-                // Tek satır garantisi (dosya bozulmasın): item stringlerinde newline olamaz.
-                String aldigiTekSatir = aldigiYeni.toString().replace("\r", "").replace("\n", "");
-                p[6] = aldigiTekSatir;
+    // Değişiklik günlüğünü bir delta segmentine katlar ve günlüğü sıfırlar. Katlanan kayıt sayısını döndürür.
+    public static int gunlukCheckpoint(String dosyaYolu) throws IOException {
+        List<String> parcalar = parcalar(dosyaYolu);
+        if (parcalar != null) return topla(OgrenciParcalari.paralel(parcalar, DosyaIslemleri::gunlukCheckpoint));
+        DegisiklikGunlugu gunluk = DegisiklikGunlugu.al(dosyaYolu);
+        synchronized (gunluk) {
+            int adet = gunluk.kayitSayisi();
+            if (adet == 0) return 0;
+            degisiklikleriSegmenteYaz(dosyaYolu, gunluk, gunluk.tumu());
+            return adet;
+        }
+    }
 
-                String yeniLine = String.join(";", p).replace("\r", "").replace("\n", "");
-                lines.add(yeniLine);
-                bulundu = true;
+    // Toplu güncelleme: birçok öğrenci/ders için vize/final/not/dev değişikliklerini tek bir delta
+    // segmentine yazar (örn. bir sınıfın tüm notları). Değişiklikler verilen sırayla uygulanır;
+    // günlükte bekleyen (daha eski) kayıtlar da aynı segmente katlanır.
+    // Dosyada bulunan ve değişiklik alan öğrenci sayısını döndürür.
+    public static int ogrenciDersKayitlariTopluGuncelle(String dosyaYolu,
+                                                         java.util.Collection<DersKaydiDegisikligi> degisiklikler) throws IOException {
+        List<String> parcalar = parcalar(dosyaYolu);
+        if (parcalar != null) {
+            // Her parça kendi segmentine yazar; parçalar birbirini beklemez.
+            Map<String, List<DersKaydiDegisikligi>> parcaBazli = new HashMap<>();
+            for (DersKaydiDegisikligi d : degisiklikler) {
+                parcaBazli.computeIfAbsent(OgrenciParcalari.ogrenciDosyasi(dosyaYolu, d.ogrenciId), k -> new ArrayList<>()).add(d);
             }
+            return topla(OgrenciParcalari.paralel(new ArrayList<>(parcaBazli.keySet()),
+                    parca -> ogrenciDersKayitlariTopluGuncelle(parca, parcaBazli.get(parca))));
         }
+        DegisiklikGunlugu gunluk = DegisiklikGunlugu.al(dosyaYolu);
+        synchronized (gunluk) {
+            Map<Integer, List<DersKaydiDegisikligi>> ogrenciBazli = gunluk.tumu();
+            for (DersKaydiDegisikligi d : degisiklikler) {
+                ogrenciBazli.computeIfAbsent(d.ogrenciId, k -> new ArrayList<>()).add(d);
+            }
+            if (ogrenciBazli.isEmpty()) return 0;
+            return degisiklikleriSegmenteYaz(dosyaYolu, gunluk, ogrenciBazli);
+        }
+    }
 
-        if (!bulundu) {
-            // Öğrenci bulunamadıysa dosyayı değiştirmeyelim.
-            return;
+    // ogrenciId -> değişiklikler haritasını uygular: değişen öğrencilerin yeni satırları tek bir delta segmentine
+    // yazılır (ana dosya yeniden yazılmaz), ardından günlük sıfırlanır. Segment yazılıp günlük silinmeden önce
+    // çökerse günlük duruyor olur ve değişiklikler (aynı değerin tekrar set edilmesi olduğu için) güvenle
+    // yeniden uygulanır. Çok segment biriktiyse hemen ana dosyaya katlanır.
+    private static int degisiklikleriSegmenteYaz(String dosyaYolu,
+                                     DegisiklikGunlugu gunluk,
+                                     Map<Integer, List<DersKaydiDegisikligi>> ogrenciBazli) throws IOException {
+        DeltaSegmentleri segmentler = DeltaSegmentleri.al(dosyaYolu);
+        OgrenciIndeksi indeks = OgrenciIndeksi.al(dosyaYolu);
+        Map<Integer, String> yeniSatirlar = new HashMap<>();
+        for (Map.Entry<Integer, List<DersKaydiDegisikligi>> e : ogrenciBazli.entrySet()) {
+            String line = segmentler.satir(e.getKey());
+            if (line == null) line = indeks.satirOku(e.getKey());
+            if (line == null) continue;
+            yeniSatirlar.put(e.getKey(), satiraDegisiklikleriUygula(line, e.getValue()));
         }
+        segmentler.ekle(yeniSatirlar);
+        gunluk.sifirla();
+        VeriOnbellegi.degisti(dosyaYolu);
+        if (segmentler.segmentSayisi() >= DeltaSegmentleri.ZORUNLU_KATLAMA) {
+            deltaSegmentleriniKatla(dosyaYolu);
+        }
+        return yeniSatirlar.size();
+    }
 
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(dosyaYolu, false))) {
-            for (int i = 0; i < lines.size(); i++) {
-                bw.write(lines.get(i));
-                if (i < lines.size() - 1) bw.newLine();
+    // Delta segmentlerini ana dosyaya tek geçişte katlar ve siler. Katlanan öğrenci satırı sayısını döndürür.
+    // Arka plan sıkıştırıcı ve migrate (ana dosyayı doğrudan okuyan) bunu önce çağırır.
+    public static int deltaSegmentleriniKatla(String dosyaYolu) throws IOException {
+        if (!new File(dosyaYolu).exists()) return 0;
+        List<String> parcalar = parcalar(dosyaYolu);
+        if (parcalar != null) return topla(OgrenciParcalari.paralel(parcalar, DosyaIslemleri::deltaSegmentleriniKatla));
+        DegisiklikGunlugu gunluk = DegisiklikGunlugu.al(dosyaYolu);
+        synchronized (gunluk) {
+            DeltaSegmentleri segmentler = DeltaSegmentleri.al(dosyaYolu);
+            Map<Integer, String> birlesik = segmentler.birlesik();
+            if (birlesik.isEmpty()) {
+                segmentler.temizle();
+                return 0;
             }
+            tekGecisteDegistir(dosyaYolu, birlesik, (line, yeni) -> yeni);
+            segmentler.temizle();
+            VeriOnbellegi.degisti(dosyaYolu);
+            return birlesik.size();
         }
     }
 
-    // v3: vize/final güncellemesi (prog dahil diğer alanları korur).
-    // vize/final null => değişiklik yok.
-    public static void ogrenciDersKaydiGuncelleV3_VizeFinal(String dosyaYolu,
-                                                           int ogrenciId,
-                                                           String dersKodu,
-                                                           int ogretmenId,
-                                                           Integer vize,
-                                                           Integer fin) throws IOException {
-        List<String> lines = new ArrayList<>();
-        boolean bulundu = false;
+    // Haritadaki her öğrencinin satırını donustur(satir, deger) sonucu ile değiştirir, diğer satırlar aynen kalır.
+    // Tek öğrenci indeks üzerinden yerinde, birden çoksa tüm dosya tek geçişte geçici dosyaya yazılıp taşınır.
+    // Çağıran, dosyayı yazan diğer işlemlerle yarışmamak için öğrencinin günlüğünü kilitlemiş olmalı.
+    static <T> int tekGecisteDegistir(String dosyaYolu,
+                                      Map<Integer, T> ogrenciBazli,
+                                      java.util.function.BiFunction<String, T, String> donustur) throws IOException {
+        int genislik = SabitGenislikDuzeni.genislik(dosyaYolu);
+        if (genislik > 0) {
+            // Sabit genişlikli dosyada yazılan satırlar da dolgulu kalmalı.
+            java.util.function.BiFunction<String, T, String> asil = donustur;
+            donustur = (line, deger) -> SabitGenislikDuzeni.satiriSabitle(asil.apply(line, deger), genislik);
+        }
+        int guncellenen = 0;
+        if (ogrenciBazli.size() == 1) {
+            // Tek öğrenci: sadece o satırı değiştir.
+            Map.Entry<Integer, T> e = ogrenciBazli.entrySet().iterator().next();
+            OgrenciIndeksi indeks = OgrenciIndeksi.al(dosyaYolu);
+            String line = indeks.satirOku(e.getKey());
+            if (line != null) {
+                String yeniLine = donustur.apply(line, e.getValue());
+                if (!yeniLine.equals(line)) indeks.satirDegistir(e.getKey(), yeniLine);
+                guncellenen = 1;
+            }
+            VeriOnbellegi.degisti(dosyaYolu);
+            return guncellenen;
+        }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(dosyaYolu))) {
+        File kaynak = new File(dosyaYolu);
+        File gecici = new File(dosyaYolu + ".tmp");
+        try (BufferedReader br = new BufferedReader(new FileReader(kaynak, StandardCharsets.UTF_8));
+             BufferedWriter bw = new BufferedWriter(new FileWriter(gecici, StandardCharsets.UTF_8, false))) {
             String line;
+            boolean ilk = true;
             while ((line = br.readLine()) != null) {
-                String rawLine = line;
+                String yaz = line;
                 String trimmed = line.trim();
-                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
-                    lines.add(rawLine);
-                    continue;
-                }
-
-                String[] p = trimmed.split(";", -1);
-                if (p.length < 7) {
-                    lines.add(rawLine);
-                    continue;
-                }
-
-                int id = Integer.parseInt(p[0].trim());
-                if (id != ogrenciId) {
-                    lines.add(rawLine);
-                    continue;
-                }
-
-                String aldigi = p[6].trim();
-                List<String> itemsRaw = aldigi.isBlank() ? new ArrayList<>() : aldigiDerslerTokenizeGuvenli(aldigi);
-
-                StringBuilder aldigiYeni = new StringBuilder();
-                for (String it : itemsRaw) {
-                    if (it == null || it.trim().isEmpty()) continue;
-                    for (EmbeddedDersKaydi dk : embeddedKayitlariTokenIcindanCikar(it)) {
-                        if (dk == null) continue;
-                        if (dk.dersKodu.equalsIgnoreCase(dersKodu) && dk.ogretmenId == ogretmenId) {
-                            if (vize != null) dk.vizeDegeri = String.valueOf(vize);
-                            if (fin != null) dk.finalDegeri = String.valueOf(fin);
-                        }
-                        if (aldigiYeni.length() > 0) aldigiYeni.append("|");
-                        aldigiYeni.append(dk.toItemString());
+                if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                    T deger = ogrenciBazli.get(satirIdsi(trimmed));
+                    if (deger != null) {
+                        yaz = donustur.apply(trimmed, deger);
+                        guncellenen++;
                     }
                 }
-
-                // Ders bulunamadıysa eklemiyoruz.
-                p[6] = aldigiYeni.toString().replace("\r", "").replace("\n", "");
-                lines.add(String.join(";", p).replace("\r", "").replace("\n", ""));
-                bulundu = true;
+                if (!ilk) bw.newLine();
+                bw.write(yaz);
+                ilk = false;
             }
         }
+        OgrenciIndeksi.tasi(gecici, kaynak);
+        OgrenciIndeksi.dosyaYenidenYazildi(dosyaYolu);
+        VeriOnbellegi.degisti(dosyaYolu);
+        return guncellenen;
+    }
 
-        if (!bulundu) return;
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(dosyaYolu, false))) {
-            for (int i = 0; i < lines.size(); i++) {
-                bw.write(lines.get(i));
-                if (i < lines.size() - 1) bw.newLine();
+    // Öğrenci satırına değişiklikleri sırayla uygular; aldigiDersler kanonik (v3) formatta yeniden yazılır.
+    // Ders/öğretmen eşleşmeyen değişiklikler yok sayılır (kayıt eklenmez).
+    static String satiraDegisiklikleriUygula(String line, List<DersKaydiDegisikligi> degisiklikler) {
+        String[] p = ogrenciSatiriBol(line);
+        if (p.length < 7) return line;
+
+        String aldigi = p[6].trim();
+        StringBuilder aldigiYeni = new StringBuilder();
+        // Bazı bozuk dosyalarda tek token içinde birden fazla kayıt olabilir; aldigiDerslerCoz ayırır.
+        for (EmbeddedDersKaydi dk : aldigiDerslerCoz(aldigi)) {
+            for (DersKaydiDegisikligi d : degisiklikler) {
+                if (d.eslesir(dk)) d.uygula(dk);
             }
+            if (aldigiYeni.length() > 0) aldigiYeni.append("|");
+            aldigiYeni.append(dk.toItemString());
+        }
+
+        // Tek satır garantisi (dosya bozulmasın): item stringlerinde newline olamaz.
+        p[6] = aldigiYeni.toString().replace("\r", "").replace("\n", "");
+        return String.join(";", p).replace("\r", "").replace("\n", "");
+    }
+
+    private static int topla(List<Integer> sayilar) {
+        int toplam = 0;
+        for (int n : sayilar) toplam += n;
+        return toplam;
+    }
+
+    private static Integer satirIdsi(String satir) {
+        int noktaliVirgul = satir.indexOf(';');
+        if (noktaliVirgul < 0) return null;
+        try {
+            return Integer.parseInt(satir.substring(0, noktaliVirgul).trim());
+        } catch (NumberFormatException e) {
+            return null;
         }
     }
 
     // ===== Yeni format: idare.txt (ADMIN) =====
     // id;username;password;email;ad;soyad
     public static List<SistemKullanicisi> idareKullanicilariOku(String dosyaYolu) throws IOException {
+        return new ArrayList<>(VeriOnbellegi.al(dosyaYolu, "idareKullanicilari", () -> idareKullanicilariOkuDiskten(dosyaYolu)));
+    }
+
+    private static List<SistemKullanicisi> idareKullanicilariOkuDiskten(String dosyaYolu) throws IOException {
         List<SistemKullanicisi> sonuc = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(dosyaYolu))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty() || line.startsWith("#")) continue;
-                String[] p = line.split(";", -1);
-                if (p.length < 6) continue;
+        BlokluSatirOkuyucu.gez(dosyaYolu, 0, satir -> {
+            if (satir.alanSayisi() < 6) return;
 
-                int id = Integer.parseInt(p[0].trim());
-                String username = p[1].trim();
-                String password = p[2];
-                String email = p[3].trim();
+            int id = satir.alanInt(0);
+            String username = satir.alan(1);
+            String password = satir.alanHam(2);
+            String email = satir.alan(3);
 
-                sonuc.add(new SistemKullanicisi(id, username, password, email, Rol.ADMIN));
-            }
-        }
+            sonuc.add(new SistemKullanicisi(id, username, password, email, Rol.ADMIN));
+        });
         return sonuc;
     }
 
@@ -517,50 +1019,48 @@ public class DosyaIslemleri {
     // id;username;password;email;ad;soyad;dersler
     // dersler: MAT101|FIZ201|CMP203
     public static List<SistemKullanicisi> ogretmenKullanicilariOku(String dosyaYolu) throws IOException {
+        return new ArrayList<>(VeriOnbellegi.al(dosyaYolu, "ogretmenKullanicilari", () -> ogretmenKullanicilariOkuDiskten(dosyaYolu)));
+    }
+
+    private static List<SistemKullanicisi> ogretmenKullanicilariOkuDiskten(String dosyaYolu) throws IOException {
         List<SistemKullanicisi> sonuc = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(dosyaYolu))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty() || line.startsWith("#")) continue;
-                String[] p = line.split(";", -1);
-                if (p.length < 7) continue;
-
-                int id = Integer.parseInt(p[0].trim());
-                String username = p[1].trim();
-                String password = p[2];
-                String email = p[3].trim();
-
-                // Dersleri login objesine gömmüyoruz (mevcut imzaları bozmamak için).
-                sonuc.add(new SistemKullanicisi(id, username, password, email, Rol.OGRETMEN));
-            }
-        }
+        BlokluSatirOkuyucu.gez(dosyaYolu, 0, satir -> {
+            if (satir.alanSayisi() < 7) return;
+
+            int id = satir.alanInt(0);
+            String username = satir.alan(1);
+            String password = satir.alanHam(2);
+            String email = satir.alan(3);
+
+            // Dersleri login objesine gömmüyoruz (mevcut imzaları bozmamak için).
+            sonuc.add(new SistemKullanicisi(id, username, password, email, Rol.OGRETMEN));
+        });
         return sonuc;
     }
 
     // ogretmenler.txt içinden öğretmenId -> dersKodları map'i
     public static Map<Integer, List<String>> ogretmenDersleriOku(String dosyaYolu) throws IOException {
+        Map<Integer, List<String>> onbellek = VeriOnbellegi.al(dosyaYolu, "ogretmenDersleri", () -> ogretmenDersleriOkuDiskten(dosyaYolu));
         Map<Integer, List<String>> sonuc = new HashMap<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(dosyaYolu))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty() || line.startsWith("#")) continue;
-                String[] p = line.split(";", -1);
-                if (p.length < 7) continue;
-
-                int id = Integer.parseInt(p[0].trim());
-                String dersler = p[6].trim();
-                List<String> list = new ArrayList<>();
-                if (!dersler.isBlank()) {
-                    String[] items = dersler.split("\\|", -1);
-                    for (String it : items) {
-                        if (!it.isBlank()) list.add(it.trim());
-                    }
+        for (Map.Entry<Integer, List<String>> e : onbellek.entrySet()) sonuc.put(e.getKey(), new ArrayList<>(e.getValue()));
+        return sonuc;
+    }
+
+    private static Map<Integer, List<String>> ogretmenDersleriOkuDiskten(String dosyaYolu) throws IOException {
+        Map<Integer, List<String>> sonuc = new HashMap<>();
+        BlokluSatirOkuyucu.gez(dosyaYolu, 0, satir -> {
+            if (satir.alanSayisi() < 7) return;
+
+            int id = satir.alanInt(0);
+            List<String> list = new ArrayList<>();
+            if (!satir.alanBosMu(6)) {
+                String[] items = satir.alan(6).split("\\|", -1);
+                for (String it : items) {
+                    if (!it.isBlank()) list.add(it.trim());
                 }
-                sonuc.put(id, list);
             }
-        }
+            sonuc.put(id, list);
+        });
         return sonuc;
     }
 
@@ -575,30 +1075,34 @@ public class DosyaIslemleri {
         Map<Integer, List<String>> ogretmenDersleri = ogretmenDersleriOku(ogretmenlerDosyaYolu);
         if (ogretmenDersleri.isEmpty()) return "";
 
-        // dersKodu -> öğretmenId listesi
-        Map<String, List<Integer>> dersOgretmenleri = new HashMap<>();
+        // ders id -> öğretmenId listesi
+        IntHashMap<List<Integer>> dersOgretmenleri = new IntHashMap<>();
+        List<Integer> dersHavuzu = new ArrayList<>();
         for (Map.Entry<Integer, List<String>> e : ogretmenDersleri.entrySet()) {
             int ogretmenId = e.getKey();
             for (String ders : e.getValue()) {
-                if (ders == null) continue;
-                String d = ders.trim();
-                if (d.isEmpty()) continue;
-                dersOgretmenleri.computeIfAbsent(d, k -> new ArrayList<>()).add(ogretmenId);
+                if (ders == null || ders.isBlank()) continue;
+                int dersId = DersKatalogu.id(ders);
+                List<Integer> ogretmenler = dersOgretmenleri.get(dersId);
+                if (ogretmenler == null) {
+                    ogretmenler = new ArrayList<>();
+                    dersOgretmenleri.put(dersId, ogretmenler);
+                    dersHavuzu.add(dersId);
+                }
+                ogretmenler.add(ogretmenId);
             }
         }
-        if (dersOgretmenleri.isEmpty()) return "";
+        if (dersHavuzu.isEmpty()) return "";
 
-        List<String> dersHavuzu = new ArrayList<>(dersOgretmenleri.keySet());
         java.util.Collections.shuffle(dersHavuzu);
 
         int secilecek = Math.min(dersAdedi, dersHavuzu.size());
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < secilecek; i++) {
-            String dersKodu = dersHavuzu.get(i);
-            List<Integer> ogretmenler = dersOgretmenleri.get(dersKodu);
-            if (ogretmenler == null || ogretmenler.isEmpty()) continue;
+            int dersId = dersHavuzu.get(i);
+            List<Integer> ogretmenler = dersOgretmenleri.get(dersId);
             int ogretmenId = ogretmenler.get((int) (Math.random() * ogretmenler.size()));
-            EmbeddedDersKaydi dk = new EmbeddedDersKaydi(dersKodu, ogretmenId, "-", "-");
+            EmbeddedDersKaydi dk = new EmbeddedDersKaydi(DersKatalogu.kod(dersId), ogretmenId, "-", "-");
             if (sb.length() > 0) sb.append('|');
             sb.append(dk.toItemString());
         }
@@ -608,34 +1112,34 @@ public class DosyaIslemleri {
     // ===== Yeni format: ogrenciler_yeni.txt =====
     // id;username;ad;soyad;email;aldigiDersler
     // aldigiDersler: dersKodu:ogretmenId|dersKodu:ogretmenId
-    public static Map<Integer, Map<String, Integer>> ogrenciDersOgretmenMapOku(String dosyaYolu) throws IOException {
-        Map<Integer, Map<String, Integer>> sonuc = new HashMap<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(dosyaYolu))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty() || line.startsWith("#")) continue;
-                String[] p = line.split(";", -1);
-                if (p.length < 6) continue;
-
-                int ogrId = Integer.parseInt(p[0].trim());
-                String aldigi = p[5].trim();
-                Map<String, Integer> dersOgretmen = new HashMap<>();
-                if (!aldigi.isBlank()) {
-                    String[] items = aldigi.split("\\|", -1);
-                    for (String item : items) {
-                        if (item.isBlank()) continue;
-                        String[] kv = item.split(":", 2);
-                        if (kv.length != 2) continue;
-                        String dersKodu = kv[0].trim();
-                        int ogretmenId = Integer.parseInt(kv[1].trim());
-                        // Aynı dersin farklı öğretmeni olmaması gerekir; burada son değeri yazar (veri hatası).
-                        dersOgretmen.put(dersKodu, ogretmenId);
-                    }
+    // ogrenciId -> (ders id -> ogretmenId)
+    public static Map<Integer, IntHashMap<Integer>> ogrenciDersOgretmenMapOku(String dosyaYolu) throws IOException {
+        List<String> parcalar = parcalar(dosyaYolu);
+        if (parcalar != null) return birlestir(OgrenciParcalari.paralel(parcalar, DosyaIslemleri::ogrenciDersOgretmenMapOku));
+        return ikiSeviyeKopya(VeriOnbellegi.al(dosyaYolu, "ogrenciDersOgretmenV1", () -> ogrenciDersOgretmenMapOkuDiskten(dosyaYolu)));
+    }
+
+    private static Map<Integer, IntHashMap<Integer>> ogrenciDersOgretmenMapOkuDiskten(String dosyaYolu) throws IOException {
+        Map<Integer, IntHashMap<Integer>> sonuc = new HashMap<>();
+        BlokluSatirOkuyucu.gez(dosyaYolu, 0, satir -> {
+            if (satir.alanSayisi() < 6) return;
+
+            int ogrId = satir.alanInt(0);
+            IntHashMap<Integer> dersOgretmen = new IntHashMap<>(8);
+            if (!satir.alanBosMu(5)) {
+                String[] items = satir.alan(5).split("\\|", -1);
+                for (String item : items) {
+                    if (item.isBlank()) continue;
+                    String[] kv = item.split(":", 2);
+                    if (kv.length != 2) continue;
+                    int dersId = DersKatalogu.id(kv[0]);
+                    int ogretmenId = Integer.parseInt(kv[1].trim());
+                    // Aynı dersin farklı öğretmeni olmaması gerekir; burada son değeri yazar (veri hatası).
+                    dersOgretmen.put(dersId, ogretmenId);
                 }
-                sonuc.put(ogrId, dersOgretmen);
             }
-        }
+            sonuc.put(ogrId, dersOgretmen);
+        });
         return sonuc;
     }
 
@@ -643,51 +1147,58 @@ public class DosyaIslemleri {
     // id;username;password;ad;soyad;email;aldigiDersler
     // aldigiDersler: dersKodu:ogretmenId|dersKodu:ogretmenId
     public static List<SistemKullanicisi> ogrenciKullanicilariOkuV2(String dosyaYolu) throws IOException {
+        List<String> parcalar = parcalar(dosyaYolu);
+        if (parcalar != null) {
+            List<SistemKullanicisi> sonuc = new ArrayList<>();
+            for (List<SistemKullanicisi> l : OgrenciParcalari.paralel(parcalar, DosyaIslemleri::ogrenciKullanicilariOkuV2)) sonuc.addAll(l);
+            return sonuc;
+        }
+        return new ArrayList<>(VeriOnbellegi.al(dosyaYolu, "ogrenciKullanicilari", () -> ogrenciKullanicilariOkuV2Diskten(dosyaYolu)));
+    }
+
+    private static List<SistemKullanicisi> ogrenciKullanicilariOkuV2Diskten(String dosyaYolu) throws IOException {
         List<SistemKullanicisi> sonuc = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(dosyaYolu))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty() || line.startsWith("#")) continue;
-                String[] p = line.split(";", -1);
-                if (p.length < 7) continue;
+        BlokluSatirOkuyucu.gez(dosyaYolu, 7, DeltaSegmentleri.al(dosyaYolu).birlesik(), satir -> {
+            if (satir.alanSayisi() < 7) return;
 
-                int id = Integer.parseInt(p[0].trim());
-                String username = p[1].trim();
-                String password = p[2];
-                String email = p[5].trim();
+            int id = satir.alanInt(0);
+            String username = satir.alan(1);
+            String password = satir.alanHam(2);
+            String email = satir.alan(5);
 
-                sonuc.add(new SistemKullanicisi(id, username, password, email, Rol.OGRENCI));
-            }
-        }
+            sonuc.add(new SistemKullanicisi(id, username, password, email, Rol.OGRENCI));
+        });
         return sonuc;
     }
 
-    public static Map<Integer, Map<String, Integer>> ogrenciDersOgretmenMapOkuV2(String dosyaYolu) throws IOException {
-        Map<Integer, Map<String, Integer>> sonuc = new HashMap<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(dosyaYolu))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty() || line.startsWith("#")) continue;
-                String[] p = line.split(";", -1);
-                if (p.length < 7) continue;
-
-                int ogrId = Integer.parseInt(p[0].trim());
-                String aldigi = p[6].trim();
-                Map<String, Integer> dersOgretmen = new HashMap<>();
-                if (!aldigi.isBlank()) {
-                    List<String> items = aldigiDerslerTokenizeGuvenli(aldigi);
-                    for (String it : items) {
-                        for (EmbeddedDersKaydi dk : embeddedKayitlariTokenIcindanCikar(it)) {
-                            if (dk == null) continue;
-                            dersOgretmen.put(dk.dersKodu, dk.ogretmenId);
-                        }
-                    }
+    // ogrenciId -> (ders id -> ogretmenId)
+    public static Map<Integer, IntHashMap<Integer>> ogrenciDersOgretmenMapOkuV2(String dosyaYolu) throws IOException {
+        List<String> parcalar = parcalar(dosyaYolu);
+        if (parcalar != null) return birlestir(OgrenciParcalari.paralel(parcalar, DosyaIslemleri::ogrenciDersOgretmenMapOkuV2));
+        return ikiSeviyeKopya(VeriOnbellegi.al(dosyaYolu, "ogrenciDersOgretmen", () -> ogrenciDersOgretmenMapOkuV2Diskten(dosyaYolu)));
+    }
+
+    // Parça sonuçlarını tek haritada birleştirir (parçalar id'ye göre ayrık).
+    private static <V> Map<Integer, V> birlestir(List<Map<Integer, V>> parcaSonuclari) {
+        Map<Integer, V> sonuc = new HashMap<>();
+        for (Map<Integer, V> m : parcaSonuclari) sonuc.putAll(m);
+        return sonuc;
+    }
+
+    private static Map<Integer, IntHashMap<Integer>> ogrenciDersOgretmenMapOkuV2Diskten(String dosyaYolu) throws IOException {
+        Map<Integer, IntHashMap<Integer>> sonuc = new HashMap<>();
+        BlokluSatirOkuyucu.gez(dosyaYolu, 7, DeltaSegmentleri.al(dosyaYolu).birlesik(), satir -> {
+            if (satir.alanSayisi() < 7) return;
+
+            int ogrId = satir.alanInt(0);
+            IntHashMap<Integer> dersOgretmen = new IntHashMap<>(8);
+            if (!satir.alanBosMu(6)) {
+                for (EmbeddedDersKaydi dk : aldigiDerslerCoz(satir.alan(6))) {
+                    dersOgretmen.put(dk.dersId, dk.ogretmenId);
                 }
-                sonuc.put(ogrId, dersOgretmen);
             }
-        }
+            sonuc.put(ogrId, dersOgretmen);
+        });
         return sonuc;
     }
 
@@ -695,86 +1206,109 @@ public class DosyaIslemleri {
     // - Eski item'lar (DERS:OGRT veya :not/dev) korunur ve v3 formuna yazılır.
     // - prog boşsa ve ogretmenProgramlari verildiyse doldurulur.
     // - Dosya başlık satırları (#) korunur.
-    public static boolean ogrencilerDosyasiMigrateV3(String ogrencilerDosyaYolu,
-                                                     Map<Integer, Map<String, List<String>>> ogretmenProgramlari) throws IOException {
-        List<String> lines = new ArrayList<>();
-        boolean degisti = false;
-
-        try (BufferedReader br = new BufferedReader(new FileReader(ogrencilerDosyaYolu))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                String rawLine = line;
-                String trimmed = line.trim();
-                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
-                    lines.add(rawLine);
-                    continue;
+    // Aynı ders kaydı tek token içinde şişmiş olabilir. Kayıtları dersKodu+ogretmenId bazında
+    // tekilleştirir (en son görülen değerler kalır) ve kanonik v3 aldigiDersler döndürür.
+    // ogretmenProgramlari null değilse prog'u eksik kayıtlar öğretmenin programıyla doldurulur.
+    static String aldigiDerslerTekillestir(String aldigi, Map<Integer, Map<String, List<String>>> ogretmenProgramlari) {
+        Map<Long, EmbeddedDersKaydi> uniq = new HashMap<>();
+
+        for (EmbeddedDersKaydi dk : aldigiDerslerCoz(aldigi)) {
+            // prog eksikse doldur
+            if (!dk.programVarMi() && ogretmenProgramlari != null) {
+                Map<String, List<String>> dersMap = ogretmenProgramlari.get(dk.ogretmenId);
+                if (dersMap != null) {
+                    List<String> slots = dersMap.get(dk.dersKodu());
+                    if (slots != null && !slots.isEmpty()) dk.programAyarla(String.join(",", slots));
                 }
+            }
 
-                String[] p = trimmed.split(";", -1);
-                if (p.length < 7) {
-                    lines.add(rawLine);
-                    continue;
-                }
+            // uniq key: ders id + ogretmen
+            uniq.put(((long) dk.dersId << 32) | (dk.ogretmenId & 0xFFFFFFFFL), dk);
+        }
 
-                String aldigi = p[6].trim();
-                if (aldigi.isBlank()) {
-                    lines.add(rawLine);
-                    continue;
-                }
+        // uniq map'i tekrar '|' ile yaz. Sıralama: deterministik olsun diye "DERSKODU:ogretmenId" metnine göre.
+        List<EmbeddedDersKaydi> kayitlar = new ArrayList<>(uniq.values());
+        kayitlar.sort(java.util.Comparator.comparing(dk -> dk.dersKodu() + ":" + dk.ogretmenId));
+        StringBuilder yeni = new StringBuilder();
+        for (EmbeddedDersKaydi dk : kayitlar) {
+            String canon = dk.toItemString();
+            if (yeni.length() > 0) yeni.append('|');
+            yeni.append(canon);
+        }
+        return yeni.toString().replace("\r", "").replace("\n", "");
+    }
 
-                List<String> itemsRaw = aldigiDerslerTokenizeGuvenli(aldigi);
-                // Aynı ders kaydı tek token içinde şişmiş olabilir. Bu durumda kayıtları dersKodu+ogretmenId bazında
-                // tekilleştirip en son görülen değerleri alacağız.
-                Map<String, EmbeddedDersKaydi> uniq = new HashMap<>();
-
-                for (String it : itemsRaw) {
-                    for (EmbeddedDersKaydi dk : embeddedKayitlariTokenIcindanCikar(it)) {
-                        if (dk == null) continue;
-
-                        // prog eksikse doldur
-                        if ((dk.programDegeri == null || dk.programDegeri.isBlank()) && ogretmenProgramlari != null) {
-                            Map<String, List<String>> dersMap = ogretmenProgramlari.get(dk.ogretmenId);
-                            if (dersMap != null) {
-                                List<String> slots = dersMap.get(dk.dersKodu);
-                                if (slots != null && !slots.isEmpty()) dk.programDegeri = String.join(",", slots);
-                            }
-                        }
-
-                        // uniq key: ders+ogretmen
-                        String key = dk.dersKodu.toUpperCase() + ":" + dk.ogretmenId;
-                        uniq.put(key, dk);
+    // Öğrenci satırının kanonik (tekilleştirilmiş) hali; aldigiDersler dışındaki alanlar aynen kalır.
+    static String ogrenciSatiriTekillestir(String satir) {
+        String[] p = ogrenciSatiriBol(satir);
+        if (p.length < 7 || p[6].isBlank()) return satir;
+        p[6] = aldigiDerslerTekillestir(p[6].trim(), null);
+        return String.join(";", p).replace("\r", "").replace("\n", "");
+    }
+
+    public static boolean ogrencilerDosyasiMigrateV3(String ogrencilerDosyaYolu,
+                                                     Map<Integer, Map<String, List<String>>> ogretmenProgramlari) throws IOException {
+        List<String> parcalar = parcalar(ogrencilerDosyaYolu);
+        if (parcalar != null) {
+            boolean herhangi = false;
+            for (boolean d : OgrenciParcalari.paralel(parcalar, parca -> ogrencilerDosyasiMigrateV3(parca, ogretmenProgramlari))) {
+                herhangi |= d;
+            }
+            return herhangi;
+        }
+        // Diğer yazanlarla yarışmamak için günlük kilidi altında; dosya geçici dosyaya yazılıp taşınır.
+        synchronized (DegisiklikGunlugu.al(ogrencilerDosyaYolu)) {
+            // Ana dosya doğrudan okunacak: bekleyen delta segmentleri önce katlanmalı.
+            deltaSegmentleriniKatla(ogrencilerDosyaYolu);
+            int genislik = SabitGenislikDuzeni.genislik(ogrencilerDosyaYolu);
+            List<String> lines = new ArrayList<>();
+            boolean degisti = false;
+
+            try (BufferedReader br = new BufferedReader(new FileReader(ogrencilerDosyaYolu, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    String rawLine = line;
+                    String trimmed = line.trim();
+                    if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                        lines.add(rawLine);
+                        continue;
                     }
-                }
 
-                // uniq map'i tekrar '|' ile yaz. Sıralama: deterministik olsun diye key'e göre.
-                List<String> keys = new ArrayList<>(uniq.keySet());
-                java.util.Collections.sort(keys);
-                StringBuilder yeni = new StringBuilder();
-                for (String k : keys) {
-                    EmbeddedDersKaydi dk = uniq.get(k);
-                    if (dk == null) continue;
-                    String canon = dk.toItemString();
-                    if (yeni.length() > 0) yeni.append('|');
-                    yeni.append(canon);
-                }
+                    String[] p = ogrenciSatiriBol(trimmed);
+                    if (p.length < 7) {
+                        lines.add(rawLine);
+                        continue;
+                    }
+
+                    String aldigi = p[6].trim();
+                    if (aldigi.isBlank()) {
+                        lines.add(rawLine);
+                        continue;
+                    }
 
-                // Kıyas: eski aldigi ile yeni değer
-                String yeniAldigi = yeni.toString().replace("\r", "").replace("\n", "");
-                if (!yeniAldigi.equals(p[6])) degisti = true;
-                p[6] = yeniAldigi;
-                lines.add(String.join(";", p).replace("\r", "").replace("\n", ""));
+                    // Kıyas: eski aldigi ile yeni değer
+                    String yeniAldigi = aldigiDerslerTekillestir(aldigi, ogretmenProgramlari);
+                    if (genislik > 0) yeniAldigi = SabitGenislikDuzeni.aldigiSabitle(yeniAldigi, genislik);
+                    if (!yeniAldigi.equals(p[6])) degisti = true;
+                    p[6] = yeniAldigi;
+                    lines.add(String.join(";", p).replace("\r", "").replace("\n", ""));
+                }
             }
-        }
 
-        if (!degisti) return false;
+            if (!degisti) return false;
 
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(ogrencilerDosyaYolu, false))) {
-            for (int i = 0; i < lines.size(); i++) {
-                bw.write(lines.get(i));
-                if (i < lines.size() - 1) bw.newLine();
+            File gecici = new File(ogrencilerDosyaYolu + ".tmp");
+            try (BufferedWriter bw = new BufferedWriter(new FileWriter(gecici, StandardCharsets.UTF_8, false))) {
+                for (int i = 0; i < lines.size(); i++) {
+                    bw.write(lines.get(i));
+                    if (i < lines.size() - 1) bw.newLine();
+                }
             }
+            OgrenciIndeksi.tasi(gecici, new File(ogrencilerDosyaYolu));
+            OgrenciIndeksi.dosyaYenidenYazildi(ogrencilerDosyaYolu);
+            VeriOnbellegi.degisti(ogrencilerDosyaYolu);
+            return true;
         }
-        return true;
     }
 
 }
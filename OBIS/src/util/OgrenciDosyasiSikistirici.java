@@ -0,0 +1,187 @@
+package util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// ogrenciler_yeni.txt için arka plan sıkıştırıcı. Her çalışmada önce delta segmentlerini ana dosyaya katlar.
+// Satırlarda zamanla tekrar eden ";final=-;not=-;dev=-;prog=..." zincirleri birikebiliyor. Her satır için
+// şişme oranı = satır boyu / tekilleştirilmiş (migrate ile aynı kural) satır boyu hesaplanır;
+// sadece eşiği aşan satırlar yeniden yazılır. Dosya son çalışmadan beri değişmediyse tarama yapılmaz.
+// Yeniden yazma günlük kilidi altında yapılır (checkpoint/toplu güncelleme/ekleme ile yarışmaz);
+// günlükte bekleyen değişiklikler ders+öğretmen anahtarıyla eşleştiği için sıkıştırmadan etkilenmez.
+// Parçalı dosyada (OgrenciParcalari) her parça ayrı ele alınır; rapor parçaların toplamıdır.
+public final class OgrenciDosyasiSikistirici {
+    public static final double VARSAYILAN_ESIK = 1.5;
+
+    // Tek bir sıkıştırma çalışmasının sonucu.
+    public static class Rapor {
+        public final int tarananSatir;
+        public final int sikistirilanSatir;
+        public final double enYuksekOran;
+        public final long oncekiBoy;
+        public final long sonrakiBoy;
+
+        public Rapor(int tarananSatir, int sikistirilanSatir, double enYuksekOran, long oncekiBoy, long sonrakiBoy) {
+            this.tarananSatir = tarananSatir;
+            this.sikistirilanSatir = sikistirilanSatir;
+            this.enYuksekOran = enYuksekOran;
+            this.oncekiBoy = oncekiBoy;
+            this.sonrakiBoy = sonrakiBoy;
+        }
+
+        public long geriKazanilanBayt() {
+            return oncekiBoy - sonrakiBoy;
+        }
+
+        @Override
+        public String toString() {
+            return "taranan=" + tarananSatir + ", sikistirilan=" + sikistirilanSatir
+                    + ", enYuksekOran=" + String.format("%.2f", enYuksekOran)
+                    + ", geriKazanilan=" + geriKazanilanBayt() + " bayt";
+        }
+    }
+
+    private final String dosyaYolu;
+    private final double esik;
+
+    private ScheduledExecutorService zamanlayici;
+    private long toplamGeriKazanilan;
+    private volatile Rapor sonRapor;
+    private volatile IOException sonHata;
+
+    // Son çalışmada görülen dosya (parça) boyu/zamanı (değişmediyse tekrar taranmaz): yol -> {boy, zaman}
+    private final Map<String, long[]> bilinenDurum = new HashMap<>();
+
+    public OgrenciDosyasiSikistirici(String dosyaYolu, double esik) {
+        if (esik < 1.0) throw new IllegalArgumentException("Eşik 1.0'dan küçük olamaz: " + esik);
+        this.dosyaYolu = dosyaYolu;
+        this.esik = esik;
+    }
+
+    // Arka planda periyodik çalıştırır (daemon thread, uygulama kapanışını engellemez).
+    public synchronized void baslat(long periyotSaniye) {
+        if (zamanlayici != null) return;
+        zamanlayici = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ogrenci-dosyasi-sikistirici");
+            t.setDaemon(true);
+            return t;
+        });
+        zamanlayici.scheduleWithFixedDelay(() -> {
+            try {
+                calistir();
+            } catch (IOException e) {
+                sonHata = e;
+            }
+        }, periyotSaniye, periyotSaniye, TimeUnit.SECONDS);
+    }
+
+    // Zamanlayıcıyı durdurur; süren bir çalışma varsa bitmesini bekler.
+    public void durdur() {
+        ScheduledExecutorService z;
+        synchronized (this) {
+            z = zamanlayici;
+            zamanlayici = null;
+        }
+        if (z == null) return;
+        z.shutdown();
+        try {
+            z.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Rapor sonRapor() {
+        return sonRapor;
+    }
+
+    public IOException sonHata() {
+        return sonHata;
+    }
+
+    public synchronized long toplamGeriKazanilanBayt() {
+        return toplamGeriKazanilan;
+    }
+
+    // Tek sıkıştırma çalışması (senkron). Dosya (hiçbir parça) son çalışmadan beri değişmediyse null döner.
+    public Rapor calistir() throws IOException {
+        if (!new File(dosyaYolu).exists()) return null;
+        List<String> parcalar = OgrenciParcalari.parcaYollari(dosyaYolu);
+        if (parcalar.size() == 1) {
+            Rapor rapor = calistir(parcalar.get(0));
+            if (rapor != null) sonRapor = rapor;
+            return rapor;
+        }
+
+        int taranan = 0, sikistirilan = 0;
+        double enYuksek = 1.0;
+        long oncekiBoy = 0, sonrakiBoy = 0;
+        boolean calisti = false;
+        for (String parca : parcalar) {
+            Rapor r = calistir(parca);
+            if (r == null) continue;
+            calisti = true;
+            taranan += r.tarananSatir;
+            sikistirilan += r.sikistirilanSatir;
+            enYuksek = Math.max(enYuksek, r.enYuksekOran);
+            oncekiBoy += r.oncekiBoy;
+            sonrakiBoy += r.sonrakiBoy;
+        }
+        if (!calisti) return null;
+        Rapor rapor = new Rapor(taranan, sikistirilan, enYuksek, oncekiBoy, sonrakiBoy);
+        sonRapor = rapor;
+        return rapor;
+    }
+
+    // Tek dosya (parça) için sıkıştırma.
+    private Rapor calistir(String dosyaYolu) throws IOException {
+        File f = new File(dosyaYolu);
+        if (!f.exists()) return null;
+
+        DegisiklikGunlugu gunluk = DegisiklikGunlugu.al(dosyaYolu);
+        synchronized (gunluk) {
+            // Önce delta segmentlerini ana dosyaya katla (LSM birleştirmesi); sıkıştırma ana dosya üzerinde çalışır.
+            DosyaIslemleri.deltaSegmentleriniKatla(dosyaYolu);
+            long oncekiBoy = f.length();
+            long zaman = f.lastModified();
+            synchronized (this) {
+                long[] bilinen = bilinenDurum.get(dosyaYolu);
+                if (bilinen != null && oncekiBoy == bilinen[0] && zaman == bilinen[1]) return null;
+            }
+
+            // Sabit genişlikli dosyada dolgu şişme sayılmaz: kıyas dolgulu kanonik satırla yapılır.
+            int genislik = SabitGenislikDuzeni.genislik(dosyaYolu);
+            Map<Integer, String> sikistirilacak = new HashMap<>();
+            int[] taranan = {0};
+            double[] enYuksek = {1.0};
+            BlokluSatirOkuyucu.gez(dosyaYolu, 7, satir -> {
+                if (satir.alanSayisi() < 7) return;
+                taranan[0]++;
+                String line = satir.satir();
+                String kanonik = DosyaIslemleri.ogrenciSatiriTekillestir(line);
+                if (genislik > 0) kanonik = SabitGenislikDuzeni.satiriSabitle(kanonik, genislik);
+                double oran = kanonik.isEmpty() ? 1.0 : (double) line.length() / kanonik.length();
+                if (oran > enYuksek[0]) enYuksek[0] = oran;
+                if (oran > esik) sikistirilacak.put(satir.alanInt(0), kanonik);
+            });
+
+            if (!sikistirilacak.isEmpty()) {
+                // Satır tarama ile yazma arasında değişmez (kilit); hesaplanan kanonik satır yazılır.
+                DosyaIslemleri.tekGecisteDegistir(dosyaYolu, sikistirilacak, (line, kanonik) -> kanonik);
+            }
+
+            Rapor rapor = new Rapor(taranan[0], sikistirilacak.size(), enYuksek[0], oncekiBoy, f.length());
+            synchronized (this) {
+                bilinenDurum.put(dosyaYolu, new long[]{f.length(), f.lastModified()});
+                toplamGeriKazanilan += rapor.geriKazanilanBayt();
+            }
+            return rapor;
+        }
+    }
+}
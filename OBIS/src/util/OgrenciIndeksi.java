@@ -0,0 +1,394 @@
+package util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// ogrenciler_yeni.txt için kalıcı id -> (offset, uzunluk) indeksi.
+// Dosyanın yanında "<dosya>.idx" olarak saklanır. Ana dosyanın boyu/mtime'ı indeksteki değerlerle
+// uyuşmuyorsa (dışarıdan düzenlenmişse) indeks baştan kurulur.
+//
+// .idx formatı: MAGIC, SURUM, dosyaBoyu, dosyaZamani, adet, ardından adet x (id, offset, uzunluk)
+public final class OgrenciIndeksi {
+    private static final int MAGIC = 0x4F424958; // "OBIX"
+    private static final int SURUM = 1;
+    private static final int BASLIK_BOYU = 4 + 4 + 8 + 8 + 4;
+    private static final int KAYIT_BOYU = 4 + 8 + 4;
+
+    // Açık indeksler: kanonik dosya yolu -> indeks
+    private static final Map<String, OgrenciIndeksi> ACIK_INDEKSLER = new HashMap<>();
+
+    private final File dosya;
+    private final File indeksDosyasi;
+
+    // Satırlar dosyadaki sırayla tutulur (offset artan). Kaydırma işlemi bu sayede basit kalır.
+    private int[] idler = new int[64];
+    private long[] offsetler = new long[64];
+    private int[] uzunluklar = new int[64];
+    private int adet;
+    // id -> satır sırası
+    private final Map<Integer, Integer> siralar = new HashMap<>();
+
+    private long dosyaBoyu = -1;
+    private long dosyaZamani = -1;
+
+    private OgrenciIndeksi(File dosya) {
+        this.dosya = dosya;
+        this.indeksDosyasi = new File(dosya.getPath() + ".idx");
+    }
+
+    // Dosya için güncel indeksi döndürür (gerekirse diskten yükler ya da yeniden kurar).
+    public static synchronized OgrenciIndeksi al(String dosyaYolu) throws IOException {
+        File f = new File(dosyaYolu);
+        String anahtar = f.getCanonicalPath();
+        OgrenciIndeksi idx = ACIK_INDEKSLER.get(anahtar);
+        if (idx == null) {
+            idx = new OgrenciIndeksi(f);
+            ACIK_INDEKSLER.put(anahtar, idx);
+        }
+        synchronized (idx) {
+            idx.tazele();
+        }
+        return idx;
+    }
+
+    public synchronized boolean iceriyor(int id) {
+        return siralar.containsKey(id);
+    }
+
+    public synchronized int size() {
+        return adet;
+    }
+
+    // Öğrencinin satırını tek bir konumlu okuma ile döndürür (trim edilmiş). Yoksa null.
+    public synchronized String satirOku(int id) throws IOException {
+        String satir = hamSatirOku(id);
+        return satir == null ? null : satir.trim();
+    }
+
+    // satirOku gibi ama kırpılmamış: satır içi bayt konumları indeksteki satır başına göre hesaplanabilsin.
+    synchronized String hamSatirOku(int id) throws IOException {
+        tazele();
+        String satir = konumdanOku(id);
+        if (satir != null && !idIleBasliyor(satir, id)) {
+            // Aynı boy/mtime ile dışarıdan yapılmış bir değişiklik: indeksi baştan kur.
+            yenidenKur();
+            satir = konumdanOku(id);
+        }
+        return satir;
+    }
+
+    // Satır başından satirIciKonum bayt ötesine aynı uzunlukta yazar (sabit genişlikli alanlar).
+    // Dosya boyu ve diğer satırların konumları değişmez. Öğrenci yoksa veya yazma satır dışına taşarsa false.
+    synchronized boolean satirIcindeYaz(int id, int satirIciKonum, byte[] veri) throws IOException {
+        tazele();
+        Integer sira = siralar.get(id);
+        if (sira == null || satirIciKonum < 0 || satirIciKonum + veri.length > uzunluklar[sira]) return false;
+        try (FileChannel ch = FileChannel.open(dosya.toPath(), StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.wrap(veri);
+            long pos = offsetler[sira] + satirIciKonum;
+            while (buf.hasRemaining()) pos += ch.write(buf, pos);
+            ch.force(false);
+        }
+        dosyaDurumunuAl();
+        if (indeksDosyasi.exists()) basligiYaz();
+        else kaydet();
+        return true;
+    }
+
+    // ogrenciEkleV2 sonrası: dosyanın sonuna eklenen satırı indekse yazar.
+    // Bu değişiklik .idx dosyasına da sadece ekleme olarak yansır (tam yeniden yazım yok).
+    synchronized void satirEklendi(int id, long offset, int uzunluk) throws IOException {
+        boolean yeni = !siralar.containsKey(id);
+        if (yeni) {
+            ekle(id, offset, uzunluk);
+        }
+        dosyaDurumunuAl();
+        if (!indeksDosyasi.exists()) {
+            kaydet();
+            return;
+        }
+        if (yeni) {
+            try (RandomAccessFile raf = new RandomAccessFile(indeksDosyasi, "rw")) {
+                raf.seek(BASLIK_BOYU + (long) (adet - 1) * KAYIT_BOYU);
+                raf.writeInt(id);
+                raf.writeLong(offset);
+                raf.writeInt(uzunluk);
+            }
+        }
+        basligiYaz();
+    }
+
+    // Tek bir öğrencinin satırını değiştirir; dosyanın geri kalanı parse edilmeden bayt olarak kopyalanır.
+    // Uzunluk aynıysa yerinde yazılır, değilse geçici dosya + atomik taşıma ile yazılır.
+    // Öğrenci indekste yoksa false döner ve dosyaya dokunulmaz.
+    synchronized boolean satirDegistir(int id, String yeniSatir) throws IOException {
+        tazele();
+        Integer sira = siralar.get(id);
+        if (sira == null) return false;
+
+        long offset = offsetler[sira];
+        int eskiUzunluk = uzunluklar[sira];
+        byte[] yeni = yeniSatir.replace("\r", "").replace("\n", "").getBytes(StandardCharsets.UTF_8);
+
+        if (yeni.length == eskiUzunluk) {
+            try (FileChannel ch = FileChannel.open(dosya.toPath(), StandardOpenOption.WRITE)) {
+                ByteBuffer buf = ByteBuffer.wrap(yeni);
+                long pos = offset;
+                while (buf.hasRemaining()) pos += ch.write(buf, pos);
+            }
+            dosyaDurumunuAl();
+            if (indeksDosyasi.exists()) {
+                basligiYaz();
+                return true;
+            }
+        } else {
+            File gecici = new File(dosya.getPath() + ".tmp");
+            try (FileChannel kaynak = FileChannel.open(dosya.toPath(), StandardOpenOption.READ);
+                 FileChannel hedef = FileChannel.open(gecici.toPath(), StandardOpenOption.CREATE,
+                         StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long boy = kaynak.size();
+                transfer(kaynak, 0, offset, hedef);
+                ByteBuffer buf = ByteBuffer.wrap(yeni);
+                while (buf.hasRemaining()) hedef.write(buf);
+                transfer(kaynak, offset + eskiUzunluk, boy - offset - eskiUzunluk, hedef);
+                hedef.force(true);
+            }
+            tasi(gecici, dosya);
+
+            int fark = yeni.length - eskiUzunluk;
+            uzunluklar[sira] = yeni.length;
+            for (int i = sira + 1; i < adet; i++) {
+                offsetler[i] += fark;
+            }
+        }
+        dosyaDurumunuAl();
+        kaydet();
+        return true;
+    }
+
+    // Dosya tamamen yeniden yazıldıysa (migrate vb.) çağrılır; indeks baştan kurulur.
+    static synchronized void dosyaYenidenYazildi(String dosyaYolu) throws IOException {
+        File f = new File(dosyaYolu);
+        String anahtar = f.getCanonicalPath();
+        OgrenciIndeksi idx = ACIK_INDEKSLER.get(anahtar);
+        if (idx == null) {
+            idx = new OgrenciIndeksi(f);
+            ACIK_INDEKSLER.put(anahtar, idx);
+        }
+        synchronized (idx) {
+            idx.yenidenKur();
+        }
+    }
+
+    // ===== İç işler =====
+
+    private void tazele() throws IOException {
+        if (!dosya.exists()) {
+            temizle();
+            dosyaBoyu = -1;
+            dosyaZamani = -1;
+            return;
+        }
+        if (dosya.length() == dosyaBoyu && dosya.lastModified() == dosyaZamani) return;
+        if (!disktenYukle()) {
+            yenidenKur();
+        }
+    }
+
+    private String konumdanOku(int id) throws IOException {
+        Integer sira = siralar.get(id);
+        if (sira == null) return null;
+        ByteBuffer buf = ByteBuffer.allocate(uzunluklar[sira]);
+        try (FileChannel ch = FileChannel.open(dosya.toPath(), StandardOpenOption.READ)) {
+            long pos = offsetler[sira];
+            while (buf.hasRemaining()) {
+                int n = ch.read(buf, pos);
+                if (n < 0) break;
+                pos += n;
+            }
+        }
+        return new String(buf.array(), 0, buf.position(), StandardCharsets.UTF_8);
+    }
+
+    private static boolean idIleBasliyor(String satir, int id) {
+        int noktaliVirgul = satir.indexOf(';');
+        if (noktaliVirgul < 0) return false;
+        try {
+            return Integer.parseInt(satir.substring(0, noktaliVirgul).trim()) == id;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private boolean disktenYukle() {
+        if (!indeksDosyasi.exists()) return false;
+        long boy = dosya.length();
+        long zaman = dosya.lastModified();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indeksDosyasi), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != SURUM) return false;
+            if (in.readLong() != boy || in.readLong() != zaman) return false;
+            int n = in.readInt();
+            temizle();
+            for (int i = 0; i < n; i++) {
+                int id = in.readInt();
+                long offset = in.readLong();
+                int uzunluk = in.readInt();
+                ekle(id, offset, uzunluk);
+            }
+            dosyaBoyu = boy;
+            dosyaZamani = zaman;
+            return true;
+        } catch (IOException e) {
+            // Bozuk/yarım .idx: baştan kurulacak.
+            temizle();
+            return false;
+        }
+    }
+
+    // Dosyayı bayt düzeyinde tarar; satır başındaki "id;" dışında hiçbir alan decode edilmez.
+    private void yenidenKur() throws IOException {
+        temizle();
+        final int BASLA = 0, ID = 1, ID_SONRASI = 2, ID_BITTI = 3, ATLA = 4;
+        long pos = 0;
+        long satirBas = 0;
+        int durum = BASLA;
+        int id = 0;
+        int onceki = -1;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(dosya), 1 << 16)) {
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\n') {
+                    if (durum == ID_BITTI) {
+                        int uzunluk = (int) (pos - satirBas - (onceki == '\r' ? 1 : 0));
+                        if (!siralar.containsKey(id)) ekle(id, satirBas, uzunluk);
+                    }
+                    satirBas = pos + 1;
+                    durum = BASLA;
+                    id = 0;
+                } else {
+                    switch (durum) {
+                        case BASLA:
+                            if (b >= '0' && b <= '9') {
+                                id = b - '0';
+                                durum = ID;
+                            } else if (b != ' ' && b != '\t' && b != '\r') {
+                                durum = ATLA; // yorum (#) veya bozuk satır
+                            }
+                            break;
+                        case ID:
+                            if (b >= '0' && b <= '9' && id < 100_000_000) {
+                                id = id * 10 + (b - '0');
+                            } else if (b == ';') {
+                                durum = ID_BITTI;
+                            } else if (b == ' ' || b == '\t') {
+                                durum = ID_SONRASI;
+                            } else {
+                                durum = ATLA;
+                            }
+                            break;
+                        case ID_SONRASI:
+                            if (b == ';') durum = ID_BITTI;
+                            else if (b != ' ' && b != '\t') durum = ATLA;
+                            break;
+                        default:
+                            break;
+                    }
+                }
+                onceki = b;
+                pos++;
+            }
+        }
+        if (durum == ID_BITTI) {
+            int uzunluk = (int) (pos - satirBas - (onceki == '\r' ? 1 : 0));
+            if (!siralar.containsKey(id)) ekle(id, satirBas, uzunluk);
+        }
+        dosyaDurumunuAl();
+        kaydet();
+    }
+
+    private void kaydet() throws IOException {
+        File gecici = new File(indeksDosyasi.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(gecici), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(SURUM);
+            out.writeLong(dosyaBoyu);
+            out.writeLong(dosyaZamani);
+            out.writeInt(adet);
+            for (int i = 0; i < adet; i++) {
+                out.writeInt(idler[i]);
+                out.writeLong(offsetler[i]);
+                out.writeInt(uzunluklar[i]);
+            }
+        }
+        tasi(gecici, indeksDosyasi);
+    }
+
+    // Sadece başlıktaki dosyaBoyu/dosyaZamani/adet alanlarını günceller.
+    private void basligiYaz() throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(indeksDosyasi, "rw")) {
+            raf.seek(8);
+            raf.writeLong(dosyaBoyu);
+            raf.writeLong(dosyaZamani);
+            raf.writeInt(adet);
+        }
+    }
+
+    private void dosyaDurumunuAl() {
+        dosyaBoyu = dosya.length();
+        dosyaZamani = dosya.lastModified();
+    }
+
+    private void ekle(int id, long offset, int uzunluk) {
+        if (adet == idler.length) {
+            int yeniKapasite = adet * 2;
+            idler = Arrays.copyOf(idler, yeniKapasite);
+            offsetler = Arrays.copyOf(offsetler, yeniKapasite);
+            uzunluklar = Arrays.copyOf(uzunluklar, yeniKapasite);
+        }
+        idler[adet] = id;
+        offsetler[adet] = offset;
+        uzunluklar[adet] = uzunluk;
+        siralar.put(id, adet);
+        adet++;
+    }
+
+    private void temizle() {
+        adet = 0;
+        siralar.clear();
+    }
+
+    private static void transfer(FileChannel kaynak, long pos, long uzunluk, FileChannel hedef) throws IOException {
+        while (uzunluk > 0) {
+            long n = kaynak.transferTo(pos, uzunluk, hedef);
+            if (n <= 0) break;
+            pos += n;
+            uzunluk -= n;
+        }
+    }
+
+    static void tasi(File kaynak, File hedef) throws IOException {
+        try {
+            Files.move(kaynak.toPath(), hedef.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(kaynak.toPath(), hedef.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// ogrenciler_yeni.txt'nin öğrenci id'sine göre N parça dosyaya bölünmüş hali.
+// Ana dosyanın ilk satırı "# parcali=N" ise dosya sadece bir işarettir; öğrenciler "<dosya>.parca.<id mod N>"
+// dosyalarındadır. Her parça kendi indeksi, günlüğü ve delta segmentleri olan sıradan bir v3 öğrenci dosyasıdır.
+// DosyaIslemleri tek öğrencilik okuma/yazmaları ilgili parçaya yönlendirir (yeniden yazma verinin 1/N'ine dokunur);
+// tüm listeyi okuyan işlemler parçaları çekirdekler üzerinde paralel okuyup birleştirir.
+public final class OgrenciParcalari {
+
+    // Parça okuyucusu (bir parça dosyası için sonuç üretir).
+    public interface ParcaIsi<T> {
+        T calistir(String parcaYolu) throws IOException;
+    }
+
+    private static final String ISARET_ONEKI = "# parcali=";
+    private static final String ALAN_BASLIGI = "# id;username;password;ad;soyad;email;aldigiDersler";
+
+    // Parça işleri için paylaşılan havuz (daemon thread, uygulama kapanışını engellemez).
+    private static final ExecutorService HAVUZ = Executors.newFixedThreadPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors()), r -> {
+                Thread t = new Thread(r, "ogrenci-parca-okuyucu");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private static final class SayiGirdisi {
+        final long[] damga;
+        final int adet;
+
+        SayiGirdisi(long[] damga, int adet) {
+            this.damga = damga;
+            this.adet = adet;
+        }
+    }
+
+    // kanonik dosya yolu (OgrenciIndeksi/DegisiklikGunlugu anahtarı) -> parça sayısı; dosyanın damgası
+    // (VeriOnbellegi.surum) değişmedikçe başlık yeniden okunmaz.
+    private static final Map<String, SayiGirdisi> PARCA_SAYILARI = new ConcurrentHashMap<>();
+
+    private OgrenciParcalari() {
+    }
+
+    // Dosya parçalıysa parça sayısı, değilse 0.
+    public static int parcaSayisi(String dosyaYolu) throws IOException {
+        // Damga okumadan ÖNCE alınır: arada dosya değişirse sonraki çağrı yeniden okur.
+        long[] damga = VeriOnbellegi.surum(dosyaYolu);
+        String anahtar = anahtar(dosyaYolu);
+        SayiGirdisi g = PARCA_SAYILARI.get(anahtar);
+        if (g != null && Arrays.equals(g.damga, damga)) return g.adet;
+        int adet = basliktanParcaSayisi(dosyaYolu);
+        PARCA_SAYILARI.put(anahtar, new SayiGirdisi(damga, adet));
+        return adet;
+    }
+
+    private static String anahtar(String dosyaYolu) throws IOException {
+        return new File(dosyaYolu).getCanonicalPath();
+    }
+
+    private static int basliktanParcaSayisi(String dosyaYolu) throws IOException {
+        File f = new File(dosyaYolu);
+        if (!f.isFile()) return 0;
+        byte[] bas = new byte[ISARET_ONEKI.length() + 8];
+        int n;
+        try (InputStream in = new FileInputStream(f)) {
+            n = in.readNBytes(bas, 0, bas.length);
+        }
+        String s = new String(bas, 0, n, StandardCharsets.UTF_8);
+        if (!s.startsWith(ISARET_ONEKI)) return 0;
+        int adet = 0;
+        for (int i = ISARET_ONEKI.length(); i < s.length() && Character.isDigit(s.charAt(i)); i++) {
+            adet = adet * 10 + (s.charAt(i) - '0');
+        }
+        return adet;
+    }
+
+    // Öğrencinin bulunduğu dosya: parçalıysa id'nin parçası, değilse dosyanın kendisi.
+    public static String ogrenciDosyasi(String dosyaYolu, int ogrenciId) throws IOException {
+        int n = parcaSayisi(dosyaYolu);
+        return (n > 0) ? parcaYolu(dosyaYolu, Math.floorMod(ogrenciId, n)) : dosyaYolu;
+    }
+
+    // Parça dosyaları (sıralı); parçalı değilse sadece dosyanın kendisi.
+    public static List<String> parcaYollari(String dosyaYolu) throws IOException {
+        int n = parcaSayisi(dosyaYolu);
+        if (n == 0) return Collections.singletonList(dosyaYolu);
+        List<String> yollar = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) yollar.add(parcaYolu(dosyaYolu, i));
+        return yollar;
+    }
+
+    // isi her parça için paralel çalıştırır; sonuçlar parça sırasıyla döner. İlk hata fırlatılır.
+    public static <T> List<T> paralel(List<String> parcalar, ParcaIsi<T> isi) throws IOException {
+        if (parcalar.size() == 1) return Collections.singletonList(isi.calistir(parcalar.get(0)));
+        List<Future<T>> gelecekler = new ArrayList<>(parcalar.size());
+        for (String parca : parcalar) {
+            Callable<T> c = () -> isi.calistir(parca);
+            gelecekler.add(HAVUZ.submit(c));
+        }
+        List<T> sonuc = new ArrayList<>(parcalar.size());
+        for (Future<T> g : gelecekler) {
+            try {
+                sonuc.add(g.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Parça okuma kesildi", e);
+            } catch (ExecutionException e) {
+                Throwable neden = e.getCause();
+                if (neden instanceof IOException) throw (IOException) neden;
+                if (neden instanceof RuntimeException) throw (RuntimeException) neden;
+                throw new IOException(neden);
+            }
+        }
+        return sonuc;
+    }
+
+    // Tek dosyayı (günlük ve delta segmentleri dahil) id'ye göre parcaSayisi parçaya böler; ana dosya işarete döner.
+    // Dosyanın baştaki yorum satırları (ör. sabit genişlik başlığı) her parçaya kopyalanır.
+    // Satırlar günlük kilidi altında diskten okunur (önbellek kilidi alınmaz; bkz. ogrenciSatirlariGunlukKilidiyle).
+    public static void parcala(String dosyaYolu, int parcaSayisi) throws IOException {
+        if (parcaSayisi < 2) throw new IllegalArgumentException("Parça sayısı en az 2 olmalı: " + parcaSayisi);
+        if (parcaSayisi(dosyaYolu) > 0) throw new IllegalStateException("Dosya zaten parçalı: " + dosyaYolu);
+
+        DegisiklikGunlugu gunluk = DegisiklikGunlugu.al(dosyaYolu);
+        synchronized (gunluk) {
+            List<String> basliklar = basliklariOku(dosyaYolu);
+            List<List<String>> parcalar = new ArrayList<>(parcaSayisi);
+            for (int i = 0; i < parcaSayisi; i++) parcalar.add(new ArrayList<>());
+            for (String satir : DosyaIslemleri.ogrenciSatirlariGunlukKilidiyle(dosyaYolu)) {
+                int noktaliVirgul = satir.indexOf(';');
+                int id;
+                try {
+                    id = Integer.parseInt(satir.substring(0, Math.max(noktaliVirgul, 0)).trim());
+                } catch (NumberFormatException e) {
+                    id = 0;
+                }
+                parcalar.get(Math.floorMod(id, parcaSayisi)).add(satir);
+            }
+            for (int i = 0; i < parcaSayisi; i++) {
+                String parca = parcaYolu(dosyaYolu, i);
+                yaz(parca, basliklar, parcalar.get(i));
+                OgrenciIndeksi.dosyaYenidenYazildi(parca);
+                VeriOnbellegi.degisti(parca);
+            }
+            // Parçalar diskte: ancak şimdi ana dosya işarete çevrilir.
+            yaz(dosyaYolu, List.of(ISARET_ONEKI + parcaSayisi, ALAN_BASLIGI), Collections.emptyList());
+            PARCA_SAYILARI.remove(anahtar(dosyaYolu));
+            gunluk.sifirla();
+            DeltaSegmentleri.al(dosyaYolu).temizle();
+            OgrenciIndeksi.dosyaYenidenYazildi(dosyaYolu);
+            VeriOnbellegi.degisti(dosyaYolu);
+        }
+    }
+
+    // Parçaları (günlük ve segmentleri dahil) tekrar tek dosyada birleştirir ve parça dosyalarını siler.
+    // Satırlar parça sırasıyla yazılır. Ana dosyanın ve tüm parçaların günlük kilitleri (bu sırayla) birleştirme
+    // bitene kadar tutulur; parça satırları her parçanın kilidi altında diskten okunur.
+    public static void birlestir(String dosyaYolu) throws IOException {
+        List<String> parcalar = parcaYollari(dosyaYolu);
+        if (parcaSayisi(dosyaYolu) == 0) return;
+
+        synchronized (DegisiklikGunlugu.al(dosyaYolu)) {
+            kilitliBirlestir(dosyaYolu, parcalar, 0, new ArrayList<>());
+        }
+    }
+
+    // i. parçanın kilidini alıp satırlarını ekler; son parçadan sonra ana dosyayı yazar. Parça, kilidi
+    // bırakılmadan önce silinir.
+    private static void kilitliBirlestir(String dosyaYolu, List<String> parcalar, int i, List<String> satirlar) throws IOException {
+        if (i == parcalar.size()) {
+            yaz(dosyaYolu, basliklariOku(parcalar.get(0)), satirlar);
+            PARCA_SAYILARI.remove(anahtar(dosyaYolu));
+            OgrenciIndeksi.dosyaYenidenYazildi(dosyaYolu);
+            VeriOnbellegi.degisti(dosyaYolu);
+            return;
+        }
+        String parca = parcalar.get(i);
+        DegisiklikGunlugu gunluk = DegisiklikGunlugu.al(parca);
+        synchronized (gunluk) {
+            satirlar.addAll(DosyaIslemleri.ogrenciSatirlariGunlukKilidiyle(parca));
+            kilitliBirlestir(dosyaYolu, parcalar, i + 1, satirlar);
+            gunluk.sifirla();
+            DeltaSegmentleri.al(parca).temizle();
+            Files.deleteIfExists(new File(parca).toPath());
+            Files.deleteIfExists(new File(parca + ".idx").toPath());
+            VeriOnbellegi.degisti(parca);
+        }
+    }
+
+    private static String parcaYolu(String dosyaYolu, int parca) {
+        return dosyaYolu + ".parca." + parca;
+    }
+
+    // Dosyanın başındaki yorum satırları (yoksa alan başlığı). Parça işareti atlanır.
+    static List<String> basliklariOku(String dosyaYolu) throws IOException {
+        List<String> basliklar = new ArrayList<>();
+        File f = new File(dosyaYolu);
+        if (f.exists()) {
+            try (BufferedReader br = new BufferedReader(new FileReader(f, StandardCharsets.UTF_8))) {
+                String satir;
+                while ((satir = br.readLine()) != null) {
+                    String t = satir.trim();
+                    if (!t.startsWith("#")) break;
+                    if (!t.startsWith(ISARET_ONEKI)) basliklar.add(t);
+                }
+            }
+        }
+        if (basliklar.isEmpty()) basliklar.add(ALAN_BASLIGI);
+        return basliklar;
+    }
+
+    // Geçici dosyaya yazıp atomik taşır.
+    private static void yaz(String dosyaYolu, List<String> basliklar, List<String> satirlar) throws IOException {
+        File hedef = new File(dosyaYolu);
+        File gecici = new File(dosyaYolu + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(gecici);
+             BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            boolean ilk = true;
+            for (String satir : basliklar) {
+                if (!ilk) bw.newLine();
+                bw.write(satir);
+                ilk = false;
+            }
+            for (String satir : satirlar) {
+                if (!ilk) bw.newLine();
+                bw.write(satir);
+                ilk = false;
+            }
+            bw.flush();
+            out.getFD().sync();
+        }
+        OgrenciIndeksi.tasi(gecici, hedef);
+    }
+}
@@ -0,0 +1,265 @@
+package util;
+
+import util.DosyaIslemleri.DersKaydiDegisikligi;
+import model.DersKatalogu;
+import util.DosyaIslemleri.EmbeddedDersKaydi;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// ogrenciler_yeni.txt için sabit genişlikli düzen (v3 ile metin olarak uyumlu).
+// Dosyanın ilk satırı "# duzen=sabit-genislik;genislik=N" ise her ders kaydının vize/final/not/dev değerleri
+// sağdan boşlukla N karaktere tamamlanır:
+//   MAT101:1:vize=60 ;final=-  ;not=-  ;dev=2  ;prog=MON-09
+// v3 okuyucuları değerleri kırptığı için dosya olduğu gibi v3 olarak da okunur.
+// Not/devamsızlık güncellemesi indeksteki satır konumu + satır içi konuma N baytlık tek bir konumlu yazmadır;
+// dosyanın geri kalanı ne okunur ne yazılır.
+public final class SabitGenislikDuzeni {
+    public static final int VARSAYILAN_GENISLIK = 3;
+
+    private static final String BASLIK_ONEKI = "# duzen=sabit-genislik;genislik=";
+    private static final String ALAN_BASLIGI = "# id;username;password;ad;soyad;email;aldigiDersler";
+
+    private static final class GenislikGirdisi {
+        final long[] damga;
+        final int genislik;
+
+        GenislikGirdisi(long[] damga, int genislik) {
+            this.damga = damga;
+            this.genislik = genislik;
+        }
+    }
+
+    // kanonik dosya yolu -> genişlik; dosyanın damgası (VeriOnbellegi.surum) değişmedikçe başlık yeniden okunmaz
+    // (her not yazması genişliği sorar).
+    private static final Map<String, GenislikGirdisi> GENISLIKLER = new ConcurrentHashMap<>();
+
+    private SabitGenislikDuzeni() {
+    }
+
+    // Dosya sabit genişlikli düzendeyse değer genişliği, değilse 0.
+    public static int genislik(String dosyaYolu) throws IOException {
+        // Damga okumadan ÖNCE alınır: arada dosya değişirse sonraki çağrı yeniden okur.
+        long[] damga = VeriOnbellegi.surum(dosyaYolu);
+        String anahtar = new File(dosyaYolu).getCanonicalPath();
+        GenislikGirdisi g = GENISLIKLER.get(anahtar);
+        if (g != null && Arrays.equals(g.damga, damga)) return g.genislik;
+        int genislik = basliktanGenislik(dosyaYolu);
+        GENISLIKLER.put(anahtar, new GenislikGirdisi(damga, genislik));
+        return genislik;
+    }
+
+    private static int basliktanGenislik(String dosyaYolu) throws IOException {
+        File f = new File(dosyaYolu);
+        if (!f.exists()) return 0;
+        byte[] bas = new byte[BASLIK_ONEKI.length() + 8];
+        int n;
+        try (InputStream in = new FileInputStream(f)) {
+            n = in.readNBytes(bas, 0, bas.length);
+        }
+        String s = new String(bas, 0, n, StandardCharsets.UTF_8);
+        if (!s.startsWith(BASLIK_ONEKI)) return 0;
+        int g = 0;
+        for (int i = BASLIK_ONEKI.length(); i < s.length() && Character.isDigit(s.charAt(i)); i++) {
+            g = g * 10 + (s.charAt(i) - '0');
+        }
+        return g;
+    }
+
+    // v3 (veya sabit) dosyayı sabit genişlikli düzene çevirir. Günlük ve delta segmentleri dahil edilir.
+    // Genişlik: en az VARSAYILAN_GENISLIK, dosyadaki en uzun değer daha uzunsa o.
+    // kaynak == hedef olabilir (yerinde dönüşüm).
+    public static void v3tenDonustur(String kaynakYolu, String hedefYolu) throws IOException {
+        if (parcalariDonustur(kaynakYolu, hedefYolu, true)) return;
+        // Okuma ile yazma/günlük sıfırlama aynı kilit altında: aradaki not yazmaları kaybolmasın.
+        synchronized (DegisiklikGunlugu.al(kaynakYolu)) {
+            List<String> satirlar = DosyaIslemleri.ogrenciSatirlariGunlukKilidiyle(kaynakYolu);
+            int genislik = VARSAYILAN_GENISLIK;
+            for (String satir : satirlar) {
+                String[] p = satir.split(";", 7);
+                if (p.length < 7) continue;
+                for (EmbeddedDersKaydi dk : DosyaIslemleri.aldigiDerslerCoz(p[6])) {
+                    genislik = Math.max(genislik, Math.max(Math.max(metinUzunlugu(dk.vize), metinUzunlugu(dk.fin)),
+                            Math.max(metinUzunlugu(dk.not), metinUzunlugu(dk.dev))));
+                }
+            }
+            int g = genislik;
+            yaz(kaynakYolu, hedefYolu, satirlar, BASLIK_ONEKI + g, satir -> satiriSabitle(satir, g));
+        }
+    }
+
+    // Sabit genişlikli dosyayı kanonik v3'e çevirir (dolgu boşlukları atılır). kaynak == hedef olabilir.
+    public static void v3eDonustur(String kaynakYolu, String hedefYolu) throws IOException {
+        if (parcalariDonustur(kaynakYolu, hedefYolu, false)) return;
+        synchronized (DegisiklikGunlugu.al(kaynakYolu)) {
+            List<String> satirlar = DosyaIslemleri.ogrenciSatirlariGunlukKilidiyle(kaynakYolu);
+            yaz(kaynakYolu, hedefYolu, satirlar, null,
+                    satir -> DosyaIslemleri.satiraDegisiklikleriUygula(satir, Collections.emptyList()));
+        }
+    }
+
+    // Parçalı dosya yerinde dönüştürülürken her parça ayrı dönüştürülür (işaret dosyası aynen kalır).
+    // Başka bir hedefe dönüştürmede parçalar tek dosyada birleşir; bu durumda false döner.
+    private static boolean parcalariDonustur(String kaynakYolu, String hedefYolu, boolean sabite) throws IOException {
+        if (OgrenciParcalari.parcaSayisi(kaynakYolu) == 0) return false;
+        if (!new File(hedefYolu).getCanonicalPath().equals(new File(kaynakYolu).getCanonicalPath())) return false;
+        for (String parca : OgrenciParcalari.parcaYollari(kaynakYolu)) {
+            if (sabite) v3tenDonustur(parca, parca);
+            else v3eDonustur(parca, parca);
+        }
+        return true;
+    }
+
+    // Öğrenci satırının aldigiDersler alanını sabit genişliğe getirir; diğer alanlar aynen kalır.
+    static String satiriSabitle(String satir, int genislik) {
+        String[] p = satir.split(";", 7);
+        if (p.length < 7) return satir;
+        p[6] = aldigiSabitle(p[6], genislik);
+        return String.join(";", p);
+    }
+
+    static String aldigiSabitle(String aldigi, int genislik) {
+        StringBuilder sb = new StringBuilder();
+        for (EmbeddedDersKaydi dk : DosyaIslemleri.aldigiDerslerCoz(aldigi)) {
+            if (sb.length() > 0) sb.append('|');
+            sb.append(dk.toItemString(genislik));
+        }
+        return sb.toString();
+    }
+
+    // Öğrencinin satırındaki ilgili değer alanlarının üzerine yazar. Tüm değişiklikler için (eşleşen her ders
+    // kaydında) alan bulunamazsa veya değer genişliğe sığmazsa hiçbir şey yazmadan false döner.
+    // Çağıran, dosyayı yazan diğer işlemlerle yarışmamak için günlük kilidini tutmalı.
+    static boolean yerindeYaz(String dosyaYolu, int genislik, List<DersKaydiDegisikligi> degisiklikler) throws IOException {
+        if (degisiklikler.isEmpty()) return true;
+        int ogrenciId = degisiklikler.get(0).ogrenciId;
+        OgrenciIndeksi indeks = OgrenciIndeksi.al(dosyaYolu);
+        String ham = indeks.hamSatirOku(ogrenciId);
+        if (ham == null) return false;
+
+        List<int[]> konumlar = new ArrayList<>();
+        List<byte[]> veriler = new ArrayList<>();
+        for (DersKaydiDegisikligi d : degisiklikler) {
+            if (d.ogrenciId != ogrenciId || d.deger.length() > genislik) return false;
+            List<Integer> yuvalar = yuvalariBul(ham, d, genislik);
+            if (yuvalar.isEmpty()) return false;
+            byte[] veri = doldur(d.deger, genislik).getBytes(StandardCharsets.UTF_8);
+            for (int yuva : yuvalar) {
+                konumlar.add(new int[]{ham.substring(0, yuva).getBytes(StandardCharsets.UTF_8).length});
+                veriler.add(veri);
+            }
+        }
+        for (int i = 0; i < konumlar.size(); i++) {
+            if (!indeks.satirIcindeYaz(ogrenciId, konumlar.get(i)[0], veriler.get(i))) return false;
+        }
+        return true;
+    }
+
+    // Değişikliğin ders kaydına (ders+öğretmen) ait alan değerinin satırdaki karakter konumları.
+    // Bir kayıtta aynı key birden fazla geçerse okuyucu sonuncuyu aldığı için sonuncusu döner.
+    private static List<Integer> yuvalariBul(String satir, DersKaydiDegisikligi d, int genislik) {
+        List<Integer> sonuc = new ArrayList<>();
+        int alanBas = 0;
+        for (int i = 0; i < 6; i++) {
+            alanBas = satir.indexOf(';', alanBas) + 1;
+            if (alanBas == 0) return sonuc;
+        }
+        int n = satir.length();
+        int kayitBas = alanBas;
+        while (kayitBas <= n) {
+            int kayitSon = satir.indexOf('|', kayitBas);
+            if (kayitSon < 0) kayitSon = n;
+            int yuva = kayittakiYuva(satir, kayitBas, kayitSon, d, genislik);
+            if (yuva >= 0) sonuc.add(yuva);
+            kayitBas = kayitSon + 1;
+        }
+        return sonuc;
+    }
+
+    private static int kayittakiYuva(String s, int bas, int son, DersKaydiDegisikligi d, int genislik) {
+        int ilk = s.indexOf(':', bas);
+        if (ilk < 0 || ilk >= son) return -1;
+        if (DersKatalogu.bul(s.substring(bas, ilk)) != d.dersId) return -1;
+        int ikinci = s.indexOf(':', ilk + 1);
+        if (ikinci < 0 || ikinci >= son) return -1;
+        try {
+            if (Integer.parseInt(s.substring(ilk + 1, ikinci).trim()) != d.ogretmenId) return -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        int yuva = -1;
+        int k = ikinci + 1;
+        while (k < son) {
+            int kvSonu = s.indexOf(';', k);
+            if (kvSonu < 0 || kvSonu > son) kvSonu = son;
+            int esittir = s.indexOf('=', k);
+            if (esittir >= 0 && esittir < kvSonu && s.substring(k, esittir).trim().equalsIgnoreCase(d.alan)) {
+                yuva = (kvSonu - esittir - 1 == genislik) ? esittir + 1 : -1;
+            }
+            k = kvSonu + 1;
+        }
+        return yuva;
+    }
+
+    private static int metinUzunlugu(int deger) {
+        return EmbeddedDersKaydi.degerMetni(deger).length();
+    }
+
+    private static String doldur(String deger, int genislik) {
+        StringBuilder sb = new StringBuilder(deger);
+        while (sb.length() < genislik) sb.append(' ');
+        return sb.toString();
+    }
+
+    // Satırları (düzen başlığı + kaynağın diğer yorum satırları ile) geçici dosyaya yazıp hedefe taşır. Kaynak
+    // yerinde dönüştürüldüyse günlük ve delta segmentleri çıktıya dahil edildiği için sıfırlanır.
+    // Çağıran kaynağın günlük kilidini tutar (satırları da aynı kilit altında okumuş olmalı).
+    private static void yaz(String kaynakYolu, String hedefYolu, List<String> satirlar, String duzenBasligi,
+                            Function<String, String> donustur) throws IOException {
+        File hedef = new File(hedefYolu);
+        boolean yerinde = hedef.getCanonicalPath().equals(new File(kaynakYolu).getCanonicalPath());
+        List<String> basliklar = new ArrayList<>();
+        if (duzenBasligi != null) basliklar.add(duzenBasligi);
+        for (String b : OgrenciParcalari.basliklariOku(kaynakYolu)) {
+            if (!b.startsWith(BASLIK_ONEKI)) basliklar.add(b);
+        }
+        if (basliklar.size() == ((duzenBasligi == null) ? 0 : 1)) basliklar.add(ALAN_BASLIGI);
+
+        File gecici = new File(hedefYolu + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(gecici);
+             BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            boolean ilk = true;
+            for (String b : basliklar) {
+                if (!ilk) bw.newLine();
+                bw.write(b);
+                ilk = false;
+            }
+            for (String satir : satirlar) {
+                bw.newLine();
+                bw.write(donustur.apply(satir));
+            }
+            bw.flush();
+            out.getFD().sync();
+        }
+        OgrenciIndeksi.tasi(gecici, hedef);
+        if (yerinde) {
+            DegisiklikGunlugu.al(kaynakYolu).sifirla();
+            DeltaSegmentleri.al(kaynakYolu).temizle();
+        }
+        OgrenciIndeksi.dosyaYenidenYazildi(hedefYolu);
+        VeriOnbellegi.degisti(hedefYolu);
+    }
+}
@@ -2,21 +2,32 @@ package app;
 
 import exception.GecersizNotException;
 import exception.YetkisizIslemException;
-import generic.Repository;
+import generic.CrudRepository;
+import generic.EszamanliRepository;
+import generic.IntHashMap;
+import generic.SinirliOnbellek;
 import model.Ders;
+import model.DersKatalogu;
 import model.LisansOgrencisi;
 import model.Ogrenci;
 import model.Rol;
 import model.SistemKullanicisi;
 import model.YuksekLisansOgrencisi;
+import service.NotPolitikalari;
+import service.NotPolitikasi;
 import service.OgrenciService;
 import service.StandartNotHesaplamaService;
 import util.DosyaIslemleri;
+import util.DosyaOgrenciRepository;
+import util.OgrenciDosyasiSikistirici;
+import util.OgrenciOnbellegi;
+import util.OgrenciParcalari;
 
 import java.io.IOException;
 import java.io.File;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -41,52 +52,42 @@ public class Main {
             "MAT101", "TUR101", "CMP203", "FIZ201", "INK101",
             "MAT201", "CMP201", "BIL103", "KIM101", "ENG101"
     };
+    private static final BitSet DERS_HAVUZU_IDLERI = dersIdleri(List.of(DERS_HAVUZU));
 
     // ===== Kurallar =====
-    // Devamsızlık > 3 ise dersten kalır
-    private static final int DEVAMSIZLIK_LIMIT = 3;
-
-    // Vize %40, Final %60
-    private static final double VIZE_AGIRLIK = 0.40;
-    private static final double FINAL_AGIRLIK = 0.60;
-
-    // "Ortalaması 2'nin altında ise FF" için 100'lük ortalamayı 4'lük sisteme çeviriyoruz.
-    // Basit (yaygın) dönüşüm: 90-100=4.0, 85-89=3.5, 80-84=3.0, 75-79=2.5,
-    // 70-74=2.0, 65-69=1.5, 60-64=1.0, 50-59=0.5, 0-49=0.0
-    private static double yuzluktenDortluge(double ort100) {
-        if (ort100 >= 90) return 4.0;
-        if (ort100 >= 85) return 3.5;
-        if (ort100 >= 80) return 3.0;
-        if (ort100 >= 75) return 2.5;
-        if (ort100 >= 70) return 2.0;
-        if (ort100 >= 65) return 1.5;
-        if (ort100 >= 60) return 1.0;
-        if (ort100 >= 50) return 0.5;
-        return 0.0;
+    // Harf eşikleri, 4'lük katsayılar, geçme katsayısı, vize/final ağırlıkları ve devamsızlık limiti
+    // not politikası dosyasından (ders bazında istisnalarla) okunur; dosya yoksa NotPolitikasi varsayılanları
+    // (vize %40 + final %60, 4'lük < 2.0 ise kalır, devamsızlık > 3 ise kalır).
+    // -Dobis.notPolitikasi=yol ile başka bir dosya verilebilir.
+    private static final String NOT_POLITIKASI_FILE = "not_politikasi.txt";
+    private static final String NOT_POLITIKASI_OZELLIGI = "obis.notPolitikasi";
+    private static NotPolitikalari notPolitikalari = NotPolitikalari.varsayilan();
+
+    // Ders kaydında girilmemiş değer.
+    private static final int YOK = DosyaIslemleri.EmbeddedDersKaydi.YOK;
+
+    // Arka plan sıkıştırıcının çalışma aralığı (saniye).
+    private static final long SIKISTIRMA_PERIYODU_SN = 60;
+
+    // -Dobis.ogrenciParcaSayisi=N ile başlatılırsa öğrenci dosyası id'ye göre N parçaya bölünür (bir kez).
+    private static final String PARCA_SAYISI_OZELLIGI = "obis.ogrenciParcaSayisi";
+
+    // -Dobis.ogrencileriBellegeYukle=true: öğrenci dosyası açılışta toplu olarak bellekteki repository'ye yüklenir.
+    private static final String BELLEGE_YUKLE_OZELLIGI = "obis.ogrencileriBellegeYukle";
+
+    // Ayrıştırılmış öğrenci kaydı önbelleği: -Dobis.ogrenciOnbellegi.boyut=N (0 = kapalı),
+    // -Dobis.ogrenciOnbellegi.politika=TINY_LFU|LRU. Verilmezse OgrenciOnbellegi varsayılanları.
+    private static final String ONBELLEK_BOYUTU_OZELLIGI = "obis.ogrenciOnbellegi.boyut";
+    private static final String ONBELLEK_POLITIKASI_OZELLIGI = "obis.ogrenciOnbellegi.politika";
+
+    // Ders kaydı değerleri: girilmemişse YOK.
+    private static double dersOrtalama100(NotPolitikasi politika, int vize, int fin) {
+        if (vize == YOK || fin == YOK) return Double.NaN;
+        return politika.dersOrtalamasi(vize, fin);
     }
 
-    private static double dersOrtalama100(Integer vize, Integer fin) {
-        if (vize == null || fin == null) return Double.NaN;
-        return (vize * VIZE_AGIRLIK) + (fin * FINAL_AGIRLIK);
-    }
-
-    private static String harfNotuHesapla(double ort100) {
-        // Harf notlarını 4'lük karşılığa göre türetiyoruz.
-        // Ayrıca: 4'lük < 2.0 ise FF.
-        double ort4 = yuzluktenDortluge(ort100);
-        if (Double.isNaN(ort4)) return "-";
-        if (ort4 < 2.0) return "FF";
-        // 2.0 ve üzerini basitçe yaygın aralıklara bölelim.
-        if (ort4 >= 3.5) return "AA";
-        if (ort4 >= 3.0) return "BA";
-        if (ort4 >= 2.5) return "BB";
-        if (ort4 >= 2.0) return "CB";
-        return "FF";
-    }
-
-    private static boolean devamsizliktenKaldi(Integer devamsizlik) {
-        if (devamsizlik == null) return false;
-        return devamsizlik > DEVAMSIZLIK_LIMIT;
+    private static boolean devamsizliktenKaldi(NotPolitikasi politika, int devamsizlik) {
+        return devamsizlik != YOK && politika.devamsizliktenKalir(devamsizlik);
     }
 
     // ===== Basit ANSI renkler (konsol) =====
@@ -107,17 +108,6 @@ public class Main {
         return ANSI_YELLOW + s + ANSI_RESET;
     }
 
-    private static Integer parseIntOrNull(String s) {
-        if (s == null) return null;
-        String t = s.trim();
-        if (t.isEmpty() || t.equals("-")) return null;
-        try {
-            return Integer.parseInt(t);
-        } catch (NumberFormatException e) {
-            return null;
-        }
-    }
-
     // Haftalık program üretimi için basit slot havuzu (gerçeğe yakın: hafta içi 09-16)
     private static final String[] PROGRAM_GUNLER = {"MON", "TUE", "WED", "THU", "FRI"};
     private static final int PROGRAM_SAAT_BASLA = 9;
@@ -127,6 +117,24 @@ public class Main {
         // Yeni sistem dosyaları yoksa otomatik üret
         ensureSeedFiles();
 
+        try {
+            ogrenciDosyasiniParcalaIfNeeded();
+        } catch (Exception e) {
+            System.out.println("Parçalama uyarısı: " + e.getMessage());
+        }
+
+        try {
+            ogrenciOnbelleginiYapilandir();
+        } catch (Exception e) {
+            System.out.println("Önbellek ayarı uyarısı: " + e.getMessage());
+        }
+
+        try {
+            notPolitikasiniYukle();
+        } catch (Exception e) {
+            System.out.println("Not politikası uyarısı: " + e.getMessage() + " (varsayılan kurallar kullanılıyor)");
+        }
+
         // Var olan öğrenciler dosyası eski formatta olabilir: v3 (vize/final/prog) kanonik hale getir.
         try {
             migrateStudentFileToV3IfNeeded();
@@ -134,11 +142,34 @@ public class Main {
             System.out.println("Migrate uyarısı: " + e.getMessage());
         }
 
-        Repository<Ogrenci> repo = new Repository<>();
-        OgrenciService ogrenciService = new OgrenciService(repo, new StandartNotHesaplamaService());
+        // Oturum boyunca şişen öğrenci satırlarını arka planda sıkıştır.
+        String sikistirilacakDosya = resolveStudentsNewFilePath();
+        OgrenciDosyasiSikistirici sikistirici = (sikistirilacakDosya == null) ? null
+                : new OgrenciDosyasiSikistirici(sikistirilacakDosya, OgrenciDosyasiSikistirici.VARSAYILAN_ESIK);
+        if (sikistirici != null) sikistirici.baslat(SIKISTIRMA_PERIYODU_SN);
+
+        // Öğrenci dosyası varsa öğrenciler oradan istendikçe okunur (tümü belleğe alınmaz); -Dobis.ogrencileriBellegeYukle=true
+        // ile açılışta hepsi tek toplu yüklemeyle belleğe alınır. Dosya yoksa bellekte repository ve örnek veri.
+        String ogrenciDosyasi = resolveStudentsNewFilePath();
+        boolean bellegeYukle = ogrenciDosyasi != null && Boolean.getBoolean(BELLEGE_YUKLE_OZELLIGI);
+        CrudRepository<Ogrenci> repo = (ogrenciDosyasi != null && !bellegeYukle)
+                ? new DosyaOgrenciRepository(ogrenciDosyasi, notPolitikalari)
+                : new EszamanliRepository<>();
+        OgrenciService ogrenciService = new OgrenciService(repo, new StandartNotHesaplamaService(notPolitikalari));
+
+        if (bellegeYukle) {
+            try {
+                long baslangic = System.nanoTime();
+                ogrenciService.ogrencileriYukle(new DosyaOgrenciRepository(ogrenciDosyasi, notPolitikalari).stream().iterator());
+                System.out.println(yellow("[INFO] " + repo.size() + " öğrenci belleğe yüklendi ("
+                        + (System.nanoTime() - baslangic) / 1_000_000 + " ms)."));
+            } catch (Exception e) {
+                System.out.println("Öğrenci yükleme uyarısı: " + e.getMessage());
+            }
+        }
 
-        // Örnek veri (uygulama ilk açıldığında çalışsın)
-        seedData(ogrenciService);
+        // Örnek veri (öğrenci dosyası yoksa)
+        if (ogrenciDosyasi == null) seedData(ogrenciService);
 
         Scanner sc = new Scanner(System.in);
 
@@ -196,6 +227,9 @@ public class Main {
                     break;
                 case "6":
                     devam = false;
+                    if (sikistirici != null) sikistiriciyiDurdur(sikistirici);
+                    gunluguKatla();
+                    System.out.println(yellow("[INFO] Öğrenci önbelleği: " + OgrenciOnbellegi.istatistik()));
                     System.out.println("Çıkış yapıldı.");
                     break;
                 default:
@@ -205,11 +239,43 @@ public class Main {
         }
     }
 
+    private static void ogrenciDosyasiniParcalaIfNeeded() throws Exception {
+        String ozellik = System.getProperty(PARCA_SAYISI_OZELLIGI);
+        String studentsPath = resolveStudentsNewFilePath();
+        if (ozellik == null || studentsPath == null) return;
+        if (OgrenciParcalari.parcaSayisi(studentsPath) > 0) return;
+
+        int parcaSayisi = Integer.parseInt(ozellik.trim());
+        if (parcaSayisi < 2) return;
+        OgrenciParcalari.parcala(studentsPath, parcaSayisi);
+        System.out.println(yellow("[INFO] ogrenciler_yeni.txt " + parcaSayisi + " parçaya bölündü."));
+    }
+
+    private static void ogrenciOnbelleginiYapilandir() {
+        String boyut = System.getProperty(ONBELLEK_BOYUTU_OZELLIGI);
+        String politika = System.getProperty(ONBELLEK_POLITIKASI_OZELLIGI);
+        if (boyut == null && politika == null) return;
+        OgrenciOnbellegi.yapilandir(
+                (boyut == null) ? OgrenciOnbellegi.VARSAYILAN_BOYUT : Integer.parseInt(boyut.trim()),
+                (politika == null) ? SinirliOnbellek.Politika.TINY_LFU
+                        : SinirliOnbellek.Politika.valueOf(politika.trim().toUpperCase(java.util.Locale.ROOT)));
+    }
+
+    private static void notPolitikasiniYukle() throws IOException {
+        String yol = System.getProperty(NOT_POLITIKASI_OZELLIGI);
+        if (yol == null) yol = resolveGradingPolicyFilePath();
+        if (yol == null) return;
+        notPolitikalari = NotPolitikalari.yukle(yol);
+    }
+
     private static void migrateStudentFileToV3IfNeeded() throws Exception {
         String teachersPath = resolveTeachersFilePath();
         String studentsPath = resolveStudentsNewFilePath();
         if (teachersPath == null || studentsPath == null) return;
 
+        // Önceki oturumdan kalan not/devamsızlık günlüğünü önce ana dosyaya katla.
+        DosyaIslemleri.gunlukCheckpoint(studentsPath);
+
         // Öğretmen programı: bu sürümde ogretmenler.txt'de program yok, ama seed üretiminde programlar mevcut.
         // Mevcut dosyalarda prog alanı boşsa en azından seed'de üretilen programı öğrenci kayıtlarına basmak istiyoruz.
         // Bu yüzden öğretmenler.txt ders listesi üzerinden deterministik bir program üretip migrate'e veriyoruz.
@@ -233,6 +299,27 @@ public class Main {
         }
     }
 
+    private static void sikistiriciyiDurdur(OgrenciDosyasiSikistirici sikistirici) {
+        sikistirici.durdur();
+        if (sikistirici.sonHata() != null) {
+            System.out.println("Sıkıştırma uyarısı: " + sikistirici.sonHata().getMessage());
+        }
+        long kazanilan = sikistirici.toplamGeriKazanilanBayt();
+        if (kazanilan > 0) {
+            System.out.println(yellow("[INFO] ogrenciler_yeni.txt sıkıştırıldı: " + kazanilan + " bayt geri kazanıldı."));
+        }
+    }
+
+    // Çıkışta değişiklik günlüğünü ogrenciler_yeni.txt'ye katlar.
+    private static void gunluguKatla() {
+        try {
+            String studentsPath = resolveStudentsNewFilePath();
+            if (studentsPath != null) DosyaIslemleri.gunlukCheckpoint(studentsPath);
+        } catch (Exception e) {
+            System.out.println("Günlük kaydetme uyarısı: " + e.getMessage());
+        }
+    }
+
     // Öğretmen için: sadece kendi verdiği dersleri alan öğrencileri listeler.
     private static void ogretmenOgrenciListele(SistemKullanicisi aktifKullanici) {
         try {
@@ -260,60 +347,48 @@ public class Main {
 
             System.out.println("--- Öğrenci Listesi (Öğretmen Filtreli) ---");
             System.out.println("ÖğretmenId=" + aktifKullanici.getId() + " | Dersler=" + String.join(", ", derslerim));
+            BitSet derslerimIdleri = dersIdleri(derslerim);
+
+            boolean[] herhangi = {false};
+            DosyaIslemleri.ogrenciSatirlariniGez(studentsPath, t -> {
+                // aldigiDersler alanı ';' içerebilir, bu yüzden limit 7
+                String[] p = t.split(";", 7);
+                if (p.length < 6) return;
+
+                int ogrId = Integer.parseInt(p[0].trim());
+                String username = p.length > 1 ? p[1].trim() : "";
+                String ad = p.length > 3 ? p[3].trim() : "";
+                String soyad = p.length > 4 ? p[4].trim() : "";
+                String email = p.length > 5 ? p[5].trim() : "";
+                String aldigi = p.length >= 7 ? p[6].trim() : "";
+
+                if (aldigi.isBlank()) return;
+
+                // Bu öğrencinin, bu öğretmenden aldığı dersleri topla
+                List<DosyaIslemleri.EmbeddedDersKaydi> ilgiliKayitlar = new ArrayList<>();
+                String[] items = aldigi.split("\\|", -1);
+                for (String item : items) {
+                    DosyaIslemleri.EmbeddedDersKaydi dk = DosyaIslemleri.embeddedDersKaydiParse(item);
+                    if (dk == null) continue;
+                    if (dk.ogretmenId != aktifKullanici.getId()) continue;
+                    // Ek güvence: öğretmenin verdiği dersler listesinde olmalı
+                    if (!derslerimIdleri.get(dk.dersId)) continue;
+                    ilgiliKayitlar.add(dk);
+                }
 
-            boolean herhangi = false;
-            try (java.io.BufferedReader br = new java.io.BufferedReader(new java.io.FileReader(studentsPath))) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    String t = line.trim();
-                    if (t.isEmpty() || t.startsWith("#")) continue;
-
-                    // aldigiDersler alanı ';' içerebilir, bu yüzden limit 7
-                    String[] p = t.split(";", 7);
-                    if (p.length < 6) continue;
-
-                    int ogrId = Integer.parseInt(p[0].trim());
-                    String username = p.length > 1 ? p[1].trim() : "";
-                    String ad = p.length > 3 ? p[3].trim() : "";
-                    String soyad = p.length > 4 ? p[4].trim() : "";
-                    String email = p.length > 5 ? p[5].trim() : "";
-                    String aldigi = p.length >= 7 ? p[6].trim() : "";
-
-                    if (aldigi.isBlank()) continue;
-
-                    // Bu öğrencinin, bu öğretmenden aldığı dersleri topla
-                    List<DosyaIslemleri.EmbeddedDersKaydi> ilgiliKayitlar = new ArrayList<>();
-                    String[] items = aldigi.split("\\|", -1);
-                    for (String item : items) {
-                        DosyaIslemleri.EmbeddedDersKaydi dk = DosyaIslemleri.embeddedDersKaydiParse(item);
-                        if (dk == null) continue;
-                        if (dk.ogretmenId != aktifKullanici.getId()) continue;
-                        // Ek güvence: öğretmenin verdiği dersler listesinde olmalı
-                        boolean dersUygun = false;
-                        for (String d : derslerim) {
-                            if (d != null && d.equalsIgnoreCase(dk.dersKodu)) {
-                                dersUygun = true;
-                                break;
-                            }
-                        }
-                        if (!dersUygun) continue;
-                        ilgiliKayitlar.add(dk);
-                    }
-
-                    if (ilgiliKayitlar.isEmpty()) continue;
-                    herhangi = true;
+                if (ilgiliKayitlar.isEmpty()) return;
+                herhangi[0] = true;
 
-                    System.out.println("ID=" + ogrId + " | " + ad + " " + soyad + " | user=" + username + " | email=" + email);
-                    System.out.println("  Bu öğretmenden aldığı dersler:");
-                    for (DosyaIslemleri.EmbeddedDersKaydi dk : ilgiliKayitlar) {
-                        String notGoster = (dk.notDegeri == null || dk.notDegeri.equals("-")) ? "-" : dk.notDegeri;
-                        String devGoster = (dk.devDegeri == null || dk.devDegeri.equals("-")) ? "-" : dk.devDegeri;
-                        System.out.println("    - " + dk.dersKodu + " (ÖğretmenId=" + dk.ogretmenId + ") not=" + notGoster + ", dev=" + devGoster);
-                    }
+                System.out.println("ID=" + ogrId + " | " + ad + " " + soyad + " | user=" + username + " | email=" + email);
+                System.out.println("  Bu öğretmenden aldığı dersler:");
+                for (DosyaIslemleri.EmbeddedDersKaydi dk : ilgiliKayitlar) {
+                    System.out.println("    - " + dk.dersKodu() + " (ÖğretmenId=" + dk.ogretmenId + ") not="
+                            + DosyaIslemleri.EmbeddedDersKaydi.degerMetni(dk.not)
+                            + ", dev=" + DosyaIslemleri.EmbeddedDersKaydi.degerMetni(dk.dev));
                 }
-            }
+            });
 
-            if (!herhangi) {
+            if (!herhangi[0]) {
                 System.out.println("Bu öğretmenden ders alan öğrenci bulunamadı.");
             }
 
@@ -469,6 +544,14 @@ public class Main {
         return null;
     }
 
+    private static String resolveGradingPolicyFilePath() {
+        File f1 = new File(NOT_POLITIKASI_FILE);
+        if (f1.exists() && f1.isFile()) return f1.getPath();
+        File f2 = new File("Obis" + File.separator + NOT_POLITIKASI_FILE);
+        if (f2.exists() && f2.isFile()) return f2.getPath();
+        return null;
+    }
+
     private static void menuYazdir(OgrenciService ogrenciService, SistemKullanicisi aktifKullanici) {
         System.out.println();
         System.out.println("==== Öğrenci Bilgilendirme Sistemi ====");
@@ -567,7 +650,7 @@ public class Main {
     }
 
     private static void writeAdminFile(String path) throws IOException {
-        try (var bw = new java.io.BufferedWriter(new java.io.FileWriter(path))) {
+        try (var bw = new java.io.BufferedWriter(new java.io.FileWriter(path, java.nio.charset.StandardCharsets.UTF_8))) {
             bw.write("# id;username;password;email;ad;soyad");
             bw.newLine();
             bw.write("1;admin;admin123;admin@yuni.edu;Admin;User");
@@ -576,7 +659,7 @@ public class Main {
     }
 
     private static void writeTeacherFile(String path, SeedData seed) throws IOException {
-        try (var bw = new java.io.BufferedWriter(new java.io.FileWriter(path))) {
+        try (var bw = new java.io.BufferedWriter(new java.io.FileWriter(path, java.nio.charset.StandardCharsets.UTF_8))) {
             bw.write("# id;username;password;email;ad;soyad;dersler");
             bw.newLine();
             bw.write("# dersler: MAT101|FIZ201|CMP203");
@@ -589,7 +672,7 @@ public class Main {
     }
 
     private static void writeStudentFileV2(String path, SeedData seed) throws IOException {
-        try (var bw = new java.io.BufferedWriter(new java.io.FileWriter(path))) {
+        try (var bw = new java.io.BufferedWriter(new java.io.FileWriter(path, java.nio.charset.StandardCharsets.UTF_8))) {
             bw.write("# id;username;password;ad;soyad;email;aldigiDersler");
             bw.newLine();
             bw.write("# aldigiDersler: dersKodu:ogretmenId|dersKodu:ogretmenId");
@@ -842,77 +925,72 @@ public class Main {
                 return;
             }
             System.out.println(yellow("--- Öğrenci Listesi (Dosyadan) ---"));
-            try (java.io.BufferedReader br = new java.io.BufferedReader(new java.io.FileReader(studentsPath))) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    String t = line.trim();
-                    if (t.isEmpty() || t.startsWith("#")) continue;
-
-                    // aldigiDersler alanı ';' içerebilir, bu yüzden limit 7
-                    String[] p = t.split(";", 7);
-                    if (p.length < 6) continue;
-
-                    int id = Integer.parseInt(p[0].trim());
-                    String username = p.length > 1 ? p[1].trim() : "";
-                    String ad = p.length > 3 ? p[3].trim() : "";
-                    String soyad = p.length > 4 ? p[4].trim() : "";
-                    String email = p.length > 5 ? p[5].trim() : "";
-                    String aldigi = p.length >= 7 ? p[6].trim() : "";
-
-                    System.out.println("ID=" + id + " | " + ad + " " + soyad + " | user=" + username + " | email=" + email);
-                    if (aldigi.isBlank()) {
-                        System.out.println("  Dersler: -");
-                        continue;
+            DosyaIslemleri.ogrenciSatirlariniGez(studentsPath, t -> {
+                // aldigiDersler alanı ';' içerebilir, bu yüzden limit 7
+                String[] p = t.split(";", 7);
+                if (p.length < 6) return;
+
+                int id = Integer.parseInt(p[0].trim());
+                String username = p.length > 1 ? p[1].trim() : "";
+                String ad = p.length > 3 ? p[3].trim() : "";
+                String soyad = p.length > 4 ? p[4].trim() : "";
+                String email = p.length > 5 ? p[5].trim() : "";
+                String aldigi = p.length >= 7 ? p[6].trim() : "";
+
+                System.out.println("ID=" + id + " | " + ad + " " + soyad + " | user=" + username + " | email=" + email);
+                if (aldigi.isBlank()) {
+                    System.out.println("  Dersler: -");
+                    return;
+                }
+                String[] items = aldigi.split("\\|", -1);
+                System.out.println(yellow("  Dersler:"));
+                for (String item : items) {
+                    DosyaIslemleri.EmbeddedDersKaydi dk = DosyaIslemleri.embeddedDersKaydiParse(item);
+                    if (dk == null) continue;
+
+                    int vize = dk.vize;
+                    int fin = dk.fin;
+                    int dev = dk.dev;
+
+                    NotPolitikasi politika = notPolitikalari.ders(dk.dersId);
+                    double ort100 = dersOrtalama100(politika, vize, fin);
+                    String ortStr = Double.isNaN(ort100) ? "-" : String.format("%.1f", ort100);
+                    String harf = Double.isNaN(ort100) ? "-" : politika.harf(ort100);
+
+                    boolean kaldiNot = (!Double.isNaN(ort100) && !politika.gecer(ort100));
+                    boolean kaldiDev = devamsizliktenKaldi(politika, dev);
+                    boolean kaldi = kaldiNot || kaldiDev;
+
+                    String prog = dk.programVarMi() ? dk.programMetni() : "-";
+                    String devGoster = (dev == YOK) ? "-" : String.valueOf(dev);
+                    if (dev != YOK) {
+                        devGoster = politika.devamsizliktenKalir(dev) ? red(devGoster) : green(devGoster);
                     }
-                    String[] items = aldigi.split("\\|", -1);
-                    System.out.println(yellow("  Dersler:"));
-                    for (String item : items) {
-                        DosyaIslemleri.EmbeddedDersKaydi dk = DosyaIslemleri.embeddedDersKaydiParse(item);
-                        if (dk == null) continue;
-
-                        Integer vize = parseIntOrNull(dk.vizeDegeri);
-                        Integer fin = parseIntOrNull(dk.finalDegeri);
-                        Integer dev = parseIntOrNull(dk.devDegeri);
-
-                        double ort100 = dersOrtalama100(vize, fin);
-                        String ortStr = Double.isNaN(ort100) ? "-" : String.format("%.1f", ort100);
-                        String harf = Double.isNaN(ort100) ? "-" : harfNotuHesapla(ort100);
-
-                        boolean kaldiNot = (!Double.isNaN(ort100) && "FF".equals(harf));
-                        boolean kaldiDev = devamsizliktenKaldi(dev);
-                        boolean kaldi = kaldiNot || kaldiDev;
-
-                        String prog = (dk.programDegeri == null || dk.programDegeri.isBlank()) ? "-" : dk.programDegeri;
-                        String devGoster = (dev == null) ? "-" : String.valueOf(dev);
-                        if (dev != null) {
-                            devGoster = (dev <= DEVAMSIZLIK_LIMIT) ? green(devGoster) : red(devGoster);
-                        }
 
-                        String durum = "GEÇTİ";
-                        String aciklama = "";
-                        if (kaldi) {
-                            durum = red("KALDI");
-                            if (kaldiDev) {
-                                aciklama = " (" + red("gelmedi") + ")";
-                            } else {
-                                aciklama = " (" + red("FF") + ")";
-                            }
+                    String durum = "GEÇTİ";
+                    String aciklama = "";
+                    if (kaldi) {
+                        durum = red("KALDI");
+                        if (kaldiDev) {
+                            aciklama = " (" + red("gelmedi") + ")";
+                        } else {
+                            aciklama = " (" + red(harf) + ")";
                         }
-
-                        System.out.println(
-                                "    - " + dk.dersKodu
-                                        + " | ÖğretmenId=" + dk.ogretmenId
-                                        + " | Program=" + prog
-                                        + " | Vize=" + (vize == null ? "-" : vize)
-                                        + " | Final=" + (fin == null ? "-" : fin)
-                                        + " | Ort=" + ortStr
-                                        + " | Harf=" + harf
-                                        + " | Dev=" + devGoster
-                                        + " | Durum=" + durum + aciklama
-                        );
                     }
+
+                    System.out.println(
+                            "    - " + dk.dersKodu()
+                                    + " | ÖğretmenId=" + dk.ogretmenId
+                                    + " | Program=" + prog
+                                    + " | Vize=" + (vize == YOK ? "-" : vize)
+                                    + " | Final=" + (fin == YOK ? "-" : fin)
+                                    + " | Ort=" + ortStr
+                                    + " | Harf=" + harf
+                                    + " | Dev=" + devGoster
+                                    + " | Durum=" + durum + aciklama
+                    );
                 }
-            }
+            });
         } catch (Exception e) {
             System.out.println("Listeleme hatası: " + e.getMessage());
         }
@@ -982,88 +1060,56 @@ public class Main {
                 return;
             }
 
-            // Dosyadaki sırayı korumak için: öğrencinin satırını bulup aldigiDersler kısmını sırayla parse ediyoruz.
-            String ogrLine = null;
-            try (java.io.BufferedReader br = new java.io.BufferedReader(new java.io.FileReader(studentsPath))) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    String t = line.trim();
-                    if (t.isEmpty() || t.startsWith("#")) continue;
-                    String[] p = t.split(";", 7);
-                    if (p.length < 7) continue;
-                    int id = Integer.parseInt(p[0].trim());
-                    if (id == aktifKullanici.getId()) {
-                        ogrLine = t;
-                        break;
-                    }
-                }
-            }
-
-            if (ogrLine == null) {
-                System.out.println("Bu öğrenci için ders kaydı bulunamadı.");
-                return;
-            }
-
-            // aldigiDersler alanı ';' içerebilir (not/dev ayracı), bu yüzden limit kullanıyoruz.
-            String[] p = ogrLine.split(";", 7);
-            String aldigi = p[6].trim();
-            if (aldigi.isBlank()) {
+            // Öğrencinin ayrıştırılmış kaydı (dosyadaki ders sırasıyla); oturumda tekrar açılınca önbellekten gelir.
+            DosyaIslemleri.OgrenciKaydi kayit = DosyaIslemleri.ogrenciKaydiOku(studentsPath, aktifKullanici.getId());
+            if (kayit == null || kayit.dersler.isEmpty()) {
                 System.out.println("Bu öğrenci için ders kaydı bulunamadı.");
                 return;
             }
 
             if (DEBUG_DERS_PARSE) {
-                System.out.println("[DEBUG] aldigiDersler=" + aldigi);
+                System.out.println("[DEBUG] dersSayisi=" + kayit.dersler.size());
             }
 
             System.out.println(yellow("--- Derslerim / Notlarım ---"));
             int i = 1;
-            String[] items = aldigi.split("\\|", -1);
-            if (DEBUG_DERS_PARSE) {
-                System.out.println("[DEBUG] itemCount=" + items.length);
-            }
-            int atlanan = 0;
-            for (String item : items) {
+            for (DosyaIslemleri.EmbeddedDersKaydi dk : kayit.dersler) {
                 if (DEBUG_DERS_PARSE) {
-                    System.out.println("[DEBUG] item=" + item);
-                }
-                DosyaIslemleri.EmbeddedDersKaydi dk = DosyaIslemleri.embeddedDersKaydiParse(item);
-                if (dk == null) {
-                    atlanan++;
-                    continue;
+                    System.out.println("[DEBUG] item=" + dk.toItemString());
                 }
 
-                Integer vize = parseIntOrNull(dk.vizeDegeri);
-                Integer fin = parseIntOrNull(dk.finalDegeri);
-                Integer dev = parseIntOrNull(dk.devDegeri);
+                int vize = dk.vize;
+                int fin = dk.fin;
+                int dev = dk.dev;
 
-                double ort100 = dersOrtalama100(vize, fin);
+                NotPolitikasi politika = notPolitikalari.ders(dk.dersId);
+                double ort100 = dersOrtalama100(politika, vize, fin);
                 String ortStr = Double.isNaN(ort100) ? "-" : String.format("%.1f", ort100);
-                String harf = Double.isNaN(ort100) ? "-" : harfNotuHesapla(ort100);
+                String harf = Double.isNaN(ort100) ? "-" : politika.harf(ort100);
 
-                boolean kaldiNot = (!Double.isNaN(ort100) && "FF".equals(harf));
-                boolean kaldiDev = devamsizliktenKaldi(dev);
+                boolean kaldiNot = (!Double.isNaN(ort100) && !politika.gecer(ort100));
+                boolean kaldiDev = devamsizliktenKaldi(politika, dev);
                 boolean kaldi = kaldiNot || kaldiDev;
 
-                String prog = (dk.programDegeri == null || dk.programDegeri.isBlank()) ? "-" : dk.programDegeri;
-                String devGoster = (dev == null) ? "Girilmedi" : String.valueOf(dev);
-                if (dev != null) {
-                    devGoster = (dev <= DEVAMSIZLIK_LIMIT) ? green(devGoster) : red(devGoster);
+                String prog = dk.programVarMi() ? dk.programMetni() : "-";
+                String devGoster = (dev == YOK) ? "Girilmedi" : String.valueOf(dev);
+                if (dev != YOK) {
+                    devGoster = politika.devamsizliktenKalir(dev) ? red(devGoster) : green(devGoster);
                 }
 
                 String durum = kaldi ? red("KALDI") : "GEÇTİ";
                 String aciklama = "";
                 if (kaldi) {
                     if (kaldiDev) aciklama = " (" + red("gelmedi") + ")";
-                    else aciklama = " (" + red("FF") + ")";
+                    else aciklama = " (" + red(harf) + ")";
                 }
 
                 System.out.println(
-                        i + ") " + dk.dersKodu
+                        i + ") " + dk.dersKodu()
                                 + " | ÖğretmenId=" + dk.ogretmenId
                                 + " | Program=" + prog
-                                + " | Vize=" + (vize == null ? "Girilmedi" : vize)
-                                + " | Final=" + (fin == null ? "Girilmedi" : fin)
+                                + " | Vize=" + (vize == YOK ? "Girilmedi" : vize)
+                                + " | Final=" + (fin == YOK ? "Girilmedi" : fin)
                                 + " | Ort=" + ortStr
                                 + " | Harf=" + harf
                                 + " | Devamsızlık=" + devGoster
@@ -1071,10 +1117,8 @@ public class Main {
                 );
                 i++;
             }
-            if (i == 1) {
-                System.out.println("Ders kaydı bulunamadı.");
-            } else if (atlanan > 0) {
-                System.out.println("(Uyarı: " + atlanan + " hatalı ders kaydı atlandı)");
+            if (kayit.atlananDersSayisi > 0) {
+                System.out.println("(Uyarı: " + kayit.atlananDersSayisi + " hatalı ders kaydı atlandı)");
             }
         } catch (Exception e) {
             System.out.println("Öğrenci paneli hatası: " + e.getMessage());
@@ -1113,11 +1157,13 @@ public class Main {
                 System.out.println("Yeni öğrenci dosyası bulunamadı: " + STUDENTS_NEW_FILE);
                 return;
             }
-            Map<Integer, Map<String, Integer>> ogrenciDersOgretmen = DosyaIslemleri.ogrenciDersOgretmenMapOkuV2(studentsPath);
+            Map<Integer, IntHashMap<Integer>> ogrenciDersOgretmen = DosyaIslemleri.ogrenciDersOgretmenMapOkuV2(studentsPath);
+            // Dosyada geçen dersler okunurken kataloğa girdi; katalogda yoksa bu dersi alan öğrenci yoktur.
+            int seciliDersId = DersKatalogu.bul(seciliDers);
             List<Integer> ogrenciler = new ArrayList<>();
-            for (Map.Entry<Integer, Map<String, Integer>> e : ogrenciDersOgretmen.entrySet()) {
+            for (Map.Entry<Integer, IntHashMap<Integer>> e : ogrenciDersOgretmen.entrySet()) {
                 Integer ogrId = e.getKey();
-                Integer ogId = e.getValue().get(seciliDers);
+                Integer ogId = e.getValue().get(seciliDersId);
                 if (ogId != null && ogId == aktifKullanici.getId()) {
                     ogrenciler.add(ogrId);
                 }
@@ -1178,9 +1224,8 @@ public class Main {
             // Buraya gelindiyse ilgili mod alanı dolu.
             // Yetki: öğretmen sadece kendi ID'si ile eşleşen ders kaydını güncelleyebilir.
             // Buradaki öğrenci listesi zaten filtrelenmiş olsa da, zorunlu kural gereği tekrar doğruluyoruz.
-            Map<Integer, Map<String, DosyaIslemleri.EmbeddedDersKaydi>> kayitlar = DosyaIslemleri.ogrenciDersKayitlariOkuV2(studentsPath);
-            Map<String, DosyaIslemleri.EmbeddedDersKaydi> ogrKayitlari = kayitlar.get(seciliOgrId);
-            DosyaIslemleri.EmbeddedDersKaydi hedef = (ogrKayitlari == null) ? null : ogrKayitlari.get(seciliDers);
+            IntHashMap<DosyaIslemleri.EmbeddedDersKaydi> ogrKayitlari = DosyaIslemleri.ogrenciDersKayitlariOkuV2(studentsPath, seciliOgrId);
+            DosyaIslemleri.EmbeddedDersKaydi hedef = (ogrKayitlari == null) ? null : ogrKayitlari.get(seciliDersId);
             if (hedef == null || hedef.ogretmenId != aktifKullanici.getId()) {
                 throw new YetkisizIslemException("Bu ders için yetkiniz yok");
             }
@@ -1191,7 +1236,7 @@ public class Main {
                     seciliDers,
                     aktifKullanici.getId(),
                     // legacy not alanını da dolduralım (vize/finalden türetilmiş 100'lük ortalama)
-                    (vize != null && fin != null) ? (int) Math.round(dersOrtalama100(vize, fin)) : null,
+                    (vize != null && fin != null) ? notPolitikalari.ders(seciliDersId).dersNotu(vize, fin) : null,
                     dev
             );
 
@@ -1279,10 +1324,17 @@ public class Main {
     }
 
     private static boolean dersKoduGecerliMi(String dersKodu) {
-        for (String d : DERS_HAVUZU) {
-            if (d.equalsIgnoreCase(dersKodu)) return true;
+        int id = DersKatalogu.bul(dersKodu);
+        return id != DersKatalogu.YOK && DERS_HAVUZU_IDLERI.get(id);
+    }
+
+    // Ders kodlarının katalog id'leri (BitSet: id -> var mı).
+    private static BitSet dersIdleri(Iterable<String> dersKodlari) {
+        BitSet idler = new BitSet();
+        for (String d : dersKodlari) {
+            if (d != null && !d.isBlank()) idler.set(DersKatalogu.id(d));
         }
-        return false;
+        return idler;
     }
 
     private static void ortalamaHesapla(Scanner sc, OgrenciService service) {
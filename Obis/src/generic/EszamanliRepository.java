@@ -0,0 +1,271 @@
+package generic;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// Çok thread'li kullanım için Repository: id'ler hash ile N şeride dağıtılır, her şerit kendi
+// Repository'si (IntHashMap + ikincil indeksler) ve kendi StampedLock'u ile korunur.
+// - Yazmalar (save/deleteById) sadece id'nin şeridini kilitler; farklı şeritlere yazmalar paralel ilerler.
+// - findById/existsById/size iyimser okumadır: kilit alınmaz, okuma sonrası damga doğrulanır; arada o şeride
+//   yazıldıysa okuma okuma kilidiyle tekrarlanır.
+// - findBy/findAll/forEach/findPage şeritleri okuma kilidiyle tek tek gezer (şerit içi tutarlı, şeritler arası
+//   anlık görüntü değil). stream() bir şeridin kopyasını ancak o şeride gelince alır (en fazla 1/N kopya).
+// - snapshot() tüm şeritler için tutarlı anlık görüntüdür: şeritler kısa süreliğine birlikte kilitlenip
+//   her birinin kalıcı harita sürümü alınır (ilk çağrı hariç şerit başına O(1)).
+public class EszamanliRepository<T> implements CrudRepository<T> {
+    public static final int VARSAYILAN_SERIT = 64;
+
+    private final Repository<T>[] seritler;
+    private final StampedLock[] kilitler;
+    private final int maske;
+
+    public EszamanliRepository() {
+        this(VARSAYILAN_SERIT);
+    }
+
+    public EszamanliRepository(int seritSayisi) {
+        if (seritSayisi < 1) throw new IllegalArgumentException("Şerit sayısı en az 1 olmalı: " + seritSayisi);
+        int n = Integer.highestOneBit(seritSayisi);
+        if (n < seritSayisi) n <<= 1;
+        seritler = seritDizisi(n);
+        kilitler = new StampedLock[n];
+        for (int i = 0; i < n; i++) {
+            seritler[i] = new Repository<>();
+            kilitler[i] = new StampedLock();
+        }
+        maske = n - 1;
+    }
+
+    @Override
+    public void addIndex(String name, Function<? super T, ?> extractor) {
+        for (int i = 0; i < seritler.length; i++) {
+            long damga = kilitler[i].writeLock();
+            try {
+                seritler[i].addIndex(name, extractor);
+            } finally {
+                kilitler[i].unlockWrite(damga);
+            }
+        }
+    }
+
+    @Override
+    public void addMultiIndex(String name, Function<? super T, ? extends Collection<?>> extractor) {
+        for (int i = 0; i < seritler.length; i++) {
+            long damga = kilitler[i].writeLock();
+            try {
+                seritler[i].addMultiIndex(name, extractor);
+            } finally {
+                kilitler[i].unlockWrite(damga);
+            }
+        }
+    }
+
+    @Override
+    public List<T> findBy(String index, Object key) {
+        List<T> sonuc = new ArrayList<>();
+        for (int i = 0; i < seritler.length; i++) {
+            long damga = kilitler[i].readLock();
+            try {
+                sonuc.addAll(seritler[i].findBy(index, key));
+            } finally {
+                kilitler[i].unlockRead(damga);
+            }
+        }
+        return sonuc;
+    }
+
+    @Override
+    public void save(int id, T entity) {
+        int s = serit(id);
+        long damga = kilitler[s].writeLock();
+        try {
+            seritler[s].save(id, entity);
+        } finally {
+            kilitler[s].unlockWrite(damga);
+        }
+    }
+
+    // Entity'ler önce şeritlere ayrılır; her şerit kendi yazma kilidi altında tek saveAll ile (şeritler paralel) yüklenir.
+    @Override
+    public void saveAll(Collection<? extends T> entities, ToIntFunction<? super T> idOf) {
+        if (entities.isEmpty()) return;
+        List<List<T>> gruplar = new ArrayList<>(seritler.length);
+        int tahmin = entities.size() / seritler.length + 16;
+        for (int i = 0; i < seritler.length; i++) gruplar.add(new ArrayList<>(tahmin));
+        for (T entity : entities) gruplar.get(serit(idOf.applyAsInt(entity))).add(entity);
+        IntStream.range(0, seritler.length).parallel().forEach(i -> {
+            List<T> grup = gruplar.get(i);
+            if (grup.isEmpty()) return;
+            long damga = kilitler[i].writeLock();
+            try {
+                seritler[i].saveAll(grup, idOf);
+            } finally {
+                kilitler[i].unlockWrite(damga);
+            }
+        });
+    }
+
+    @Override
+    public T findById(int id) {
+        int s = serit(id);
+        StampedLock kilit = kilitler[s];
+        long damga = kilit.tryOptimisticRead();
+        if (damga != 0) {
+            try {
+                T deger = seritler[s].findById(id);
+                if (kilit.validate(damga)) return deger;
+            } catch (RuntimeException yarisanYazma) {
+                // Okuma yazmayla çakıştı (tutarsız dizi görünümü); kilitle tekrar dene.
+            }
+        }
+        damga = kilit.readLock();
+        try {
+            return seritler[s].findById(id);
+        } finally {
+            kilit.unlockRead(damga);
+        }
+    }
+
+    @Override
+    public boolean existsById(int id) {
+        int s = serit(id);
+        StampedLock kilit = kilitler[s];
+        long damga = kilit.tryOptimisticRead();
+        if (damga != 0) {
+            try {
+                boolean var = seritler[s].existsById(id);
+                if (kilit.validate(damga)) return var;
+            } catch (RuntimeException yarisanYazma) {
+                // kilitle tekrar dene
+            }
+        }
+        damga = kilit.readLock();
+        try {
+            return seritler[s].existsById(id);
+        } finally {
+            kilit.unlockRead(damga);
+        }
+    }
+
+    @Override
+    public List<T> findAll() {
+        List<T> sonuc = new ArrayList<>();
+        for (int i = 0; i < seritler.length; i++) {
+            long damga = kilitler[i].readLock();
+            try {
+                sonuc.addAll(seritler[i].findAll());
+            } finally {
+                kilitler[i].unlockRead(damga);
+            }
+        }
+        return sonuc;
+    }
+
+    @Override
+    public void deleteById(int id) {
+        int s = serit(id);
+        long damga = kilitler[s].writeLock();
+        try {
+            seritler[s].deleteById(id);
+        } finally {
+            kilitler[s].unlockWrite(damga);
+        }
+    }
+
+    // Şeritleri sırayla, her biri okuma kilidi altında gezer; action içinden bu repository'ye yazılmamalı.
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (int i = 0; i < seritler.length; i++) {
+            long damga = kilitler[i].readLock();
+            try {
+                seritler[i].forEach(action);
+            } finally {
+                kilitler[i].unlockRead(damga);
+            }
+        }
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return IntStream.range(0, seritler.length).boxed().flatMap(i -> {
+            long damga = kilitler[i].readLock();
+            try {
+                return seritler[i].findAll().stream();
+            } finally {
+                kilitler[i].unlockRead(damga);
+            }
+        });
+    }
+
+    // Her şeritten en fazla limit aday alınır; id sırasıyla ilk limit tanesi döner.
+    @Override
+    public List<T> findPage(int afterId, int limit) {
+        TreeMap<Integer, T> adaylar = new TreeMap<>();
+        for (int i = 0; i < seritler.length; i++) {
+            long damga = kilitler[i].readLock();
+            try {
+                seritler[i].idSirasiylaGez(afterId, limit, (id, entity) -> {
+                    adaylar.put(id, entity);
+                    if (adaylar.size() > limit) adaylar.pollLastEntry();
+                });
+            } finally {
+                kilitler[i].unlockRead(damga);
+            }
+        }
+        return new ArrayList<>(adaylar.values());
+    }
+
+    // Kilitler hep aynı sırayla alınır; yazmalar tek şerit kilitlediği için kilitlenme olmaz.
+    // Yazma kilidi: ilk çağrıda şeridin kalıcı haritası oluşturulur.
+    @Override
+    public RepositoryGoruntusu<T> snapshot() {
+        KaliciIntMap<T>[] haritalar = KaliciIntMap.dizi(seritler.length);
+        long[] damgalar = new long[seritler.length];
+        for (int i = 0; i < seritler.length; i++) damgalar[i] = kilitler[i].writeLock();
+        try {
+            for (int i = 0; i < seritler.length; i++) haritalar[i] = seritler[i].kaliciHarita();
+        } finally {
+            for (int i = 0; i < seritler.length; i++) kilitler[i].unlockWrite(damgalar[i]);
+        }
+        return new RepositoryGoruntusu<>(haritalar, this::serit);
+    }
+
+    @Override
+    public int size() {
+        int toplam = 0;
+        for (int i = 0; i < seritler.length; i++) {
+            StampedLock kilit = kilitler[i];
+            long damga = kilit.tryOptimisticRead();
+            int n = seritler[i].size();
+            if (!kilit.validate(damga)) {
+                damga = kilit.readLock();
+                try {
+                    n = seritler[i].size();
+                } finally {
+                    kilit.unlockRead(damga);
+                }
+            }
+            toplam += n;
+        }
+        return toplam;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Repository<T>[] seritDizisi(int n) {
+        return (Repository<T>[]) new Repository<?>[n];
+    }
+
+    // Ardışık id'ler şeritlere yayılsın diye karıştırılır (IntHashMap yuva karmasından farklı bitler).
+    private int serit(int id) {
+        int h = id * 0x85EBCA6B;
+        return (h >>> 16) & maske;
+    }
+}
@@ -0,0 +1,234 @@
+package generic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// int -> T açık adresli (linear probing) harita. HashMap<Integer, T>'den farkı: anahtar kutulanmaz,
+// her kayıt için Entry nesnesi oluşmaz; anahtarlar int[], değerler Object[] içinde durur.
+// 0 anahtarı "boş yuva" işareti olduğu için ayrı tutulur. Silme tombstone bırakmaz (geri kaydırma).
+// Thread-safe değildir.
+public class IntHashMap<T> {
+    // forEach ziyaretçisi (anahtar kutulanmadan verilir).
+    public interface Ziyaretci<T> {
+        void ziyaret(int anahtar, T deger);
+    }
+
+    // Doluluk bu oranı geçince tablo iki katına çıkar.
+    private static final float DOLULUK = 0.6f;
+    private static final int BOS = 0;
+
+    private int[] anahtarlar;
+    private Object[] degerler;
+    private int maske;
+    private int doluYuva;
+    private int buyumeEsigi;
+
+    // 0 anahtarı
+    private boolean sifirVar;
+    private Object sifirDegeri;
+
+    public IntHashMap() {
+        this(16);
+    }
+
+    public IntHashMap(int beklenenBoyut) {
+        int kapasite = kapasiteHesapla(beklenenBoyut);
+        anahtarlar = new int[kapasite];
+        degerler = new Object[kapasite];
+        maske = kapasite - 1;
+        buyumeEsigi = (int) (kapasite * DOLULUK);
+    }
+
+    // Önceki değeri döndürür (yoksa null).
+    @SuppressWarnings("unchecked")
+    public T put(int anahtar, T deger) {
+        if (anahtar == BOS) {
+            Object eski = sifirDegeri;
+            sifirDegeri = deger;
+            sifirVar = true;
+            return (T) eski;
+        }
+        int i = yuva(anahtar);
+        while (anahtarlar[i] != BOS) {
+            if (anahtarlar[i] == anahtar) {
+                Object eski = degerler[i];
+                degerler[i] = deger;
+                return (T) eski;
+            }
+            i = (i + 1) & maske;
+        }
+        anahtarlar[i] = anahtar;
+        degerler[i] = deger;
+        if (++doluYuva > buyumeEsigi) buyut();
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int anahtar) {
+        if (anahtar == BOS) return (T) sifirDegeri;
+        int i = yuva(anahtar);
+        int k;
+        while ((k = anahtarlar[i]) != BOS) {
+            if (k == anahtar) return (T) degerler[i];
+            i = (i + 1) & maske;
+        }
+        return null;
+    }
+
+    public boolean containsKey(int anahtar) {
+        if (anahtar == BOS) return sifirVar;
+        int i = yuva(anahtar);
+        int k;
+        while ((k = anahtarlar[i]) != BOS) {
+            if (k == anahtar) return true;
+            i = (i + 1) & maske;
+        }
+        return false;
+    }
+
+    // Silinen değeri döndürür (yoksa null).
+    @SuppressWarnings("unchecked")
+    public T remove(int anahtar) {
+        if (anahtar == BOS) {
+            Object eski = sifirDegeri;
+            sifirDegeri = null;
+            sifirVar = false;
+            return (T) eski;
+        }
+        int i = yuva(anahtar);
+        while (anahtarlar[i] != BOS) {
+            if (anahtarlar[i] == anahtar) {
+                Object eski = degerler[i];
+                geriKaydir(i);
+                doluYuva--;
+                return (T) eski;
+            }
+            i = (i + 1) & maske;
+        }
+        return null;
+    }
+
+    public int size() {
+        return doluYuva + (sifirVar ? 1 : 0);
+    }
+
+    // Toplam beklenenBoyut kayıt büyütmesiz sığacak şekilde tabloyu bir kez büyütür (toplu yükleme öncesi).
+    public void kapasiteAyir(int beklenenBoyut) {
+        int kapasite = kapasiteHesapla(beklenenBoyut);
+        if (kapasite > anahtarlar.length) yenidenDagit(kapasite);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(anahtarlar, BOS);
+        Arrays.fill(degerler, null);
+        doluYuva = 0;
+        sifirVar = false;
+        sifirDegeri = null;
+    }
+
+    // Tüm değerlerin kopyası (tablo sırasıyla).
+    @SuppressWarnings("unchecked")
+    public List<T> values() {
+        List<T> sonuc = new ArrayList<>(size());
+        if (sifirVar) sonuc.add((T) sifirDegeri);
+        for (int i = 0; i < anahtarlar.length; i++) {
+            if (anahtarlar[i] != BOS) sonuc.add((T) degerler[i]);
+        }
+        return sonuc;
+    }
+
+    // Tüm kayıtları kopya oluşturmadan gezer. Gezinti sırasında harita değiştirilmemeli.
+    @SuppressWarnings("unchecked")
+    public void forEach(Ziyaretci<? super T> ziyaretci) {
+        if (sifirVar) ziyaretci.ziyaret(BOS, (T) sifirDegeri);
+        for (int i = 0; i < anahtarlar.length; i++) {
+            if (anahtarlar[i] != BOS) ziyaretci.ziyaret(anahtarlar[i], (T) degerler[i]);
+        }
+    }
+
+    // Değerler üzerinde kopyasız iterator (remove desteklenmez). Gezinti sırasında harita değiştirilmemeli.
+    public Iterator<T> degerIteratoru() {
+        return new Iterator<T>() {
+            private int i = sifirVar ? -1 : ilerle(0);
+
+            private int ilerle(int j) {
+                while (j < anahtarlar.length && anahtarlar[j] == BOS) j++;
+                return j;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return i < anahtarlar.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                T deger = (T) ((i < 0) ? sifirDegeri : degerler[i]);
+                i = ilerle(i + 1);
+                return deger;
+            }
+        };
+    }
+
+    // Silinen yuvadan sonraki zinciri geri kaydırır; böylece arama boş yuvada doğru yerde durur.
+    private void geriKaydir(int bosalan) {
+        int i = bosalan;
+        while (true) {
+            i = (i + 1) & maske;
+            int k = anahtarlar[i];
+            if (k == BOS) break;
+            int ideal = yuva(k);
+            // k, bosalan ile i arasında (dairesel) bir ideal yuvaya sahipse yerinde kalabilir.
+            boolean kalabilir = (bosalan <= i) ? (bosalan < ideal && ideal <= i) : (bosalan < ideal || ideal <= i);
+            if (kalabilir) continue;
+            anahtarlar[bosalan] = k;
+            degerler[bosalan] = degerler[i];
+            bosalan = i;
+        }
+        anahtarlar[bosalan] = BOS;
+        degerler[bosalan] = null;
+    }
+
+    private void buyut() {
+        yenidenDagit(anahtarlar.length * 2);
+    }
+
+    private void yenidenDagit(int kapasite) {
+        int[] eskiAnahtarlar = anahtarlar;
+        Object[] eskiDegerler = degerler;
+        anahtarlar = new int[kapasite];
+        degerler = new Object[kapasite];
+        maske = kapasite - 1;
+        buyumeEsigi = (int) (kapasite * DOLULUK);
+        for (int j = 0; j < eskiAnahtarlar.length; j++) {
+            int k = eskiAnahtarlar[j];
+            if (k == BOS) continue;
+            int i = yuva(k);
+            while (anahtarlar[i] != BOS) i = (i + 1) & maske;
+            anahtarlar[i] = k;
+            degerler[i] = eskiDegerler[j];
+        }
+    }
+
+    // Ardışık id'ler kümelenmesin diye karıştırılır (Fibonacci hashing).
+    private int yuva(int anahtar) {
+        int h = anahtar * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & maske;
+    }
+
+    private static int kapasiteHesapla(int beklenenBoyut) {
+        int gereken = (int) Math.ceil(Math.max(beklenenBoyut, 4) / DOLULUK);
+        int kapasite = Integer.highestOneBit(gereken);
+        if (kapasite < gereken) kapasite <<= 1;
+        return Math.max(kapasite, 8);
+    }
+}
@@ -2,16 +2,22 @@ package model;
 
 // Ders bilgisini tutar.
 public class Ders {
-    private final String kod;
+    private final int kodId;
     private final String ad;
 
     public Ders(String kod, String ad) {
-        this.kod = kod;
+        this.kodId = DersKatalogu.id(kod);
         this.ad = ad;
     }
 
+    // Normal (büyük harf) ders kodu.
     public String getKod() {
-        return kod;
+        return DersKatalogu.kod(kodId);
+    }
+
+    // DersKatalogu id'si.
+    public int getKodId() {
+        return kodId;
     }
 
     public String getAd() {
@@ -20,6 +26,6 @@ public class Ders {
 
     @Override
     public String toString() {
-        return kod + " - " + ad;
+        return getKod() + " - " + ad;
     }
 }
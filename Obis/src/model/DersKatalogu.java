@@ -0,0 +1,69 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Ders kodu kataloğu: her ders koduna yoğun bir int id (0, 1, 2, ...) verir. Kod girişte bir kez normalize
+// edilir (kırpılır, büyük harfe çevrilir); sonrasında karşılaştırma, harita ve indeksler id ile çalışır,
+// büyük/küçük harf duyarsız string karşılaştırması gerekmez. Id'ler süreç içinde sabittir, diske yazılmaz
+// (dosyalarda ders kodu metin olarak kalır). Thread-safe: arama kilitsiz, yeni kod kaydı senkronize.
+public final class DersKatalogu {
+    // Katalogda olmayan kod (bul).
+    public static final int YOK = -1;
+
+    // Görülen yazım -> id. Normal yazımın yanında aynı kodun farklı yazımları (ör. "mat101") da tutulur;
+    // böylece tekrar gelen yazım normalize edilmeden bulunur.
+    private static final ConcurrentHashMap<String, Integer> IDLER = new ConcurrentHashMap<>();
+    // id -> normal kod. Yeni kod, id'si IDLER'e konmadan önce yazılır.
+    private static volatile String[] kodlar = new String[64];
+    private static int boyut;
+
+    private DersKatalogu() {
+    }
+
+    // Kodun id'si; katalogda yoksa yeni id verilir. null boş kod sayılır.
+    public static int id(String dersKodu) {
+        String yazim = (dersKodu == null) ? "" : dersKodu;
+        Integer id = IDLER.get(yazim);
+        if (id != null) return id;
+        return kaydet(yazim, normalize(yazim));
+    }
+
+    // Kodun id'si; katalogda yoksa YOK (katalog büyümez).
+    public static int bul(String dersKodu) {
+        String yazim = (dersKodu == null) ? "" : dersKodu;
+        Integer id = IDLER.get(yazim);
+        if (id == null) id = IDLER.get(normalize(yazim));
+        return (id == null) ? YOK : id;
+    }
+
+    // id'nin normal ders kodu.
+    public static String kod(int id) {
+        String[] k = kodlar;
+        if (id < 0 || id >= k.length || k[id] == null) throw new IllegalArgumentException("Geçersiz ders id: " + id);
+        return k[id];
+    }
+
+    public static synchronized int boyut() {
+        return boyut;
+    }
+
+    private static synchronized int kaydet(String yazim, String normal) {
+        Integer id = IDLER.get(normal);
+        if (id == null) {
+            String[] k = kodlar;
+            if (boyut == k.length) k = Arrays.copyOf(k, boyut * 2);
+            k[boyut] = normal;
+            kodlar = k;
+            id = boyut++;
+            IDLER.put(normal, id);
+        }
+        if (!yazim.equals(normal)) IDLER.put(yazim, id);
+        return id;
+    }
+
+    private static String normalize(String dersKodu) {
+        return dersKodu.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -3,16 +3,128 @@ package service;
 import exception.GecersizNotException;
 
 import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
 
 // Not hesaplamaları için abstract servis.
 public abstract class NotHesaplamaService {
+    // Toplu hesaplamada bu kadar öğrenciden küçük parçalar bölünmeden tek thread'de hesaplanır.
+    public static final int TOPLU_PARCA_ESIGI = 4096;
 
     public abstract double ortalamaHesapla(Collection<Integer> notlar) throws GecersizNotException;
 
     public abstract String harfNotuHesapla(double ortalama);
 
+    // Önceden toplanmış notlardan ortalama (ör. öğrencinin artımlı tuttuğu toplam ve sayı).
+    // Notların geçerliliği çağıran tarafından kontrol edilmiş olmalı.
+    public double ortalamaHesapla(long toplam, int adet) throws GecersizNotException {
+        if (adet <= 0) {
+            throw new GecersizNotException("Hesaplama için en az 1 not olmalı.");
+        }
+        return (double) toplam / adet;
+    }
+
     // Concrete metot: not aralığını kontrol eder.
     public boolean notGecerliMi(int not) {
         return not >= 0 && not <= 100;
     }
+
+    // Tüm liste (roster) için ortalama (aritmetik) ve harf notu, tek geçişte ve kutulamadan.
+    // Girdi dizi yapısında (struct-of-arrays): i. öğrencinin notları notlar[baslangic[i], baslangic[i + 1]),
+    // baslangic.length = öğrenci sayısı + 1. Sonuçlar ortalamalar[i] ve harfler[i]'ye yazılır; notu olmayan
+    // öğrenci NaN ve "-" alır. Geçersiz not görülürse ilk hatalı öğrencinin sırasıyla GecersizNotException
+    // atılır (diğer öğrencilerin sonuçları yine yazılmış olur).
+    // Liste TOPLU_PARCA_ESIGI'nden büyükse ForkJoinPool.commonPool() üzerinde parçalara bölünür.
+    public void topluHesapla(int[] baslangic, short[] notlar, double[] ortalamalar, String[] harfler) throws GecersizNotException {
+        topluHesapla(baslangic, notlar, ortalamalar, harfler, ForkJoinPool.commonPool());
+    }
+
+    // havuz null ise çağıran thread'de sırayla hesaplanır.
+    public void topluHesapla(int[] baslangic, short[] notlar, double[] ortalamalar, String[] harfler,
+                             ForkJoinPool havuz) throws GecersizNotException {
+        int n = baslangic.length - 1;
+        if (n < 0) throw new IllegalArgumentException("baslangic en az 1 elemanlı olmalı");
+        if (ortalamalar.length < n || harfler.length < n) {
+            throw new IllegalArgumentException("Sonuç dizileri öğrenci sayısından kısa: " + n);
+        }
+        if (baslangic[0] < 0 || baslangic[n] > notlar.length) {
+            throw new IllegalArgumentException("baslangic notlar dizisinin dışını gösteriyor");
+        }
+        AtomicInteger hataliSira = new AtomicInteger(Integer.MAX_VALUE);
+        if (havuz == null || n <= TOPLU_PARCA_ESIGI) {
+            topluAralik(0, n, baslangic, notlar, ortalamalar, harfler, hataliSira);
+        } else {
+            havuz.invoke(new TopluGorev(0, n, baslangic, notlar, ortalamalar, harfler, hataliSira));
+        }
+        int hatali = hataliSira.get();
+        if (hatali != Integer.MAX_VALUE) {
+            throw new GecersizNotException("Geçersiz not görüldü: öğrenci sırası " + hatali);
+        }
+    }
+
+    private void topluAralik(int bas, int son, int[] baslangic, short[] notlar, double[] ortalamalar,
+                             String[] harfler, AtomicInteger hataliSira) {
+        for (int i = bas; i < son; i++) {
+            int nb = baslangic[i];
+            int ns = baslangic[i + 1];
+            if (ns < nb) throw new IllegalArgumentException("baslangic azalan: " + i);
+            if (nb == ns) {
+                ortalamalar[i] = Double.NaN;
+                harfler[i] = "-";
+                continue;
+            }
+            int toplam = 0;
+            boolean gecerli = true;
+            for (int k = nb; k < ns; k++) {
+                int not = notlar[k];
+                gecerli &= notGecerliMi(not);
+                toplam += not;
+            }
+            if (!gecerli) {
+                hataliSira.accumulateAndGet(i, Math::min);
+                ortalamalar[i] = Double.NaN;
+                harfler[i] = "-";
+                continue;
+            }
+            double ortalama = (double) toplam / (ns - nb);
+            ortalamalar[i] = ortalama;
+            harfler[i] = harfNotuHesapla(ortalama);
+        }
+    }
+
+    // [bas, son) aralığını eşiğin altına inene kadar ikiye böler.
+    private final class TopluGorev extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int bas;
+        private final int son;
+        private final int[] baslangic;
+        private final short[] notlar;
+        private final double[] ortalamalar;
+        private final String[] harfler;
+        private final AtomicInteger hataliSira;
+
+        TopluGorev(int bas, int son, int[] baslangic, short[] notlar, double[] ortalamalar, String[] harfler,
+                   AtomicInteger hataliSira) {
+            this.bas = bas;
+            this.son = son;
+            this.baslangic = baslangic;
+            this.notlar = notlar;
+            this.ortalamalar = ortalamalar;
+            this.harfler = harfler;
+            this.hataliSira = hataliSira;
+        }
+
+        @Override
+        protected void compute() {
+            if (son - bas <= TOPLU_PARCA_ESIGI) {
+                topluAralik(bas, son, baslangic, notlar, ortalamalar, harfler, hataliSira);
+                return;
+            }
+            int orta = (bas + son) >>> 1;
+            invokeAll(new TopluGorev(bas, orta, baslangic, notlar, ortalamalar, harfler, hataliSira),
+                    new TopluGorev(orta, son, baslangic, notlar, ortalamalar, harfler, hataliSira));
+        }
+    }
 }
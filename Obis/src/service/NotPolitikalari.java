@@ -0,0 +1,107 @@
+package service;
+
+import generic.IntHashMap;
+import model.DersKatalogu;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Varsayılan not politikası + ders bazında istisnalar (ders id -> NotPolitikasi).
+// Dosya biçimi (UTF-8, '#' ile başlayan satırlar yorum):
+//   harfler=AA:90,BA:85,...,FF:0      (harf:en düşük 100'lük ortalama, büyükten küçüğe; son eşik 0)
+//   katsayilar=AA:4.0,BA:3.5,...      (her harfin 4'lük karşılığı)
+//   gecmeKatsayisi=2.0                (katsayısı bunun altındaki harfle dersten kalınır)
+//   vizeAgirligi=40 / finalAgirligi=60 (yüzde, toplam 100)
+//   devamsizlikLimiti=3               (bundan fazla devamsızlıkla dersten kalınır)
+//   [MAT101]                          (bu başlıktan sonraki anahtarlar sadece o ders için; verilmeyenler
+//   vizeAgirligi=30                    dosyanın genel bölümünden gelir)
+// Genel bölümde verilmeyen anahtarlar NotPolitikasi varsayılanlarıdır. Değişmez, thread-safe.
+public final class NotPolitikalari {
+    private static final NotPolitikalari VARSAYILAN = new NotPolitikalari(NotPolitikasi.varsayilan(), new IntHashMap<>());
+
+    private final NotPolitikasi genel;
+    private final IntHashMap<NotPolitikasi> dersler;
+
+    private NotPolitikalari(NotPolitikasi genel, IntHashMap<NotPolitikasi> dersler) {
+        this.genel = genel;
+        this.dersler = dersler;
+    }
+
+    public static NotPolitikalari varsayilan() {
+        return VARSAYILAN;
+    }
+
+    // Hatalı satır/değerde satır numarasıyla IllegalArgumentException.
+    public static NotPolitikalari yukle(String dosyaYolu) throws IOException {
+        Map<String, String> genelAyarlar = new HashMap<>();
+        Map<String, Map<String, String>> dersAyarlari = new LinkedHashMap<>();
+        Map<String, String> bolum = genelAyarlar;
+        String bolumAdi = null;
+        try (BufferedReader br = new BufferedReader(new FileReader(dosyaYolu, StandardCharsets.UTF_8))) {
+            String satir;
+            int no = 0;
+            while ((satir = br.readLine()) != null) {
+                no++;
+                String t = satir.trim();
+                if (t.isEmpty() || t.startsWith("#")) continue;
+                if (t.startsWith("[")) {
+                    if (!t.endsWith("]") || t.length() < 3) {
+                        throw new IllegalArgumentException(dosyaYolu + ":" + no + ": geçersiz ders başlığı: " + t);
+                    }
+                    bolumAdi = t.substring(1, t.length() - 1).trim().toUpperCase(Locale.ROOT);
+                    bolum = dersAyarlari.computeIfAbsent(bolumAdi, k -> new HashMap<>());
+                    continue;
+                }
+                int esit = t.indexOf('=');
+                if (esit <= 0) throw new IllegalArgumentException(dosyaYolu + ":" + no + ": anahtar=değer bekleniyordu: " + t);
+                String anahtar = t.substring(0, esit).trim();
+                if (!NotPolitikasi.ANAHTARLAR.contains(anahtar)) {
+                    throw new IllegalArgumentException(dosyaYolu + ":" + no + ": bilinmeyen anahtar: " + anahtar);
+                }
+                bolum.put(anahtar, t.substring(esit + 1).trim());
+            }
+        }
+
+        NotPolitikasi genel = derle(genelAyarlar, dosyaYolu, null);
+        IntHashMap<NotPolitikasi> dersler = new IntHashMap<>(dersAyarlari.size());
+        for (Map.Entry<String, Map<String, String>> e : dersAyarlari.entrySet()) {
+            Map<String, String> ayarlar = new HashMap<>(genelAyarlar);
+            ayarlar.putAll(e.getValue());
+            dersler.put(DersKatalogu.id(e.getKey()), derle(ayarlar, dosyaYolu, e.getKey()));
+        }
+        return new NotPolitikalari(genel, dersler);
+    }
+
+    // Dersin politikası; istisnası yoksa genel politika.
+    public NotPolitikasi ders(int dersId) {
+        NotPolitikasi p = dersler.get(dersId);
+        return (p == null) ? genel : p;
+    }
+
+    public NotPolitikasi ders(String dersKodu) {
+        int dersId = DersKatalogu.bul(dersKodu);
+        return (dersId == DersKatalogu.YOK) ? genel : ders(dersId);
+    }
+
+    public NotPolitikasi genel() {
+        return genel;
+    }
+
+    public int istisnaSayisi() {
+        return dersler.size();
+    }
+
+    private static NotPolitikasi derle(Map<String, String> ayarlar, String dosyaYolu, String ders) {
+        try {
+            return new NotPolitikasi(ayarlar);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(dosyaYolu + ((ders == null) ? "" : " [" + ders + "]") + ": " + e.getMessage(), e);
+        }
+    }
+}
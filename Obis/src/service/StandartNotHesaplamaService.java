@@ -4,8 +4,22 @@ import exception.GecersizNotException;
 
 import java.util.Collection;
 
-// Abstract sınıfın somut implementasyonu.
+// Abstract sınıfın somut implementasyonu. Harf notu genel not politikasının tablosundan okunur.
 public class StandartNotHesaplamaService extends NotHesaplamaService {
+    private final NotPolitikalari politikalar;
+
+    public StandartNotHesaplamaService() {
+        this(NotPolitikalari.varsayilan());
+    }
+
+    public StandartNotHesaplamaService(NotPolitikalari politikalar) {
+        if (politikalar == null) throw new IllegalArgumentException("politikalar null olamaz");
+        this.politikalar = politikalar;
+    }
+
+    public NotPolitikalari getPolitikalar() {
+        return politikalar;
+    }
 
     @Override
     public double ortalamaHesapla(Collection<Integer> notlar) throws GecersizNotException {
@@ -26,14 +40,6 @@ public class StandartNotHesaplamaService extends NotHesaplamaService {
 
     @Override
     public String harfNotuHesapla(double ortalama) {
-        if (ortalama >= 90) return "AA";
-        if (ortalama >= 85) return "BA";
-        if (ortalama >= 80) return "BB";
-        if (ortalama >= 75) return "CB";
-        if (ortalama >= 70) return "CC";
-        if (ortalama >= 65) return "DC";
-        if (ortalama >= 60) return "DD";
-        if (ortalama >= 50) return "FD";
-        return "FF";
+        return politikalar.genel().harf(ortalama);
     }
 }
@@ -0,0 +1,141 @@
+package util;
+
+import util.DosyaIslemleri.DersKaydiDegisikligi;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// ogrenciler_yeni.txt için yalnızca-ekleme (append-only) değişiklik günlüğü: "<dosya>.wal".
+// Her satır tek bir alan değişikliğidir: ogrenciId;dersKodu;ogretmenId;alan;deger
+// Okuyucular günlüğü ana dosyanın üstüne uygular; checkpoint günlüğü v3 dosyaya katlayıp sıfırlar.
+// Yarım kalmış (newline ile bitmeyen) son kayıt yüklemede atılır, ana dosya hiçbir zaman yarım yazılmaz.
+public final class DegisiklikGunlugu {
+    // Bu kadar kayıt birikince yazan taraf checkpoint tetikler.
+    static final int CHECKPOINT_ESIGI = 1000;
+
+    // Açık günlükler: kanonik dosya yolu -> günlük
+    private static final Map<String, DegisiklikGunlugu> ACIK_GUNLUKLER = new HashMap<>();
+
+    private final File gunlukDosyasi;
+
+    // ogrenciId -> o öğrencinin değişiklikleri (yazılma sırasıyla)
+    private final Map<Integer, List<DersKaydiDegisikligi>> ogrenciBazli = new LinkedHashMap<>();
+    private int kayitSayisi;
+    private long bilinenBoy = -1;
+
+    private DegisiklikGunlugu(File gunlukDosyasi) {
+        this.gunlukDosyasi = gunlukDosyasi;
+    }
+
+    static synchronized DegisiklikGunlugu al(String dosyaYolu) throws IOException {
+        File f = new File(dosyaYolu + ".wal");
+        String anahtar = f.getCanonicalPath();
+        DegisiklikGunlugu g = ACIK_GUNLUKLER.get(anahtar);
+        if (g == null) {
+            g = new DegisiklikGunlugu(f);
+            ACIK_GUNLUKLER.put(anahtar, g);
+        }
+        return g;
+    }
+
+    // Değişiklikleri tek bir yazma ile günlüğün sonuna ekler ve diske zorlar.
+    synchronized void ekle(List<DersKaydiDegisikligi> degisiklikler) throws IOException {
+        if (degisiklikler.isEmpty()) return;
+        tazele();
+        StringBuilder sb = new StringBuilder();
+        for (DersKaydiDegisikligi d : degisiklikler) {
+            sb.append(d.toGunlukSatiri()).append('\n');
+        }
+        ByteBuffer buf = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+        try (FileChannel ch = FileChannel.open(gunlukDosyasi.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (buf.hasRemaining()) ch.write(buf);
+            ch.force(false);
+        }
+        for (DersKaydiDegisikligi d : degisiklikler) {
+            hafizayaEkle(d);
+        }
+        bilinenBoy = gunlukDosyasi.length();
+    }
+
+    // Öğrencinin bekleyen değişiklikleri (yoksa boş liste).
+    synchronized List<DersKaydiDegisikligi> ogrenciIcin(int ogrenciId) throws IOException {
+        tazele();
+        List<DersKaydiDegisikligi> list = ogrenciBazli.get(ogrenciId);
+        return list == null ? Collections.emptyList() : new ArrayList<>(list);
+    }
+
+    // Checkpoint için tüm bekleyen değişikliklerin kopyası.
+    synchronized Map<Integer, List<DersKaydiDegisikligi>> tumu() throws IOException {
+        tazele();
+        Map<Integer, List<DersKaydiDegisikligi>> kopya = new LinkedHashMap<>();
+        for (Map.Entry<Integer, List<DersKaydiDegisikligi>> e : ogrenciBazli.entrySet()) {
+            kopya.put(e.getKey(), new ArrayList<>(e.getValue()));
+        }
+        return kopya;
+    }
+
+    synchronized boolean bosMu() throws IOException {
+        tazele();
+        return kayitSayisi == 0;
+    }
+
+    synchronized int kayitSayisi() throws IOException {
+        tazele();
+        return kayitSayisi;
+    }
+
+    // Checkpoint tamamlandıktan sonra çağrılır.
+    synchronized void sifirla() throws IOException {
+        Files.deleteIfExists(gunlukDosyasi.toPath());
+        ogrenciBazli.clear();
+        kayitSayisi = 0;
+        bilinenBoy = 0;
+    }
+
+    // Dosya başka bir süreç tarafından değiştirildiyse (veya ilk kullanım) diskten yeniden yükler.
+    private void tazele() throws IOException {
+        long boy = gunlukDosyasi.exists() ? gunlukDosyasi.length() : 0;
+        if (boy == bilinenBoy) return;
+
+        ogrenciBazli.clear();
+        kayitSayisi = 0;
+        long gecerliBoy = 0;
+        if (boy > 0) {
+            // Günlük checkpoint eşiği ile sınırlı olduğundan tek seferde okunabilir.
+            byte[] veri = Files.readAllBytes(gunlukDosyasi.toPath());
+            int bas = 0;
+            for (int i = 0; i < veri.length; i++) {
+                if (veri[i] != '\n') continue;
+                DersKaydiDegisikligi d = DersKaydiDegisikligi.gunlukSatirindan(new String(veri, bas, i - bas, StandardCharsets.UTF_8));
+                if (d != null) hafizayaEkle(d);
+                bas = i + 1;
+            }
+            gecerliBoy = bas;
+            if (gecerliBoy < boy) {
+                // Çökme sırasında yarım kalmış son kayıt: at, sonraki eklemeler temiz başlasın.
+                try (RandomAccessFile raf = new RandomAccessFile(gunlukDosyasi, "rw")) {
+                    raf.setLength(gecerliBoy);
+                }
+            }
+        }
+        bilinenBoy = gecerliBoy;
+    }
+
+    private void hafizayaEkle(DersKaydiDegisikligi d) {
+        ogrenciBazli.computeIfAbsent(d.ogrenciId, k -> new ArrayList<>()).add(d);
+        kayitSayisi++;
+    }
+}
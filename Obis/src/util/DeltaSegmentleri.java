@@ -0,0 +1,156 @@
+package util;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// ogrenciler_yeni.txt için delta segmentleri: "<dosya>.seg.<sıra>".
+// Checkpoint ve toplu güncelleme ana dosyayı yeniden yazmak yerine değişen öğrenci satırlarını (tam satır,
+// id'ye göre sıralı) yeni bir segmente yazar. Okuyucular satırı id ile eşleyip en yeni segmentteki hali kullanır.
+// Segmentler arka planda (sıkıştırıcı) tek geçişte ana dosyaya katlanıp silinir.
+// Katlama yarıda kalırsa segmentler durur ve tekrar uygulanır (tam satır olduğu için sonuç aynıdır).
+public final class DeltaSegmentleri {
+    // Bu kadar segment birikirse yazan taraf arka planı beklemeden katlar (okuma maliyeti sınırlı kalsın).
+    static final int ZORUNLU_KATLAMA = 16;
+
+    private static final String ISARET = "# delta segment v1";
+
+    // Açık segment kümeleri: kanonik dosya yolu -> küme
+    private static final Map<String, DeltaSegmentleri> ACIK_SEGMENTLER = new HashMap<>();
+
+    private final File dizin;
+    private final String onek;
+    private final String dosyaYolu;
+    // Segment listesi bellekte tutulur (ekle/temizle günceller); dizin sadece ilk kullanımda ve
+    // VeriOnbellegi.segmentNesli değiştiğinde (dışarıdan segment eklendi/silindi) yeniden taranır.
+    private boolean yuklendi;
+    private long bilinenNesil;
+
+    // sıra -> segment dosyası (eskiden yeniye)
+    private TreeMap<Long, File> segmentler = new TreeMap<>();
+    // Tüm segmentlerin birleşimi: id -> en yeni satır
+    private Map<Integer, String> birlesik = Collections.emptyMap();
+
+    private DeltaSegmentleri(File dosya) {
+        this.dizin = dosya.getAbsoluteFile().getParentFile();
+        this.onek = dosya.getName() + ".seg.";
+        this.dosyaYolu = dosya.getPath();
+    }
+
+    static synchronized DeltaSegmentleri al(String dosyaYolu) throws IOException {
+        File f = new File(dosyaYolu);
+        String anahtar = f.getCanonicalPath();
+        DeltaSegmentleri s = ACIK_SEGMENTLER.get(anahtar);
+        if (s == null) {
+            s = new DeltaSegmentleri(new File(anahtar));
+            ACIK_SEGMENTLER.put(anahtar, s);
+        }
+        return s;
+    }
+
+    // id -> en yeni satır (salt okunur). Segment yoksa boş.
+    synchronized Map<Integer, String> birlesik() throws IOException {
+        tazele();
+        return birlesik;
+    }
+
+    // Öğrencinin en yeni segmentteki satırı; yoksa null.
+    synchronized String satir(int id) throws IOException {
+        tazele();
+        return birlesik.get(id);
+    }
+
+    synchronized int segmentSayisi() throws IOException {
+        tazele();
+        return segmentler.size();
+    }
+
+    // Satırları id sırasıyla yeni bir segmente yazar (geçici dosya + atomik taşıma).
+    synchronized void ekle(Map<Integer, String> satirlar) throws IOException {
+        if (satirlar.isEmpty()) return;
+        tazele();
+        long sira = segmentler.isEmpty() ? 1 : segmentler.lastKey() + 1;
+        File hedef = new File(dizin, onek + sira);
+        File gecici = new File(dizin, onek + sira + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(gecici);
+             BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            bw.write(ISARET);
+            for (Map.Entry<Integer, String> e : new TreeMap<>(satirlar).entrySet()) {
+                bw.write('\n');
+                bw.write(e.getValue().replace("\r", "").replace("\n", ""));
+            }
+            bw.write('\n');
+            bw.flush();
+            out.getFD().sync();
+        }
+        OgrenciIndeksi.tasi(gecici, hedef);
+
+        segmentler.put(sira, hedef);
+        Map<Integer, String> yeni = new HashMap<>(birlesik);
+        yeni.putAll(satirlar);
+        birlesik = Collections.unmodifiableMap(yeni);
+    }
+
+    // Katlamadan sonra çağrılır: bilinen segmentleri siler.
+    synchronized void temizle() throws IOException {
+        for (File f : segmentler.values()) {
+            Files.deleteIfExists(f.toPath());
+        }
+        segmentler = new TreeMap<>();
+        birlesik = Collections.emptyMap();
+    }
+
+    // İlk kullanımda veya segment nesli değiştiyse dizini tarar; liste değiştiyse hepsini yeniden yükler.
+    private void tazele() throws IOException {
+        // Nesil taramadan ÖNCE alınır: tarama sırasında gelen değişiklik bir sonraki çağrıda yakalanır.
+        long nesil = VeriOnbellegi.segmentNesli(dosyaYolu);
+        if (yuklendi && nesil == bilinenNesil) return;
+
+        TreeMap<Long, File> bulunan = new TreeMap<>();
+        String[] adlar = dizin.list();
+        if (adlar != null) {
+            for (String ad : adlar) {
+                if (!ad.startsWith(onek)) continue;
+                try {
+                    bulunan.put(Long.parseLong(ad.substring(onek.length())), new File(dizin, ad));
+                } catch (NumberFormatException ignored) {
+                    // yarım kalmış .tmp vb.
+                }
+            }
+        }
+        if (bulunan.keySet().equals(segmentler.keySet())) {
+            bilinenNesil = nesil;
+            yuklendi = true;
+            return;
+        }
+
+        Map<Integer, String> yeni = new HashMap<>();
+        for (File f : bulunan.values()) {
+            List<String> satirlar = Files.readAllLines(f.toPath(), StandardCharsets.UTF_8);
+            if (satirlar.isEmpty() || !satirlar.get(0).equals(ISARET)) continue;
+            for (String satir : satirlar) {
+                String t = satir.trim();
+                if (t.isEmpty() || t.startsWith("#")) continue;
+                int noktaliVirgul = t.indexOf(';');
+                if (noktaliVirgul < 0) continue;
+                try {
+                    yeni.put(Integer.parseInt(t.substring(0, noktaliVirgul).trim()), t);
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        segmentler = bulunan;
+        birlesik = Collections.unmodifiableMap(yeni);
+        bilinenNesil = nesil;
+        yuklendi = true;
+    }
+}
@@ -0,0 +1,350 @@
+package util;
+
+import generic.CrudRepository;
+import generic.IntHashMap;
+import generic.Repository;
+import generic.RepositoryGoruntusu;
+import model.LisansOgrencisi;
+import model.Ogrenci;
+import model.YuksekLisansOgrencisi;
+import service.NotPolitikalari;
+import util.DosyaIslemleri.EmbeddedDersKaydi;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+// ogrenciler_yeni.txt üzerinde CrudRepository<Ogrenci>: öğrenciler bellekte tutulmaz, istendiğinde satırdan
+// oluşturulur (hydrate). findById indeks üzerinden tek satır okur; findAll/stream/forEach satır listesini
+// gezerken nesneyi o anda üretir.
+// - Tip: bir dersin seviyesi 500 ve üzeriyse (ör. BLM501) YuksekLisansOgrencisi, değilse LisansOgrencisi
+//   (sınıf = en yüksek ders seviyesinin yüzler basamağı).
+// - Notlar: ders kaydında "not" girilmişse o, yoksa dersin not politikasındaki vize/final ağırlıklı ortalaması
+//   (konsoldaki ders ortalamasıyla aynı kural).
+// - save: dosyadaki öğrencinin kayıtlı olduğu derslerde değişen notlar dosyaya yazılır (günlük/yerinde yazma);
+//   kayıtlı olmadığı derslerin notları ve dosyada olmayan öğrenciler yalnızca bellekte tutulur.
+// - deleteById: dosyada silme işlemi yok; öğrenci bu repository için gizlenir.
+// - İkincil indeksler tüm dosyayı belleğe almamak için tutulmaz; findBy satırları gezerek eşleşenleri döndürür.
+public class DosyaOgrenciRepository implements CrudRepository<Ogrenci> {
+    private static final int YUKSEK_LISANS_SEVIYESI = 500;
+
+    private final String dosyaYolu;
+    private final NotPolitikalari notPolitikalari;
+
+    // indeks adı -> anahtar çıkarıcı
+    private final Map<String, Function<? super Ogrenci, ? extends Collection<?>>> indeksler = new HashMap<>();
+    // Dosyada olmayan öğrenciler (bellekte)
+    private final IntHashMap<Ogrenci> yeniler = new IntHashMap<>();
+    // Dosyadaki öğrencinin kayıtlı olmadığı derslerin notları (bellekte): id -> ders id -> not
+    private final IntHashMap<IntHashMap<Integer>> ekNotlar = new IntHashMap<>();
+    // Silinmiş (gizlenen) dosya öğrencileri: id -> TRUE. Id'ler seyrek/negatif olabileceği için bit kümesi değil.
+    private final IntHashMap<Boolean> silinenler = new IntHashMap<>();
+
+    public DosyaOgrenciRepository(String dosyaYolu) {
+        this(dosyaYolu, NotPolitikalari.varsayilan());
+    }
+
+    public DosyaOgrenciRepository(String dosyaYolu, NotPolitikalari notPolitikalari) {
+        if (notPolitikalari == null) throw new IllegalArgumentException("notPolitikalari null olamaz");
+        this.dosyaYolu = dosyaYolu;
+        this.notPolitikalari = notPolitikalari;
+    }
+
+    @Override
+    public void addIndex(String name, Function<? super Ogrenci, ?> extractor) {
+        addMultiIndex(name, o -> {
+            Object anahtar = extractor.apply(o);
+            return (anahtar == null) ? null : Collections.singletonList(anahtar);
+        });
+    }
+
+    @Override
+    public synchronized void addMultiIndex(String name, Function<? super Ogrenci, ? extends Collection<?>> extractor) {
+        indeksler.put(name, extractor);
+    }
+
+    @Override
+    public List<Ogrenci> findBy(String index, Object key) {
+        Function<? super Ogrenci, ? extends Collection<?>> cikarici;
+        synchronized (this) {
+            cikarici = indeksler.get(index);
+        }
+        if (cikarici == null) throw new IllegalArgumentException("İndeks bulunamadı: " + index);
+        List<Ogrenci> sonuc = new ArrayList<>();
+        forEach(o -> {
+            Collection<?> anahtarlar = cikarici.apply(o);
+            if (anahtarlar != null && anahtarlar.contains(key)) sonuc.add(o);
+        });
+        return sonuc;
+    }
+
+    @Override
+    public void save(int id, Ogrenci entity) {
+        try {
+            String satir = DosyaIslemleri.ogrenciSatiriOku(dosyaYolu, id);
+            if (satir == null) {
+                synchronized (this) {
+                    yeniler.put(id, entity);
+                }
+                return;
+            }
+            IntHashMap<EmbeddedDersKaydi> kayitlar = kayitlar(satir);
+            IntHashMap<Integer> ek = new IntHashMap<>();
+            for (int dersId : entity.dersIdleri()) {
+                Integer not = entity.notAl(dersId);
+                EmbeddedDersKaydi dk = kayitlar.get(dersId);
+                if (dk == null) {
+                    ek.put(dersId, not);
+                    continue;
+                }
+                Integer mevcut = dersNotu(dk);
+                if (!not.equals(mevcut)) {
+                    DosyaIslemleri.ogrenciDersKaydiGuncelleV2(dosyaYolu, id, dk.dersKodu(), dk.ogretmenId, not, null);
+                }
+            }
+            synchronized (this) {
+                silinenler.remove(id);
+                if (ek.isEmpty()) ekNotlar.remove(id);
+                else ekNotlar.put(id, ek);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Dosyada toplu yazma yok: her öğrenci save ile (dosyadakilerin not değişiklikleri günlüğe) işlenir.
+    @Override
+    public void saveAll(Collection<? extends Ogrenci> entities, ToIntFunction<? super Ogrenci> idOf) {
+        for (Ogrenci o : entities) save(idOf.applyAsInt(o), o);
+    }
+
+    @Override
+    public Ogrenci findById(int id) {
+        synchronized (this) {
+            Ogrenci yeni = yeniler.get(id);
+            if (yeni != null || yeniler.containsKey(id)) return yeni;
+            if (silinenler.containsKey(id)) return null;
+        }
+        try {
+            String satir = DosyaIslemleri.ogrenciSatiriOku(dosyaYolu, id);
+            return (satir == null) ? null : hydrate(satir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean existsById(int id) {
+        synchronized (this) {
+            if (yeniler.containsKey(id)) return true;
+            if (silinenler.containsKey(id)) return false;
+        }
+        try {
+            return DosyaIslemleri.ogrenciSatiriOku(dosyaYolu, id) != null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Tembel liste: eleman istendiğinde satırdan oluşturulur (tüm öğrenciler bellekte tutulmaz).
+    // Liste çağrı anındaki satırları görür; silinen öğrenciler için null yerine atlanmış görünüm verilmez,
+    // bu yüzden silme varsa bellekte filtrelenmiş liste döner.
+    @Override
+    public List<Ogrenci> findAll() {
+        List<String> satirlar = satirlar();
+        List<Ogrenci> yeniListe;
+        boolean silmeVar;
+        synchronized (this) {
+            yeniListe = yeniler.values();
+            silmeVar = !silinenler.isEmpty();
+        }
+        if (silmeVar) {
+            List<Ogrenci> sonuc = new ArrayList<>();
+            forEach(sonuc::add);
+            return sonuc;
+        }
+        return new AbstractList<Ogrenci>() {
+            @Override
+            public Ogrenci get(int index) {
+                if (index < satirlar.size()) return hydrate(satirlar.get(index));
+                return yeniListe.get(index - satirlar.size());
+            }
+
+            @Override
+            public int size() {
+                return satirlar.size() + yeniListe.size();
+            }
+        };
+    }
+
+    @Override
+    public void deleteById(int id) {
+        synchronized (this) {
+            if (yeniler.containsKey(id)) {
+                yeniler.remove(id);
+                return;
+            }
+            ekNotlar.remove(id);
+            silinenler.put(id, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<? super Ogrenci> action) {
+        stream().forEach(action);
+    }
+
+    @Override
+    public Stream<Ogrenci> stream() {
+        List<String> satirlar = satirlar();
+        List<Ogrenci> yeniListe;
+        IntHashMap<Boolean> silinen;
+        synchronized (this) {
+            yeniListe = yeniler.values();
+            silinen = silinenlerKopyasi();
+        }
+        Stream<Ogrenci> dosyadan = satirlar.stream()
+                .filter(satir -> silinen.isEmpty() || !silinmis(silinen, satir))
+                .map(this::hydrate);
+        return Stream.concat(dosyadan, yeniListe.stream());
+    }
+
+    // Satırlar id sırasında olmayabilir: tek geçişte id'si afterId'den büyük en küçük limit öğrenci seçilir
+    // (sadece limit kadar satır tutulur).
+    @Override
+    public List<Ogrenci> findPage(int afterId, int limit) {
+        TreeMap<Integer, Ogrenci> adaylar = new TreeMap<>();
+        if (limit <= 0) return new ArrayList<>();
+        TreeMap<Integer, String> satirAdaylari = new TreeMap<>();
+        IntHashMap<Boolean> silinen;
+        synchronized (this) {
+            silinen = silinenlerKopyasi();
+            yeniler.forEach((id, o) -> {
+                if (id > afterId) adaylar.put(id, o);
+            });
+        }
+        for (String satir : satirlar()) {
+            Integer id = satirIdsi(satir);
+            if (id == null || id <= afterId || silinen.containsKey(id) || adaylar.containsKey(id)) continue;
+            if (satirAdaylari.size() == limit && id >= satirAdaylari.lastKey()) continue;
+            satirAdaylari.put(id, satir);
+            if (satirAdaylari.size() > limit) satirAdaylari.pollLastEntry();
+        }
+        for (Map.Entry<Integer, String> e : satirAdaylari.entrySet()) adaylar.put(e.getKey(), hydrate(e.getValue()));
+        List<Ogrenci> sayfa = new ArrayList<>(limit);
+        for (Ogrenci o : adaylar.values()) {
+            if (sayfa.size() == limit) break;
+            sayfa.add(o);
+        }
+        return sayfa;
+    }
+
+    // Dosyada yapısal paylaşım olmadığı için görüntü o anki öğrencilerden bir kez oluşturulur (O(n), bellekte).
+    @Override
+    public RepositoryGoruntusu<Ogrenci> snapshot() {
+        Repository<Ogrenci> kopya = new Repository<>();
+        forEach(o -> kopya.save(o.getId(), o));
+        return kopya.snapshot();
+    }
+
+    @Override
+    public int size() {
+        int dosyada = satirlar().size();
+        synchronized (this) {
+            return dosyada - silinenler.size() + yeniler.size();
+        }
+    }
+
+    // Satırdan öğrenci nesnesi.
+    private Ogrenci hydrate(String satir) {
+        String[] p = satir.split(";", 7);
+        int id = Integer.parseInt(p[0].trim());
+        String ad = (p.length > 3) ? p[3].trim() : "";
+        String soyad = (p.length > 4) ? p[4].trim() : "";
+        String email = (p.length > 5) ? p[5].trim() : "";
+        List<EmbeddedDersKaydi> dersler = (p.length > 6) ? DosyaIslemleri.aldigiDerslerCoz(p[6].trim()) : List.of();
+
+        int enYuksekSeviye = 0;
+        for (EmbeddedDersKaydi dk : dersler) enYuksekSeviye = Math.max(enYuksekSeviye, dersSeviyesi(dk.dersKodu()));
+        Ogrenci o = (enYuksekSeviye >= YUKSEK_LISANS_SEVIYESI)
+                ? new YuksekLisansOgrencisi(id, ad, soyad, email, null, "")
+                : new LisansOgrencisi(id, ad, soyad, email, null, Math.max(1, enYuksekSeviye / 100));
+        for (EmbeddedDersKaydi dk : dersler) {
+            Integer not = dersNotu(dk);
+            if (not != null) o.notEkle(dk.dersId, not);
+        }
+        synchronized (this) {
+            IntHashMap<Integer> ek = ekNotlar.get(id);
+            if (ek != null) ek.forEach((dersId, not) -> o.notEkle(dersId, not));
+        }
+        return o;
+    }
+
+    private List<String> satirlar() {
+        try {
+            return DosyaIslemleri.ogrenciSatirListesi(dosyaYolu);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Gezinti kilit dışında yapıldığı için silinenlerin kopyası; çağıran this kilidini tutar.
+    private IntHashMap<Boolean> silinenlerKopyasi() {
+        IntHashMap<Boolean> kopya = new IntHashMap<>(silinenler.size());
+        silinenler.forEach(kopya::put);
+        return kopya;
+    }
+
+    private static boolean silinmis(IntHashMap<Boolean> silinen, String satir) {
+        Integer id = satirIdsi(satir);
+        return id != null && silinen.containsKey(id);
+    }
+
+    private static Integer satirIdsi(String satir) {
+        int noktaliVirgul = satir.indexOf(';');
+        if (noktaliVirgul < 0) return null;
+        try {
+            return Integer.parseInt(satir.substring(0, noktaliVirgul).trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static IntHashMap<EmbeddedDersKaydi> kayitlar(String satir) {
+        String[] p = satir.split(";", 7);
+        IntHashMap<EmbeddedDersKaydi> sonuc = new IntHashMap<>(8);
+        if (p.length < 7) return sonuc;
+        for (EmbeddedDersKaydi dk : DosyaIslemleri.aldigiDerslerCoz(p[6].trim())) sonuc.put(dk.dersId, dk);
+        return sonuc;
+    }
+
+    // Girilmiş not; yoksa vize/final ağırlıklı ortalama; o da yoksa null.
+    private Integer dersNotu(EmbeddedDersKaydi dk) {
+        if (dk.not != EmbeddedDersKaydi.YOK) return dk.not;
+        if (dk.vize == EmbeddedDersKaydi.YOK || dk.fin == EmbeddedDersKaydi.YOK) return null;
+        return notPolitikalari.ders(dk.dersId).dersNotu(dk.vize, dk.fin);
+    }
+
+    // Ders kodundaki sayı (BLM501 -> 501); sayı yoksa 0.
+    private static int dersSeviyesi(String dersKodu) {
+        int i = 0;
+        while (i < dersKodu.length() && !Character.isDigit(dersKodu.charAt(i))) i++;
+        int seviye = 0;
+        for (; i < dersKodu.length() && Character.isDigit(dersKodu.charAt(i)); i++) {
+            seviye = seviye * 10 + (dersKodu.charAt(i) - '0');
+            if (seviye > 100_000) break;
+        }
+        return seviye;
+    }
+}
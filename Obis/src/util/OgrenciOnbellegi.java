@@ -0,0 +1,128 @@
+package util;
+
+import generic.SinirliOnbellek;
+import util.DosyaIslemleri.OgrenciKaydi;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Ayrıştırılmış öğrenci kayıtları (id -> OgrenciKaydi) için boyutu sınırlı önbellek. Oturumda etkin derslerin
+// öğrencileri küçük bir sıcak küme oluşturur: tüm öğrencileri bellekte tutmadan, her biri için diske de
+// gitmeden bu küme bellekten verilir. Varsayılan: 1024 kayıt, TINY_LFU (bkz. SinirliOnbellek).
+// Geçerlilik:
+// - Uygulama içi yazmalar (günlük/yerinde yazma, satır ekleme) yazildi() ile sadece o öğrenciyi düşürür.
+// - Dosyanın damgası (VeriOnbellegi.surum) başka bir yoldan değiştiyse (checkpoint, sıkıştırma, dış düzenleme)
+//   o dosyanın tüm kayıtları geçersiz sayılır (dosya nesli artar, kayıtlar erişildikçe yeniden yüklenir).
+public final class OgrenciOnbellegi {
+    public static final int VARSAYILAN_BOYUT = 1024;
+
+    interface Yukleyici {
+        OgrenciKaydi yukle() throws IOException;
+    }
+
+    private static final class Girdi {
+        final String dosyaYolu;
+        final long nesil;
+        final OgrenciKaydi kayit;
+
+        Girdi(String dosyaYolu, long nesil, OgrenciKaydi kayit) {
+            this.dosyaYolu = dosyaYolu;
+            this.nesil = nesil;
+            this.kayit = kayit;
+        }
+    }
+
+    private static final class DosyaDurumu {
+        long[] damga;
+        // Dosya dışarıdan değiştikçe artar; eski nesilden girdiler geçersizdir.
+        long nesil;
+        // Uygulama içi yazma sayısı: yükleme sırasında yazma olduysa yüklenen kayıt önbelleğe konmaz.
+        long yazma;
+    }
+
+    // null => önbellek kapalı.
+    private static volatile SinirliOnbellek<Girdi> onbellek =
+            new SinirliOnbellek<>(VARSAYILAN_BOYUT, SinirliOnbellek.Politika.TINY_LFU);
+    // dosya yolu -> durum (sınıf kilidiyle korunur)
+    private static final Map<String, DosyaDurumu> DOSYALAR = new HashMap<>();
+
+    private OgrenciOnbellegi() {
+    }
+
+    // boyut <= 0 önbelleği kapatır. Mevcut kayıtlar ve sayaçlar sıfırlanır.
+    public static synchronized void yapilandir(int boyut, SinirliOnbellek.Politika politika) {
+        onbellek = (boyut > 0) ? new SinirliOnbellek<>(boyut, politika) : null;
+        DOSYALAR.clear();
+    }
+
+    public static long isabetSayisi() {
+        SinirliOnbellek<Girdi> o = onbellek;
+        return (o == null) ? 0 : o.isabetSayisi();
+    }
+
+    public static long iskaSayisi() {
+        SinirliOnbellek<Girdi> o = onbellek;
+        return (o == null) ? 0 : o.iskaSayisi();
+    }
+
+    public static long tahliyeSayisi() {
+        SinirliOnbellek<Girdi> o = onbellek;
+        return (o == null) ? 0 : o.tahliyeSayisi();
+    }
+
+    public static String istatistik() {
+        SinirliOnbellek<Girdi> o = onbellek;
+        return (o == null) ? "kapalı" : o.toString();
+    }
+
+    // dosyaYolu öğrencinin bulunduğu (parça) dosyasıdır. Yükleyici null dönerse (öğrenci yok) önbelleğe konmaz.
+    static OgrenciKaydi al(String dosyaYolu, int ogrenciId, Yukleyici yukleyici) throws IOException {
+        SinirliOnbellek<Girdi> o = onbellek;
+        if (o == null) return yukleyici.yukle();
+        long nesil;
+        long yazma;
+        synchronized (OgrenciOnbellegi.class) {
+            DosyaDurumu d = durum(dosyaYolu);
+            nesil = d.nesil;
+            yazma = d.yazma;
+        }
+        Girdi g = o.get(ogrenciId, x -> x.nesil == nesil && x.dosyaYolu.equals(dosyaYolu));
+        if (g != null) return g.kayit;
+
+        OgrenciKaydi kayit = yukleyici.yukle();
+        if (kayit == null) return null;
+        synchronized (OgrenciOnbellegi.class) {
+            DosyaDurumu d = durum(dosyaYolu);
+            if (d.nesil == nesil && d.yazma == yazma) o.put(ogrenciId, new Girdi(dosyaYolu, nesil, kayit));
+        }
+        return kayit;
+    }
+
+    // Uygulama içinden öğrencinin satırı değiştirildikten sonra (VeriOnbellegi.degisti'den sonra) çağrılır.
+    // Bu yazmanın damga değişikliği dosyanın tüm kayıtlarını geçersiz saymaz.
+    static synchronized void yazildi(String dosyaYolu, int ogrenciId) {
+        SinirliOnbellek<Girdi> o = onbellek;
+        DosyaDurumu d = DOSYALAR.get(dosyaYolu);
+        if (o == null || d == null) return;
+        o.remove(ogrenciId);
+        d.yazma++;
+        d.damga = VeriOnbellegi.surum(dosyaYolu);
+    }
+
+    // Sınıf kilidi tutularak çağrılır.
+    private static DosyaDurumu durum(String dosyaYolu) {
+        long[] damga = VeriOnbellegi.surum(dosyaYolu);
+        DosyaDurumu d = DOSYALAR.get(dosyaYolu);
+        if (d == null) {
+            d = new DosyaDurumu();
+            d.damga = damga;
+            DOSYALAR.put(dosyaYolu, d);
+        } else if (!Arrays.equals(d.damga, damga)) {
+            d.damga = damga;
+            d.nesil++;
+        }
+        return d;
+    }
+}
@@ -0,0 +1,412 @@
+package util;
+
+import generic.CrudRepository;
+import generic.Repository;
+import generic.RepositoryGoruntusu;
+import model.LisansOgrencisi;
+import model.Ogrenci;
+import model.YuksekLisansOgrencisi;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// Öğrencileri heap dışında (direct ByteBuffer dilimleri) ikili kodlanmış tutan CrudRepository<Ogrenci>.
+// Heap'te sadece id -> konum tablosu (int[] + long[]) kalır; Ogrenci nesneleri, String'ler ve not
+// haritaları findById/gezinti sırasında geçici olarak oluşturulur. Milyon öğrencide heap ve GC duraklamaları
+// nesne sayısıyla büyümez.
+// Kayıt: [int uzunluk][byte tip][int id][ad][soyad][email][int doğum günü][sınıf | tez][short ders sayısı]
+//        {[int ders id][int not]}*  — metinler: [short bayt sayısı][UTF-8], null için 0xFFFF.
+//        Ders id'leri DersKatalogu'ndandır (süreç içinde sabit; depo diske yazılmadığı için yeterli).
+// - save kaydı dilimin sonuna ekler, eski kaydın yeri boşa çıkar; boşa çıkan alan canlı alanı geçince
+//   dilimler sıkıştırılır (canlı kayıtlar yeni dilimlere kopyalanır).
+// - Direct bellek -XX:MaxDirectMemorySize ile sınırlıdır (varsayılan: -Xmx kadar).
+// - findBy ikincil indeks tutmaz (heap'te entity referansı demek olurdu); kayıtları çözerek tarar.
+// - Metotlar synchronized; dönen nesneler kopyadır, değiştirildiyse tekrar save edilmeli.
+public class SlabOgrenciDeposu implements CrudRepository<Ogrenci> {
+    public static final int VARSAYILAN_DILIM_BOYUTU = 4 * 1024 * 1024;
+
+    private static final byte TIP_OGRENCI = 0;
+    private static final byte TIP_LISANS = 1;
+    private static final byte TIP_YUKSEK_LISANS = 2;
+    private static final int NULL_METIN = 0xFFFF;
+    private static final int DOGUM_YOK = Integer.MIN_VALUE;
+
+    private final int dilimBoyutu;
+    private final List<ByteBuffer> dilimler = new ArrayList<>();
+    private final KonumTablosu konumlar = new KonumTablosu();
+    // indeks adı -> anahtar çıkarıcı
+    private final Map<String, Function<? super Ogrenci, ? extends Collection<?>>> indeksler = new HashMap<>();
+
+    private long canliBayt;
+    private long oluBayt;
+    // Kodlama tamponu (heap, tekrar kullanılır).
+    private ByteBuffer kodlama = ByteBuffer.allocate(256);
+
+    // id -> konum (dilim << 32 | ofset) açık adresli tablo; değerler kutulanmaz.
+    private static final class KonumTablosu {
+        private static final float DOLULUK = 0.6f;
+        private static final long YOK = -1L;
+
+        private int[] anahtarlar = new int[16];
+        private long[] degerler = new long[16];
+        private boolean[] dolu = new boolean[16];
+        private int boyut;
+
+        long get(int anahtar) {
+            int maske = anahtarlar.length - 1;
+            for (int i = yuva(anahtar, maske); dolu[i]; i = (i + 1) & maske) {
+                if (anahtarlar[i] == anahtar) return degerler[i];
+            }
+            return YOK;
+        }
+
+        // Önceki konumu döndürür (yoksa YOK).
+        long put(int anahtar, long deger) {
+            int maske = anahtarlar.length - 1;
+            int i = yuva(anahtar, maske);
+            for (; dolu[i]; i = (i + 1) & maske) {
+                if (anahtarlar[i] == anahtar) {
+                    long eski = degerler[i];
+                    degerler[i] = deger;
+                    return eski;
+                }
+            }
+            anahtarlar[i] = anahtar;
+            degerler[i] = deger;
+            dolu[i] = true;
+            if (++boyut > anahtarlar.length * DOLULUK) buyut();
+            return YOK;
+        }
+
+        // Silinen konumu döndürür (yoksa YOK). Geri kaydırma ile tombstone bırakmaz.
+        long remove(int anahtar) {
+            int maske = anahtarlar.length - 1;
+            int i = yuva(anahtar, maske);
+            for (; dolu[i]; i = (i + 1) & maske) {
+                if (anahtarlar[i] != anahtar) continue;
+                long eski = degerler[i];
+                int bosalan = i;
+                for (int j = (i + 1) & maske; dolu[j]; j = (j + 1) & maske) {
+                    int ideal = yuva(anahtarlar[j], maske);
+                    boolean kalabilir = (bosalan <= j) ? (bosalan < ideal && ideal <= j) : (bosalan < ideal || ideal <= j);
+                    if (kalabilir) continue;
+                    anahtarlar[bosalan] = anahtarlar[j];
+                    degerler[bosalan] = degerler[j];
+                    bosalan = j;
+                }
+                dolu[bosalan] = false;
+                boyut--;
+                return eski;
+            }
+            return YOK;
+        }
+
+        void kapasiteAyir(int beklenenBoyut) {
+            int kapasite = Integer.highestOneBit((int) Math.ceil(Math.max(beklenenBoyut, 4) / DOLULUK)) << 1;
+            if (kapasite > anahtarlar.length) yenidenDagit(kapasite);
+        }
+
+        private void buyut() {
+            yenidenDagit(anahtarlar.length * 2);
+        }
+
+        private void yenidenDagit(int kapasite) {
+            int[] eskiAnahtarlar = anahtarlar;
+            long[] eskiDegerler = degerler;
+            boolean[] eskiDolu = dolu;
+            anahtarlar = new int[kapasite];
+            degerler = new long[kapasite];
+            dolu = new boolean[kapasite];
+            int maske = kapasite - 1;
+            for (int j = 0; j < eskiAnahtarlar.length; j++) {
+                if (!eskiDolu[j]) continue;
+                int i = yuva(eskiAnahtarlar[j], maske);
+                while (dolu[i]) i = (i + 1) & maske;
+                anahtarlar[i] = eskiAnahtarlar[j];
+                degerler[i] = eskiDegerler[j];
+                dolu[i] = true;
+            }
+        }
+
+        private static int yuva(int anahtar, int maske) {
+            int h = anahtar * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & maske;
+        }
+    }
+
+    public SlabOgrenciDeposu() {
+        this(VARSAYILAN_DILIM_BOYUTU);
+    }
+
+    public SlabOgrenciDeposu(int dilimBoyutu) {
+        if (dilimBoyutu < 1024) throw new IllegalArgumentException("Dilim boyutu en az 1024 olmalı: " + dilimBoyutu);
+        this.dilimBoyutu = dilimBoyutu;
+    }
+
+    @Override
+    public void addIndex(String name, Function<? super Ogrenci, ?> extractor) {
+        addMultiIndex(name, o -> {
+            Object anahtar = extractor.apply(o);
+            return (anahtar == null) ? null : Collections.singletonList(anahtar);
+        });
+    }
+
+    @Override
+    public synchronized void addMultiIndex(String name, Function<? super Ogrenci, ? extends Collection<?>> extractor) {
+        indeksler.put(name, extractor);
+    }
+
+    @Override
+    public synchronized List<Ogrenci> findBy(String index, Object key) {
+        Function<? super Ogrenci, ? extends Collection<?>> cikarici = indeksler.get(index);
+        if (cikarici == null) throw new IllegalArgumentException("İndeks bulunamadı: " + index);
+        List<Ogrenci> sonuc = new ArrayList<>();
+        forEach(o -> {
+            Collection<?> anahtarlar = cikarici.apply(o);
+            if (anahtarlar != null && anahtarlar.contains(key)) sonuc.add(o);
+        });
+        return sonuc;
+    }
+
+    @Override
+    public synchronized void save(int id, Ogrenci entity) {
+        if (entity == null) throw new IllegalArgumentException("Öğrenci null olamaz. id=" + id);
+        int uzunluk = kodla(id, entity);
+        long eski = konumlar.put(id, ekle(uzunluk));
+        canliBayt += uzunluk;
+        if (eski != KonumTablosu.YOK) birak(eski);
+    }
+
+    // Konum tablosu bir kez boyutlandırılır; kodlama tamponu tüm kayıtlar için tekrar kullanılır.
+    @Override
+    public synchronized void saveAll(Collection<? extends Ogrenci> entities, ToIntFunction<? super Ogrenci> idOf) {
+        konumlar.kapasiteAyir(konumlar.boyut + entities.size());
+        for (Ogrenci o : entities) save(idOf.applyAsInt(o), o);
+    }
+
+    @Override
+    public synchronized Ogrenci findById(int id) {
+        long konum = konumlar.get(id);
+        return (konum == KonumTablosu.YOK) ? null : coz(konum);
+    }
+
+    @Override
+    public synchronized boolean existsById(int id) {
+        return konumlar.get(id) != KonumTablosu.YOK;
+    }
+
+    @Override
+    public synchronized List<Ogrenci> findAll() {
+        List<Ogrenci> sonuc = new ArrayList<>(konumlar.boyut);
+        forEach(sonuc::add);
+        return sonuc;
+    }
+
+    @Override
+    public synchronized void deleteById(int id) {
+        long eski = konumlar.remove(id);
+        if (eski != KonumTablosu.YOK) birak(eski);
+    }
+
+    // Kayıtları tek tek çözerek gezer; aynı anda sadece ziyaret edilen nesne heap'tedir.
+    @Override
+    public synchronized void forEach(Consumer<? super Ogrenci> action) {
+        for (int i = 0; i < konumlar.anahtarlar.length; i++) {
+            if (konumlar.dolu[i]) action.accept(coz(konumlar.degerler[i]));
+        }
+    }
+
+    // Tembel stream: her eleman tüketildiği anda çözülür. Akış tüketilirken depoya yazılmamalı.
+    @Override
+    public Stream<Ogrenci> stream() {
+        KonumTablosu tablo = konumlar;
+        return IntStream.range(0, tablo.anahtarlar.length)
+                .filter(i -> tablo.dolu[i])
+                .mapToObj(i -> {
+                    synchronized (this) {
+                        return coz(tablo.degerler[i]);
+                    }
+                });
+    }
+
+    // id'ler sıralı tutulmaz: tablo bir kez taranıp afterId'den büyük en küçük limit id seçilir (sadece id'ler),
+    // sonra sadece o kayıtlar çözülür.
+    @Override
+    public synchronized List<Ogrenci> findPage(int afterId, int limit) {
+        if (limit <= 0) return new ArrayList<>();
+        TreeSet<Integer> secilen = new TreeSet<>();
+        for (int i = 0; i < konumlar.anahtarlar.length; i++) {
+            if (!konumlar.dolu[i]) continue;
+            int id = konumlar.anahtarlar[i];
+            if (id <= afterId) continue;
+            if (secilen.size() == limit) {
+                if (id >= secilen.last()) continue;
+                secilen.pollLast();
+            }
+            secilen.add(id);
+        }
+        List<Ogrenci> sayfa = new ArrayList<>(secilen.size());
+        for (int id : secilen) sayfa.add(coz(konumlar.get(id)));
+        return sayfa;
+    }
+
+    @Override
+    public synchronized RepositoryGoruntusu<Ogrenci> snapshot() {
+        Repository<Ogrenci> kopya = new Repository<>();
+        forEach(o -> kopya.save(o.getId(), o));
+        return kopya.snapshot();
+    }
+
+    @Override
+    public synchronized int size() {
+        return konumlar.boyut;
+    }
+
+    // Heap dışında ayrılmış toplam bayt (dilimler).
+    public synchronized long ayrilanBayt() {
+        return (long) dilimler.size() * dilimBoyutu;
+    }
+
+    // ===== Dilim yönetimi =====
+
+    // kodlama tamponundaki kaydı dilime yazar, konumunu döndürür.
+    private long ekle(int uzunluk) {
+        if (uzunluk > dilimBoyutu) {
+            throw new IllegalArgumentException("Öğrenci kaydı dilime sığmıyor: " + uzunluk + " > " + dilimBoyutu);
+        }
+        ByteBuffer dilim = dilimler.isEmpty() ? null : dilimler.get(dilimler.size() - 1);
+        if (dilim == null || dilim.remaining() < uzunluk) {
+            dilim = ByteBuffer.allocateDirect(dilimBoyutu);
+            dilimler.add(dilim);
+        }
+        int ofset = dilim.position();
+        dilim.put(kodlama.array(), 0, uzunluk);
+        return ((long) (dilimler.size() - 1) << 32) | ofset;
+    }
+
+    private void birak(long konum) {
+        int uzunluk = dilimler.get((int) (konum >>> 32)).getInt((int) konum);
+        canliBayt -= uzunluk;
+        oluBayt += uzunluk;
+        if (oluBayt > canliBayt && oluBayt > dilimBoyutu) sikistir();
+    }
+
+    // Canlı kayıtları yeni dilimlere kopyalar; eski dilimler GC ile serbest kalır.
+    private void sikistir() {
+        List<ByteBuffer> eskiDilimler = new ArrayList<>(dilimler);
+        dilimler.clear();
+        for (int i = 0; i < konumlar.anahtarlar.length; i++) {
+            if (!konumlar.dolu[i]) continue;
+            long konum = konumlar.degerler[i];
+            ByteBuffer eski = eskiDilimler.get((int) (konum >>> 32));
+            int ofset = (int) konum;
+            int uzunluk = eski.getInt(ofset);
+            tamponHazirla(uzunluk);
+            eski.get(ofset, kodlama.array(), 0, uzunluk);
+            konumlar.degerler[i] = ekle(uzunluk);
+        }
+        oluBayt = 0;
+    }
+
+    // ===== Kodlama =====
+
+    // Kaydı kodlama tamponuna yazar, toplam uzunluğu döndürür. Tampon yetmezse büyütülüp tekrar denenir.
+    private int kodla(int id, Ogrenci o) {
+        while (true) {
+            try {
+                ByteBuffer b = kodlama;
+                b.clear();
+                b.putInt(0);
+                if (o instanceof LisansOgrencisi) {
+                    b.put(TIP_LISANS);
+                } else if (o instanceof YuksekLisansOgrencisi) {
+                    b.put(TIP_YUKSEK_LISANS);
+                } else {
+                    b.put(TIP_OGRENCI);
+                }
+                b.putInt(id);
+                metinYaz(b, o.getAd());
+                metinYaz(b, o.getSoyad());
+                metinYaz(b, o.getEmail());
+                b.putInt((o.getDogumTarihi() == null) ? DOGUM_YOK : (int) o.getDogumTarihi().toEpochDay());
+                if (o instanceof LisansOgrencisi) {
+                    b.putInt(((LisansOgrencisi) o).getSinif());
+                } else if (o instanceof YuksekLisansOgrencisi) {
+                    metinYaz(b, ((YuksekLisansOgrencisi) o).getTezKonusu());
+                }
+                int dersSayisi = o.notSayisi();
+                if (dersSayisi > Short.MAX_VALUE) throw new IllegalArgumentException("Çok fazla ders: " + dersSayisi);
+                b.putShort((short) dersSayisi);
+                o.notlariGez((dersId, not) -> b.putInt(dersId).putInt(not));
+                int uzunluk = b.position();
+                b.putInt(0, uzunluk);
+                return uzunluk;
+            } catch (BufferOverflowException e) {
+                tamponHazirla(kodlama.capacity() * 2);
+            }
+        }
+    }
+
+    private Ogrenci coz(long konum) {
+        ByteBuffer b = dilimler.get((int) (konum >>> 32)).duplicate();
+        b.position((int) konum + Integer.BYTES);
+        byte tip = b.get();
+        int id = b.getInt();
+        String ad = metinOku(b);
+        String soyad = metinOku(b);
+        String email = metinOku(b);
+        int dogumGunu = b.getInt();
+        LocalDate dogumTarihi = (dogumGunu == DOGUM_YOK) ? null : LocalDate.ofEpochDay(dogumGunu);
+        Ogrenci o;
+        if (tip == TIP_LISANS) {
+            o = new LisansOgrencisi(id, ad, soyad, email, dogumTarihi, b.getInt());
+        } else if (tip == TIP_YUKSEK_LISANS) {
+            o = new YuksekLisansOgrencisi(id, ad, soyad, email, dogumTarihi, metinOku(b));
+        } else {
+            o = new Ogrenci(id, ad, soyad, email, dogumTarihi);
+        }
+        int dersSayisi = b.getShort();
+        for (int i = 0; i < dersSayisi; i++) {
+            int dersId = b.getInt();
+            o.notEkle(dersId, b.getInt());
+        }
+        return o;
+    }
+
+    private static void metinYaz(ByteBuffer b, String s) {
+        if (s == null) {
+            b.putShort((short) NULL_METIN);
+            return;
+        }
+        byte[] bayt = s.getBytes(StandardCharsets.UTF_8);
+        if (bayt.length >= NULL_METIN) throw new IllegalArgumentException("Metin çok uzun: " + bayt.length + " bayt");
+        b.putShort((short) bayt.length);
+        b.put(bayt);
+    }
+
+    private static String metinOku(ByteBuffer b) {
+        int uzunluk = b.getShort() & 0xFFFF;
+        if (uzunluk == NULL_METIN) return null;
+        byte[] bayt = new byte[uzunluk];
+        b.get(bayt);
+        return new String(bayt, StandardCharsets.UTF_8);
+    }
+
+    private void tamponHazirla(int kapasite) {
+        if (kodlama.capacity() < kapasite) kodlama = ByteBuffer.allocate(Math.max(kapasite, kodlama.capacity() * 2));
+    }
+}
@@ -0,0 +1,193 @@
+package util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Veri dosyalarından (öğretmen/öğrenci/idare) parse edilmiş kümeler için süreç içi önbellek.
+// Bir küme şu damga değişmediği sürece bellekten verilir:
+//   - veri dosyasının ve "<dosya>.wal" günlüğünün boyu ve değişiklik zamanı (her erişimde kontrol edilir)
+//     (delta segmentleri yalnızca uygulama içinden yazılır; dış değişiklikleri izleyici yakalar)
+//   - dosyanın nesli: WatchService olayı geldiğinde veya uygulama içi bir yazma degisti() çağırdığında artar
+// Boy/zaman dışarıdan yapılan düzenlemeleri bir sonraki erişimde yakalar; nesil ise aynı boyda ve
+// aynı zaman damgası içinde kalan yazmaları (ör. yerinde satır değişikliği) kaçırmamak için.
+public final class VeriOnbellegi {
+
+    // Kümeyi diskten okur/parse eder.
+    public interface Yukleyici<T> {
+        T yukle() throws IOException;
+    }
+
+    private static final class Kayit {
+        final long[] damga;
+        final Object deger;
+
+        Kayit(long[] damga, Object deger) {
+            this.damga = damga;
+            this.deger = deger;
+        }
+    }
+
+    // mutlak dosya yolu -> (küme adı -> kayıt). İç harita aynı zamanda o dosyanın kilidi: farklı dosyalar
+    // (ör. öğrenci parçaları) paralel yüklenebilir.
+    private static final Map<String, Map<String, Kayit>> KAYITLAR = new ConcurrentHashMap<>();
+    // mutlak dosya yolu -> nesil. Kilitsiz: yazanlar günlük kilidini tutarken degisti() çağırır,
+    // yükleyiciler ise önbellek kilidi altında günlüğü okur; ortak kilit kilitlenmeye yol açardı.
+    private static final Map<String, Long> NESILLER = new ConcurrentHashMap<>();
+    // mutlak dosya yolu -> delta segmenti nesli: sadece "<dosya>.seg.*" dosyaları için izleyici olayıyla artar
+    // (günlük yazmaları artırmaz). DeltaSegmentleri segment listesini bu değişince yeniden tarar.
+    private static final Map<String, Long> SEGMENT_NESILLERI = new ConcurrentHashMap<>();
+
+    private static WatchService izleyici;
+    private static boolean izlemeKullanilamaz;
+    private static final Set<Path> IZLENEN_DIZINLER = new HashSet<>();
+
+    private VeriOnbellegi() {
+    }
+
+    // dosyaYolu için "kume" adlı veri kümesini verir; damga değiştiyse yukleyici ile yeniden yükler.
+    // Dönen nesne paylaşılır; çağıran değiştirmemeli (DosyaIslemleri kopyasını döndürür).
+    @SuppressWarnings("unchecked")
+    public static <T> T al(String dosyaYolu, String kume, Yukleyici<T> yukleyici) throws IOException {
+        String anahtar = anahtar(dosyaYolu);
+        izle(anahtar);
+
+        Map<String, Kayit> kumeler = KAYITLAR.computeIfAbsent(anahtar, k -> new HashMap<>());
+        synchronized (kumeler) {
+            // Damga yüklemeden ÖNCE alınır: yükleme sırasında dosya değişirse sonraki erişim yeniden yükler.
+            long[] damga = damga(anahtar);
+            Kayit k = kumeler.get(kume);
+            if (k != null && Arrays.equals(k.damga, damga)) {
+                return (T) k.deger;
+            }
+            T deger = yukleyici.yukle();
+            kumeler.put(kume, new Kayit(damga, deger));
+            return deger;
+        }
+    }
+
+    // Küme yüklü ve damgası güncelse onu, değilse null döner (yükleme yapmaz).
+    @SuppressWarnings("unchecked")
+    public static <T> T varsa(String dosyaYolu, String kume) {
+        String anahtar = anahtar(dosyaYolu);
+        Map<String, Kayit> kumeler = KAYITLAR.get(anahtar);
+        if (kumeler == null) return null;
+        synchronized (kumeler) {
+            Kayit k = kumeler.get(kume);
+            if (k == null || !Arrays.equals(k.damga, damga(anahtar))) return null;
+            return (T) k.deger;
+        }
+    }
+
+    // Uygulama içinden dosyaya (veya günlüğüne) yazıldığında çağrılır.
+    public static void degisti(String dosyaYolu) {
+        nesliArtir(anahtar(dosyaYolu));
+    }
+
+    // Dosyanın güncel damgası (boy/zaman, günlük boy/zaman, nesil); önbelleğe kendi geçerlilik kontrolünü
+    // yapan yapılar (ör. OgrenciOnbellegi) için.
+    public static long[] surum(String dosyaYolu) {
+        return damga(anahtar(dosyaYolu));
+    }
+
+    // Dosyanın delta segmenti nesli. İzleme kullanılamıyorsa hep 0 (segmentler yalnızca uygulama içinden yazılır).
+    public static long segmentNesli(String dosyaYolu) {
+        String anahtar = anahtar(dosyaYolu);
+        izle(anahtar);
+        Long nesil = SEGMENT_NESILLERI.get(anahtar);
+        return (nesil == null) ? 0 : nesil;
+    }
+
+    // Tüm kümeleri bırakır.
+    public static void temizle() {
+        KAYITLAR.clear();
+    }
+
+    private static String anahtar(String dosyaYolu) {
+        return Paths.get(dosyaYolu).toAbsolutePath().normalize().toString();
+    }
+
+    private static long[] damga(String anahtar) {
+        File f = new File(anahtar);
+        File wal = new File(anahtar + ".wal");
+        Long nesil = NESILLER.get(anahtar);
+        return new long[]{
+                f.length(), f.lastModified(),
+                wal.length(), wal.lastModified(),
+                nesil == null ? 0 : nesil
+        };
+    }
+
+    private static void nesliArtir(String anahtar) {
+        NESILLER.merge(anahtar, 1L, Long::sum);
+    }
+
+    // Dosyanın dizinini WatchService'e kaydeder (ilk erişimde); izleme desteklenmiyorsa sadece damga kullanılır.
+    private static synchronized void izle(String anahtar) {
+        if (izlemeKullanilamaz) return;
+        Path dizin = Paths.get(anahtar).getParent();
+        if (dizin == null || IZLENEN_DIZINLER.contains(dizin)) return;
+        try {
+            if (izleyici == null) {
+                izleyici = FileSystems.getDefault().newWatchService();
+                Thread t = new Thread(VeriOnbellegi::olaylariIsle, "veri-onbellegi-izleyici");
+                t.setDaemon(true);
+                t.start();
+            }
+            dizin.register(izleyici, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            IZLENEN_DIZINLER.add(dizin);
+        } catch (IOException | UnsupportedOperationException e) {
+            izlemeKullanilamaz = true;
+        }
+    }
+
+    private static void olaylariIsle() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = izleyici.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            Path dizin = (Path) key.watchable();
+            synchronized (VeriOnbellegi.class) {
+                for (WatchEvent<?> olay : key.pollEvents()) {
+                    if (olay.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Olay kaçtı: bu dizindeki tüm dosyaları değişmiş say.
+                        for (String a : KAYITLAR.keySet()) {
+                            if (dizin.equals(Paths.get(a).getParent())) nesliArtir(a);
+                        }
+                        for (String a : SEGMENT_NESILLERI.keySet()) {
+                            if (dizin.equals(Paths.get(a).getParent())) SEGMENT_NESILLERI.merge(a, 1L, Long::sum);
+                        }
+                        continue;
+                    }
+                    String a = dizin.resolve((Path) olay.context()).toString();
+                    // Günlük ve delta segmenti değişikliği ana dosyanın kümelerini etkiler.
+                    if (a.endsWith(".wal")) a = a.substring(0, a.length() - ".wal".length());
+                    int seg = a.lastIndexOf(".seg.");
+                    if (seg >= 0) {
+                        a = a.substring(0, seg);
+                        SEGMENT_NESILLERI.merge(a, 1L, Long::sum);
+                    }
+                    if (KAYITLAR.containsKey(a)) nesliArtir(a);
+                }
+            }
+            key.reset();
+        }
+    }
+}